@@ -0,0 +1,47 @@
+package io.applova.orchestrator.model.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding a Zoho webhook body to {@link ZohoWebhookPayload}, as the controller's request body
+ * conversion does for every ticket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZohoPayloadDeserializationBenchmark {
+
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        reader = new ObjectMapper().readerFor(ZohoWebhookPayload.class);
+        try (InputStream in = getClass().getResourceAsStream("/payloads/zoho-webhook.json")) {
+            payload = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public ZohoWebhookPayload deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+}
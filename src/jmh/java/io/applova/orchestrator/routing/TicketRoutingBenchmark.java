@@ -0,0 +1,80 @@
+package io.applova.orchestrator.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.model.enums.TicketTag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticket tag selection for incoming Zoho tickets with the bundled routing rules, across the
+ * type and severity combinations that reach each routing branch, and with extra per-business
+ * rules ahead of them that do not match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketRoutingBenchmark {
+
+    @Param({"Bug", "Feature", "Clarification"})
+    public String issueType;
+
+    @Param({"High", "Low"})
+    public String issueSeverity;
+
+    @Param({"0", "100"})
+    public int extraRules;
+
+    private DecisionTable table;
+    private ZohoWebhookPayload payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        RoutingRuleSet bundled;
+        try (InputStream in = new ClassPathResource("routing-rules.json").getInputStream()) {
+            bundled = new ObjectMapper().readValue(in, RoutingRuleSet.class);
+        }
+        List<RoutingRule> rules = new ArrayList<>();
+        for (int i = 0; i < extraRules; i++) {
+            rules.add(new RoutingRule("business-" + i, List.of(issueType), null, List.of("POS"), null,
+                    List.of("BIZ-" + (i + 1)), TicketTag.SUPPORT, null, null));
+        }
+        rules.addAll(bundled.rules());
+        table = new DecisionTable(new RoutingRuleSet(bundled.defaultTag(), bundled.defaultJiraIssueType(),
+                bundled.defaultJiraPriority(), rules), new SimpleMeterRegistry());
+        payload = ZohoWebhookPayload.builder()
+                .issueType(issueType)
+                .issueSeverity(issueSeverity)
+                .issueProducts(List.of("POS", "Online Ordering"))
+                .businessRevenueClass("Gold")
+                .businessId("BIZ-0")
+                .build();
+    }
+
+    @Benchmark
+    public TicketTag tag() {
+        int rule = table.match(DecisionTable.Decision.TAG, payload);
+        table.hit(DecisionTable.Decision.TAG, rule);
+        return table.tag(rule);
+    }
+}
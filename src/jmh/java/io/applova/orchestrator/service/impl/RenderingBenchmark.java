@@ -0,0 +1,69 @@
+package io.applova.orchestrator.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text rendering done for every ticket: the Jira description, the auto-reply and status
+ * update email bodies, and the problem-status check behind the status update email.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderingBenchmark {
+
+    private static final String KB_RESPONSE =
+            "This looks like a known issue with terminal firmware 4.2. Restart the terminal, then "
+            + "re-pair it from the back office under Settings > Devices. If payments still fail, "
+            + "roll back to firmware 4.1 while the fix is released.";
+
+    @Param({"In Progress", "Blocked"})
+    public String status;
+
+    private ZohoWebhookPayload payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/payloads/zoho-webhook.json")) {
+            payload = new ObjectMapper().readValue(in, ZohoWebhookPayload.class);
+        }
+    }
+
+    @Benchmark
+    public String ticketDescription() {
+        return JiraServiceImpl.buildTicketDescription(payload);
+    }
+
+    @Benchmark
+    public String autoReplyBody() {
+        return EmailServiceImpl.buildEmailBody(payload, KB_RESPONSE);
+    }
+
+    @Benchmark
+    public String statusUpdateBody() {
+        return EmailServiceImpl.buildStatusUpdateBody("<msg-88213@example.com>", "SUP-1287", status);
+    }
+
+    @Benchmark
+    public boolean problemStatus() {
+        return EmailServiceImpl.isProblemStatus(status);
+    }
+}
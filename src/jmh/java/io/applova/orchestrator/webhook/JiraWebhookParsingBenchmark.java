@@ -0,0 +1,118 @@
+package io.applova.orchestrator.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jira webhook field extraction: the streaming {@link JiraWebhookFieldExtractor} against the
+ * previous approach of reading the whole body into a tree and resolving each candidate path
+ * with {@code String.split}.
+ * <p>
+ * {@code small} is a typical {@code jira:issue_updated} body; {@code large} adds a few hundred
+ * comments ahead of the status field, as seen on long-lived issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JiraWebhookParsingBenchmark {
+
+    private static final int LARGE_PAYLOAD_COMMENTS = 400;
+
+    @Param({"small", "large"})
+    public String payloadSize;
+
+    private ObjectMapper objectMapper;
+    private JiraWebhookFieldExtractor extractor;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        extractor = new JiraWebhookFieldExtractor(objectMapper);
+
+        byte[] base;
+        try (InputStream in = getClass().getResourceAsStream("/payloads/jira-issue-updated.json")) {
+            base = in.readAllBytes();
+        }
+        payload = "large".equals(payloadSize) ? withComments(base, LARGE_PAYLOAD_COMMENTS) : base;
+    }
+
+    @Benchmark
+    public JiraWebhookDetails streamingExtractor() throws IOException {
+        return extractor.extract(payload);
+    }
+
+    @Benchmark
+    public JiraWebhookDetails treeWithPathSplitting() throws IOException {
+        JsonNode payloadJson = objectMapper.readTree(payload);
+        return JiraWebhookDetails.builder()
+                .issueKey(extractStringValue(payloadJson, "issue_key", "issue.key", "issue.fields.key", "key"))
+                .status(extractStringValue(payloadJson,
+                        "issue.fields.status.name", "issue.status.name", "status.name", "fields.status.name"))
+                .webhookEvent(extractStringValue(payloadJson, "webhookEvent", "webhook_event", "event"))
+                .zohoRecordId(extractStringValue(payloadJson, "zoho_record_id", "zohoRecordId", "zoho.record_id"))
+                .build();
+    }
+
+    /** The lookup JiraWebhookController used before the streaming extractor. */
+    private static String extractStringValue(JsonNode node, String... paths) {
+        for (String path : paths) {
+            String[] pathParts = path.split("\\.");
+            JsonNode currentNode = node;
+
+            for (String part : pathParts) {
+                if (currentNode == null) break;
+                currentNode = currentNode.path(part);
+            }
+
+            if (currentNode != null && !currentNode.isNull() && currentNode.isTextual()) {
+                return currentNode.asText();
+            }
+        }
+        return null;
+    }
+
+    private byte[] withComments(byte[] base, int count) throws IOException {
+        ObjectNode root = (ObjectNode) objectMapper.readTree(base);
+        ObjectNode comment = (ObjectNode) root.path("issue").path("fields").path("comment");
+        ArrayNode comments = comment.putArray("comments");
+        for (int i = 0; i < count; i++) {
+            ObjectNode entry = comments.addObject();
+            entry.put("id", String.valueOf(20000 + i));
+            entry.put("self", "https://yourcompany.atlassian.net/rest/api/2/issue/10245/comment/" + (20000 + i));
+            entry.putObject("author")
+                    .put("accountId", "5b10a2844c20165700ede21g")
+                    .put("displayName", "Support Engineer")
+                    .put("active", true);
+            entry.put("body", "Checked terminal logs for store " + i + ". The gateway returned 502 after "
+                    + "the card was read; retrying the same card succeeded on the second attempt.");
+            entry.put("created", "2024-10-19T12:00:00.000+0530");
+            entry.put("updated", "2024-10-19T12:00:00.000+0530");
+            entry.put("jsdPublic", true);
+        }
+        comment.put("maxResults", count);
+        comment.put("total", count);
+        return objectMapper.writeValueAsBytes(root);
+    }
+}
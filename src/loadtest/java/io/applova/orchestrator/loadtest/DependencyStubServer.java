@@ -0,0 +1,169 @@
+package io.applova.orchestrator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.applova.orchestrator.loadtest.LoadTestSettings.StubProfile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process HTTP stand-ins for the Jira REST API, the OpenAI chat completions API and the
+ * knowledge base search, each with its own latency and error profile.
+ * <p>
+ * Served under {@code /jira}, {@code /gpt} and {@code /kb} on one ephemeral port. Responses
+ * carry only the fields the orchestrator reads.
+ */
+@Slf4j
+public class DependencyStubServer implements AutoCloseable {
+
+    private static final String GPT_ANSWER =
+            "Restart the terminal, then re-pair it from the back office under Settings > Devices. "
+            + "If the problem persists, please reach out to our support team.";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong issueSequence = new AtomicLong();
+    private final AtomicLong commentSequence = new AtomicLong();
+    private final Map<String, Stub> stubs = new LinkedHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpServer server;
+
+    public DependencyStubServer(StubProfile jira, StubProfile gpt, StubProfile kb) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        register("jira", jira, this::handleJira);
+        register("gpt", gpt, exchange -> Map.of("choices",
+                List.of(Map.of("message", Map.of("role", "assistant", "content", GPT_ANSWER)))));
+        register("kb", kb, exchange -> "Terminal troubleshooting: restart the device and re-pair it from Settings > Devices.");
+        server.start();
+        log.info("Dependency stubs listening on port {}", port());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @param name the stub name: {@code jira}, {@code gpt} or {@code kb}
+     * @return the base URL the orchestrator should be configured with for that dependency
+     */
+    public String baseUrl(String name) {
+        return "http://127.0.0.1:" + port() + "/" + name;
+    }
+
+    /**
+     * @return requests served and errors injected per stub
+     */
+    public Map<String, LoadTestReport.StubResult> results() {
+        Map<String, LoadTestReport.StubResult> results = new LinkedHashMap<>();
+        stubs.forEach((name, stub) -> results.put(name, LoadTestReport.StubResult.builder()
+                .requests(stub.requests.sum())
+                .injectedErrors(stub.injectedErrors.sum())
+                .build()));
+        return results;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Jira: issue creation returns a fresh key, comments a fresh id, transitions return no
+     * content, searches find no issues.
+     */
+    private Object handleJira(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/transitions")) {
+            return null;
+        }
+        if (path.endsWith("/search")) {
+            return Map.of("startAt", 0, "total", 0, "issues", List.of());
+        }
+        if (path.endsWith("/comment")) {
+            return Map.of("id", String.valueOf(commentSequence.incrementAndGet()));
+        }
+        long id = issueSequence.incrementAndGet();
+        return Map.of("id", String.valueOf(10000 + id), "key", "LT-" + id,
+                "self", baseUrl("jira") + "/rest/api/2/issue/" + (10000 + id));
+    }
+
+    private void register(String name, StubProfile profile, StubResponder responder) {
+        Stub stub = new Stub();
+        stubs.put(name, stub);
+        server.createContext("/" + name, exchange -> {
+            try (exchange) {
+                stub.requests.increment();
+                try (InputStream body = exchange.getRequestBody()) {
+                    body.transferTo(OutputStream.nullOutputStream());
+                }
+                sleep(profile);
+
+                if (ThreadLocalRandom.current().nextDouble() < profile.getErrorRate()) {
+                    stub.injectedErrors.increment();
+                    respond(exchange, profile.getErrorStatus(), Map.of("error", "Injected failure"));
+                    return;
+                }
+                Object response = responder.respond(exchange);
+                respond(exchange, response == null ? 204 : 200, response);
+            }
+        });
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes;
+        if (body instanceof String text) {
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            bytes = text.getBytes(StandardCharsets.UTF_8);
+        } else {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            bytes = objectMapper.writeValueAsBytes(body);
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(StubProfile profile) {
+        long latency = profile.getLatency().toNanos();
+        long jitter = profile.getJitter().toNanos();
+        long delay = jitter > 0
+                ? latency + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1)
+                : latency;
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StubResponder {
+        Object respond(HttpExchange exchange);
+    }
+
+    private static final class Stub {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder injectedErrors = new LongAdder();
+    }
+}
@@ -0,0 +1,111 @@
+package io.applova.orchestrator.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Jira issue events. New issues arrive as {@code jira:issue_created}; a configurable share of
+ * events are {@code jira:issue_updated} status changes for issues the orchestrator has
+ * already accepted, which exercises the mapping lookup, update and status email path.
+ */
+class JiraWebhookScenario implements WebhookScenario {
+
+    private static final String KEY_HEADER = "X-Load-Test-Issue";
+    private static final String[] STATUSES = {"In Progress", "Blocked", "Waiting for customer", "Done"};
+
+    private final ObjectMapper objectMapper;
+    private final URI endpoint;
+    private final String runId;
+    private final double rate;
+    private final double updateRatio;
+    private final Duration timeout;
+    private final List<String> createdKeys = new ArrayList<>();
+
+    JiraWebhookScenario(ObjectMapper objectMapper, String baseUrl, String runId, LoadTestSettings settings) {
+        this.objectMapper = objectMapper;
+        this.endpoint = URI.create(baseUrl + "/api/jira-webhook");
+        this.runId = runId;
+        this.rate = settings.getJiraRate();
+        this.updateRatio = settings.getJiraUpdateRatio();
+        this.timeout = settings.getRequestTimeout();
+    }
+
+    @Override
+    public String name() {
+        return "jira";
+    }
+
+    @Override
+    public double rate() {
+        return rate;
+    }
+
+    @Override
+    public HttpRequest next(long sequence) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String existingKey = random.nextDouble() < updateRatio ? randomCreatedKey(random) : null;
+
+        Map<String, Object> payload;
+        String issueKey;
+        if (existingKey != null) {
+            issueKey = existingKey;
+            payload = Map.of(
+                    "webhookEvent", "jira:issue_updated",
+                    "issue", issue(issueKey, STATUSES[random.nextInt(STATUSES.length)]));
+        } else {
+            issueKey = "LTW-" + runId + "-" + sequence;
+            payload = Map.of(
+                    "webhookEvent", "jira:issue_created",
+                    "zoho_record_id", "ZT-" + issueKey,
+                    "issue", issue(issueKey, "To Do"));
+        }
+
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("X-Correlation-Id", "lt-jira-" + runId + "-" + sequence)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)));
+            if (existingKey == null) {
+                request.header(KEY_HEADER, issueKey);
+            }
+            return request.build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void succeeded(HttpRequest request) {
+        // Only issues the orchestrator has mapped can receive status updates
+        request.headers().firstValue(KEY_HEADER)
+                .ifPresent(key -> {
+                    synchronized (createdKeys) {
+                        createdKeys.add(key);
+                    }
+                });
+    }
+
+    private String randomCreatedKey(ThreadLocalRandom random) {
+        synchronized (createdKeys) {
+            return createdKeys.isEmpty() ? null : createdKeys.get(random.nextInt(createdKeys.size()));
+        }
+    }
+
+    private static Map<String, Object> issue(String key, String status) {
+        return Map.of(
+                "key", key,
+                "fields", Map.of(
+                        "summary", "Load test issue " + key,
+                        "status", Map.of("name", status)));
+    }
+}
@@ -0,0 +1,137 @@
+package io.applova.orchestrator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import io.applova.orchestrator.OrchestratorApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the orchestrator against local stand-ins for all of its dependencies, drives Zoho and
+ * Jira webhooks at a fixed rate, and writes the results as JSON.
+ * <p>
+ * Jira, GPT and the knowledge base are served by {@link DependencyStubServer}, SMTP by an
+ * in-process GreenMail server, and the database by an embedded Postgres, or by a file-based H2
+ * database in PostgreSQL mode for quick runs of the JPA store; see {@link LocalDependencies}.
+ * Options are described on {@link LoadTestSettings}.
+ */
+@Slf4j
+public final class LoadTestHarness {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Deque<AutoCloseable> resources = new ArrayDeque<>();
+
+        try {
+            LocalDependencies dependencies = LocalDependencies.start(settings, runId);
+            resources.push(dependencies);
+            GreenMail smtp = dependencies.smtp();
+            DependencyStubServer stubs = dependencies.stubs();
+
+            log.info("Starting orchestrator");
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(OrchestratorApplication.class)
+                    .run(dependencies.applicationArguments().toArray(String[]::new));
+            resources.push(context::close);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            String baseUrl = "http://127.0.0.1:" + port;
+            WebhookLoadGenerator generator = new WebhookLoadGenerator(List.of(
+                    new ZohoWebhookScenario(objectMapper, baseUrl, LocalDependencies.ZOHO_SECRET, runId, settings),
+                    new JiraWebhookScenario(objectMapper, baseUrl, runId, settings)),
+                    settings.getMaxOutstanding());
+            resources.push(generator::close);
+
+            if (!settings.getWarmup().isZero()) {
+                log.info("Warming up for {}", settings.getWarmup());
+                generator.run(settings.getWarmup());
+            }
+
+            generator.resetStats();
+            StageMetricsSnapshot before = StageMetricsSnapshot.take(meterRegistry);
+            Instant startedAt = Instant.now();
+            log.info("Measuring for {}", settings.getDuration());
+            int emailsBefore = smtp.getReceivedMessages().length;
+            generator.run(settings.getDuration());
+            if (!generator.awaitOutstanding(DRAIN_TIMEOUT)) {
+                log.warn("Requests still outstanding after {}; they are reported as sent but not completed", DRAIN_TIMEOUT);
+            }
+            Duration measured = Duration.between(startedAt, Instant.now());
+
+            LoadTestReport report = LoadTestReport.builder()
+                    .startedAt(startedAt)
+                    .measuredSeconds(measured.toMillis() / 1000.0)
+                    .settings(settings)
+                    .scenarios(generator.results(measured))
+                    .stages(StageMetricsSnapshot.take(meterRegistry).since(before))
+                    .stubs(stubs.results())
+                    .emailsReceived(smtp.getReceivedMessages().length - emailsBefore)
+                    .build();
+
+            Path output = writeReport(objectMapper, settings.getOutput(), report);
+            logSummary(report);
+            log.info("Results written to {}", output.toAbsolutePath());
+        } finally {
+            while (!resources.isEmpty()) {
+                try {
+                    resources.pop().close();
+                } catch (Exception e) {
+                    log.warn("Error shutting down load test resource: {}", e.getMessage());
+                }
+            }
+        }
+        System.exit(0);
+    }
+
+    private static Path writeReport(ObjectMapper objectMapper, Path directory, LoadTestReport report) throws Exception {
+        Files.createDirectories(directory);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path output = directory.resolve("loadtest-" + timestamp + ".json");
+        objectMapper.writeValue(output.toFile(), report);
+        return output;
+    }
+
+    private static void logSummary(LoadTestReport report) {
+        for (Map.Entry<String, LoadTestReport.ScenarioResult> entry : report.getScenarios().entrySet()) {
+            LoadTestReport.ScenarioResult result = entry.getValue();
+            log.info("{}: {} sent, {} ok, {} failed, {} dropped, {}/s; latency ms p50={} p99={} p999={} max={}",
+                    entry.getKey(), result.getSent(), result.getSucceeded(), result.getFailed(), result.getDropped(),
+                    String.format("%.1f", result.getThroughput()),
+                    result.getLatencyMs().getP50(), result.getLatencyMs().getP99(),
+                    result.getLatencyMs().getP999(), result.getLatencyMs().getMax());
+        }
+        report.getStages().forEach((stage, result) -> {
+            if (result.getErrors() > 0) {
+                log.info("stage {}: {} of {} failed", stage, result.getErrors(), result.getCount());
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package io.applova.orchestrator.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Machine-readable result of one load test run, written as JSON so runs can be compared.
+ * Scenario and stage figures cover the measured period only, not the warm-up.
+ */
+@Value
+@Builder
+public class LoadTestReport {
+
+    Instant startedAt;
+    double measuredSeconds;
+    LoadTestSettings settings;
+    Map<String, ScenarioResult> scenarios;
+    Map<String, StageResult> stages;
+    Map<String, StubResult> stubs;
+    long emailsReceived;
+
+    /**
+     * Client-side view of one webhook scenario. Latency is measured from each request's
+     * scheduled send time, so queueing behind a slow server is included rather than hidden.
+     */
+    @Value
+    @Builder
+    public static class ScenarioResult {
+        double targetRate;
+        long sent;
+        long succeeded;
+        long failed;
+        long dropped;
+        double throughput;
+        Latency latencyMs;
+        Map<String, Long> responses;
+    }
+
+    @Value
+    @Builder
+    public static class Latency {
+        double p50;
+        double p90;
+        double p99;
+        double p999;
+        double max;
+        double mean;
+    }
+
+    /**
+     * Server-side view of one pipeline stage, from the {@code orchestrator.stage} timers.
+     */
+    @Value
+    @Builder
+    public static class StageResult {
+        long count;
+        long errors;
+        double meanMs;
+        Map<String, Long> outcomes;
+    }
+
+    @Value
+    @Builder
+    public static class StubResult {
+        long requests;
+        long injectedErrors;
+    }
+}
@@ -0,0 +1,103 @@
+package io.applova.orchestrator.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test options, read from {@code loadtest.*} system properties.
+ * <p>
+ * Durations accept either ISO-8601 ({@code PT30S}) or simple ({@code 30s}, {@code 150ms}) form.
+ *
+ * <pre>
+ * loadtest.duration                    measured run length (default 60s)
+ * loadtest.warmup                      unmeasured run before it (default 10s)
+ * loadtest.zoho.rate                   Zoho webhooks per second (default 20)
+ * loadtest.zoho.intelligent-ratio      share of Zoho tickets routed through KB + GPT (default 0.3)
+ * loadtest.jira.rate                   Jira webhooks per second (default 20)
+ * loadtest.jira.update-ratio           share of Jira webhooks that are status updates (default 0.5)
+ * loadtest.max-outstanding             requests in flight before new ones are dropped (default 2000)
+ * loadtest.request-timeout             per-request client timeout (default 30s)
+ * loadtest.stub.{jira|gpt|kb}.latency  mean stub response latency (defaults 80ms, 1500ms, 40ms)
+ * loadtest.stub.{jira|gpt|kb}.jitter   uniform +/- jitter around the mean (default 20% of latency)
+ * loadtest.stub.{jira|gpt|kb}.error-rate     fraction of stub calls failing (default 0)
+ * loadtest.stub.{jira|gpt|kb}.error-status   HTTP status of failed stub calls (default 503)
+ * loadtest.database                    postgres (embedded) or h2 (file-based) (default postgres)
+ * loadtest.ticket-store                app.ticket.store to run with: jpa or r2dbc (default jpa)
+ * loadtest.output                      results directory (default target/loadtest)
+ * </pre>
+ */
+@Value
+@Builder(toBuilder = true)
+public class LoadTestSettings {
+
+    Duration duration;
+    Duration warmup;
+    double zohoRate;
+    double zohoIntelligentRatio;
+    double jiraRate;
+    double jiraUpdateRatio;
+    int maxOutstanding;
+    Duration requestTimeout;
+    StubProfile jiraStub;
+    StubProfile gptStub;
+    StubProfile kbStub;
+    String database;
+    String ticketStore;
+    Path output;
+
+    public static LoadTestSettings fromSystemProperties() {
+        return LoadTestSettings.builder()
+                .duration(duration("loadtest.duration", "60s"))
+                .warmup(duration("loadtest.warmup", "10s"))
+                .zohoRate(number("loadtest.zoho.rate", 20))
+                .zohoIntelligentRatio(number("loadtest.zoho.intelligent-ratio", 0.3))
+                .jiraRate(number("loadtest.jira.rate", 20))
+                .jiraUpdateRatio(number("loadtest.jira.update-ratio", 0.5))
+                .maxOutstanding((int) number("loadtest.max-outstanding", 2000))
+                .requestTimeout(duration("loadtest.request-timeout", "30s"))
+                .jiraStub(stubProfile("jira", "80ms"))
+                .gptStub(stubProfile("gpt", "1500ms"))
+                .kbStub(stubProfile("kb", "40ms"))
+                .database(System.getProperty("loadtest.database", "postgres"))
+                .ticketStore(System.getProperty("loadtest.ticket-store", "jpa"))
+                .output(Path.of(System.getProperty("loadtest.output", "target/loadtest")))
+                .build();
+    }
+
+    private static StubProfile stubProfile(String name, String defaultLatency) {
+        String prefix = "loadtest.stub." + name + ".";
+        Duration latency = duration(prefix + "latency", defaultLatency);
+        return StubProfile.builder()
+                .latency(latency)
+                .jitter(System.getProperty(prefix + "jitter") != null
+                        ? duration(prefix + "jitter", null) : latency.dividedBy(5))
+                .errorRate(number(prefix + "error-rate", 0))
+                .errorStatus((int) number(prefix + "error-status", 503))
+                .build();
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+    }
+
+    private static double number(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * Latency and failure behaviour of one stubbed dependency.
+     */
+    @Value
+    @Builder
+    public static class StubProfile {
+        Duration latency;
+        Duration jitter;
+        double errorRate;
+        int errorStatus;
+    }
+}
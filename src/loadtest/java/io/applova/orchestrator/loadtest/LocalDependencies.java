@@ -0,0 +1,145 @@
+package io.applova.orchestrator.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local stand-ins for everything the orchestrator talks to: the database, an SMTP and IMAP
+ * server and the Jira, GPT and knowledge base stubs, together with the application arguments
+ * that point the orchestrator at them. Inbound reply ingestion stays disabled unless
+ * {@code --app.inbound.enabled=true} is added.
+ */
+@Slf4j
+public final class LocalDependencies implements AutoCloseable {
+
+    public static final String ZOHO_SECRET = "load-test-secret";
+
+    private static final String MAIL_USER = "orchestrator@loadtest.local";
+    private static final String MAIL_PASSWORD = "load-test";
+
+    private final Deque<AutoCloseable> resources = new ArrayDeque<>();
+    private final List<String> applicationArguments = new ArrayList<>();
+    private GreenMail smtp;
+    private DependencyStubServer stubs;
+
+    private LocalDependencies() {
+    }
+
+    /**
+     * Start all dependencies described by the settings. Anything already started is stopped
+     * again if a later one fails.
+     *
+     * @param settings load test settings
+     * @param runId    identifier of this run, used to name the H2 database file
+     * @return the running dependencies
+     */
+    public static LocalDependencies start(LoadTestSettings settings, String runId) throws Exception {
+        LocalDependencies dependencies = new LocalDependencies();
+        try {
+            dependencies.startDatabase(settings, runId);
+            dependencies.startSmtp();
+            dependencies.stubs = new DependencyStubServer(
+                    settings.getJiraStub(), settings.getGptStub(), settings.getKbStub());
+            dependencies.resources.push(dependencies.stubs);
+            dependencies.addApplicationArguments(settings);
+            return dependencies;
+        } catch (Exception e) {
+            dependencies.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return {@code --name=value} arguments configuring the orchestrator against these
+     *         dependencies, on an ephemeral server port
+     */
+    public List<String> applicationArguments() {
+        return List.copyOf(applicationArguments);
+    }
+
+    public GreenMail smtp() {
+        return smtp;
+    }
+
+    public DependencyStubServer stubs() {
+        return stubs;
+    }
+
+    @Override
+    public void close() {
+        while (!resources.isEmpty()) {
+            try {
+                resources.pop().close();
+            } catch (Exception e) {
+                log.warn("Error shutting down load test resource: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void startDatabase(LoadTestSettings settings, String runId) throws Exception {
+        switch (settings.getDatabase()) {
+            case "postgres" -> {
+                EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                resources.push(postgres);
+                int port = postgres.getPort();
+                applicationArguments.add("--spring.datasource.url=jdbc:postgresql://127.0.0.1:" + port + "/postgres?reWriteBatchedInserts=true");
+                applicationArguments.add("--spring.datasource.username=postgres");
+                applicationArguments.add("--spring.datasource.password=postgres");
+                applicationArguments.add("--app.r2dbc.url=r2dbc:postgresql://127.0.0.1:" + port + "/postgres");
+            }
+            case "h2" -> {
+                if ("r2dbc".equals(settings.getTicketStore())) {
+                    throw new IllegalArgumentException("The r2dbc ticket store needs loadtest.database=postgres");
+                }
+                Path file = settings.getOutput().resolve("db").resolve("orchestrator-" + runId).toAbsolutePath();
+                applicationArguments.add("--spring.datasource.url=jdbc:h2:file:" + file + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+                applicationArguments.add("--spring.datasource.driver-class-name=org.h2.Driver");
+                applicationArguments.add("--spring.datasource.username=sa");
+                applicationArguments.add("--spring.datasource.password=");
+                applicationArguments.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+            }
+            default -> throw new IllegalArgumentException("Unknown loadtest.database: " + settings.getDatabase());
+        }
+    }
+
+    private void startSmtp() {
+        smtp = new GreenMail(new ServerSetup[]{
+                new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP),
+                new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_IMAP)});
+        smtp.setUser(MAIL_USER, MAIL_USER, MAIL_PASSWORD);
+        smtp.start();
+        resources.push(smtp::stop);
+    }
+
+    private void addApplicationArguments(LoadTestSettings settings) {
+        applicationArguments.addAll(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--app.ticket.store=" + settings.getTicketStore(),
+                "--api.jira.base-url=" + stubs.baseUrl("jira") + "/rest/api/2",
+                "--api.gpt.base-url=" + stubs.baseUrl("gpt") + "/v1",
+                "--knowledgebase.url=" + stubs.baseUrl("kb"),
+                "--zoho.webhook.secret=" + ZOHO_SECRET,
+                "--spring.mail.host=127.0.0.1",
+                "--spring.mail.port=" + smtp.getSmtp().getPort(),
+                "--spring.mail.username=" + MAIL_USER,
+                "--spring.mail.password=" + MAIL_PASSWORD,
+                "--app.mail.smtp.starttls=false",
+                "--app.inbound.protocol=imap",
+                "--app.inbound.host=127.0.0.1",
+                "--app.inbound.port=" + smtp.getImap().getPort(),
+                "--app.logging.payload.sample-rate=0",
+                // The Jira stub has no search; reconciliation would only log failures
+                "--app.jira.reconcile.enabled=false",
+                // No collector runs alongside the harness; spans would only pile up in the exporter
+                "--management.tracing.enabled=false"));
+    }
+}
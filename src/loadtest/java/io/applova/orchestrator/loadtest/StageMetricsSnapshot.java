@@ -0,0 +1,65 @@
+package io.applova.orchestrator.loadtest;
+
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time counts and total durations of the pipeline stage timers, per stage and outcome.
+ * Two snapshots bracket the measured period; their difference excludes the warm-up.
+ */
+class StageMetricsSnapshot {
+
+    private final Map<String, Map<String, double[]>> stages = new HashMap<>();
+
+    static StageMetricsSnapshot take(MeterRegistry registry) {
+        StageMetricsSnapshot snapshot = new StageMetricsSnapshot();
+        for (Timer timer : registry.find(PipelineObservations.STAGE_OBSERVATION).timers()) {
+            String stage = timer.getId().getTag("stage");
+            String outcome = timer.getId().getTag("outcome");
+            if (stage == null || outcome == null) {
+                continue;
+            }
+            double[] totals = snapshot.stages
+                    .computeIfAbsent(stage, name -> new HashMap<>())
+                    .computeIfAbsent(outcome, name -> new double[2]);
+            // A stage/outcome pair can have several timers when other tags differ
+            totals[0] += timer.count();
+            totals[1] += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        return snapshot;
+    }
+
+    Map<String, LoadTestReport.StageResult> since(StageMetricsSnapshot earlier) {
+        Map<String, LoadTestReport.StageResult> results = new TreeMap<>();
+        stages.forEach((stage, outcomes) -> {
+            Map<String, double[]> before = earlier.stages.getOrDefault(stage, Map.of());
+            Map<String, Long> counts = new TreeMap<>();
+            long count = 0;
+            double totalMs = 0;
+            for (Map.Entry<String, double[]> entry : outcomes.entrySet()) {
+                double[] previous = before.getOrDefault(entry.getKey(), new double[2]);
+                long outcomeCount = (long) (entry.getValue()[0] - previous[0]);
+                if (outcomeCount > 0) {
+                    counts.put(entry.getKey(), outcomeCount);
+                    count += outcomeCount;
+                    totalMs += entry.getValue()[1] - previous[1];
+                }
+            }
+            if (count > 0) {
+                results.put(stage, LoadTestReport.StageResult.builder()
+                        .count(count)
+                        .errors(counts.getOrDefault("error", 0L))
+                        .meanMs(totalMs / count)
+                        .outcomes(counts)
+                        .build());
+            }
+        });
+        return results;
+    }
+}
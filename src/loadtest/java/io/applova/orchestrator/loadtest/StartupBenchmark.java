@@ -0,0 +1,262 @@
+package io.applova.orchestrator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures how long the orchestrator takes from process launch to its first successful Zoho
+ * webhook, which is what autoscaling and rolling deploys wait for.
+ * <p>
+ * Each iteration launches the packaged application as a separate process against
+ * {@link LocalDependencies}, waits for its readiness probe as a load balancer would, posts a
+ * Zoho bug ticket, then compares that first request's latency with the ones following it
+ * before stopping the process. The JVM's own "Started ... in" figure is reported alongside. Options, besides the {@code loadtest.*} ones:
+ *
+ * <pre>
+ * startup.command      command launching the application (default java -jar target/orchestrator-0.0.1-SNAPSHOT.jar),
+ *                      e.g. "java -Dspring.aot.enabled=true -jar ..." or a native executable
+ * startup.cds-archive  CDS archive to run with; created by a training run first if it does not exist
+ * startup.iterations   measured launches (default 5)
+ * startup.timeout      give up on a launch after this long (default 120s)
+ * </pre>
+ *
+ * The database must be the embedded Postgres: the launched process cannot reach the harness's
+ * H2 file.
+ */
+@Slf4j
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(60);
+    private static final String READINESS_PATH = "/actuator/health/readiness";
+    private static final int STEADY_REQUESTS = 20;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties().toBuilder()
+                .zohoIntelligentRatio(0)
+                .requestTimeout(Duration.ofSeconds(10))
+                .build();
+        if (!"postgres".equals(settings.getDatabase())) {
+            throw new IllegalArgumentException("The startup benchmark needs loadtest.database=postgres");
+        }
+        List<String> command = new ArrayList<>(Arrays.asList(System.getProperty("startup.command",
+                "java -jar target/orchestrator-0.0.1-SNAPSHOT.jar").trim().split("\\s+")));
+        String cdsArchive = System.getProperty("startup.cds-archive");
+        int iterations = Integer.parseInt(System.getProperty("startup.iterations", "5"));
+        Duration timeout = DurationStyle.detectAndParse(System.getProperty("startup.timeout", "120s"));
+
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Files.createDirectories(settings.getOutput());
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        try (LocalDependencies dependencies = LocalDependencies.start(settings, runId)) {
+            if (cdsArchive != null) {
+                if (Files.notExists(Path.of(cdsArchive))) {
+                    log.info("Creating CDS archive {} with a training run", cdsArchive);
+                    List<String> training = withJvmOptions(command,
+                            "-XX:ArchiveClassesAtExit=" + cdsArchive, "-Dapp.startup.training-run=true");
+                    Process process = launch(training, dependencies, freePort(), settings.getOutput(), runId + "-training");
+                    if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS) || process.exitValue() != 0) {
+                        process.destroyForcibly();
+                        throw new IllegalStateException("CDS training run failed; see its log in " + settings.getOutput());
+                    }
+                }
+                command = withJvmOptions(command, "-XX:SharedArchiveFile=" + cdsArchive);
+            }
+
+            List<Launch> launches = new ArrayList<>();
+            for (int i = 0; i < iterations; i++) {
+                int port = freePort();
+                ZohoWebhookScenario scenario = new ZohoWebhookScenario(objectMapper, "http://127.0.0.1:" + port,
+                        LocalDependencies.ZOHO_SECRET, runId + "-" + i, settings);
+                Launch launch = measure(command, dependencies, port, scenario, client, timeout,
+                        settings.getOutput(), runId + "-" + i);
+                log.info("Launch {}: ready after {} ms, first webhook after {} ms; first request {} ms, "
+                                + "steady-state median {} ms; JVM reported {} ms",
+                        i + 1, launch.getReadyMs(), launch.getFirstWebhookMs(), launch.getFirstRequestMs(),
+                        launch.getSteadyRequestMs(), launch.getReportedStartupMs());
+                launches.add(launch);
+            }
+
+            long[] sorted = launches.stream().mapToLong(Launch::getFirstWebhookMs).sorted().toArray();
+            StartupReport report = StartupReport.builder()
+                    .startedAt(Instant.now())
+                    .command(String.join(" ", command))
+                    .launches(launches)
+                    .firstWebhookMsMin(sorted[0])
+                    .firstWebhookMsMedian(sorted[sorted.length / 2])
+                    .firstWebhookMsMax(sorted[sorted.length - 1])
+                    .build();
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Path output = settings.getOutput().resolve("startup-" + timestamp + ".json");
+            objectMapper.writeValue(output.toFile(), report);
+            log.info("Time to first webhook ms: min={} median={} max={}",
+                    report.getFirstWebhookMsMin(), report.getFirstWebhookMsMedian(), report.getFirstWebhookMsMax());
+            log.info("Results written to {}", output.toAbsolutePath());
+        }
+        System.exit(0);
+    }
+
+    private static Launch measure(List<String> command, LocalDependencies dependencies, int port,
+                                  ZohoWebhookScenario scenario, HttpClient client, Duration timeout,
+                                  Path output, String name) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + READINESS_PATH))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        long startedAt = System.nanoTime();
+        Process process = launch(command, dependencies, port, output, name);
+        try {
+            long deadline = startedAt + timeout.toNanos();
+            while (!isReady(client, readiness)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue()
+                            + "; see " + logFile(output, name));
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Not ready within " + timeout + "; see " + logFile(output, name));
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            long readyAt = System.nanoTime();
+
+            long firstRequestNanos = send(client, scenario, 0);
+            long firstWebhookAt = System.nanoTime();
+            long[] steady = new long[STEADY_REQUESTS];
+            for (int i = 0; i < steady.length; i++) {
+                steady[i] = send(client, scenario, i + 1);
+            }
+            Arrays.sort(steady);
+
+            return Launch.builder()
+                    .readyMs(TimeUnit.NANOSECONDS.toMillis(readyAt - startedAt))
+                    .firstWebhookMs(TimeUnit.NANOSECONDS.toMillis(firstWebhookAt - startedAt))
+                    .firstRequestMs(TimeUnit.NANOSECONDS.toMillis(firstRequestNanos))
+                    .steadyRequestMs(TimeUnit.NANOSECONDS.toMillis(steady[steady.length / 2]))
+                    .reportedStartupMs(reportedStartupMs(logFile(output, name)))
+                    .build();
+        } finally {
+            process.destroy();
+            if (!process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean isReady(HttpClient client, HttpRequest readiness) throws InterruptedException {
+        try {
+            return client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+
+    /**
+     * @return the request's latency in nanoseconds
+     */
+    private static long send(HttpClient client, ZohoWebhookScenario scenario, long sequence) throws Exception {
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(scenario.next(sequence), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Webhook failed with " + response.statusCode() + ": " + response.body());
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static Process launch(List<String> command, LocalDependencies dependencies, int port,
+                                  Path output, String name) throws IOException {
+        List<String> fullCommand = new ArrayList<>(command);
+        for (String argument : dependencies.applicationArguments()) {
+            fullCommand.add(argument.startsWith("--server.port=") ? "--server.port=" + port : argument);
+        }
+        return new ProcessBuilder(fullCommand)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile(output, name).toFile())
+                .start();
+    }
+
+    /**
+     * Insert JVM options right after the {@code java} executable.
+     */
+    private static List<String> withJvmOptions(List<String> command, String... options) {
+        if (!Path.of(command.get(0)).getFileName().toString().startsWith("java")) {
+            throw new IllegalArgumentException("startup.cds-archive needs a startup.command that runs java");
+        }
+        List<String> result = new ArrayList<>(command);
+        result.addAll(1, List.of(options));
+        return result;
+    }
+
+    private static Long reportedStartupMs(Path logFile) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(logFile));
+        return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : null;
+    }
+
+    private static Path logFile(Path output, String name) {
+        return output.resolve("startup-" + name + ".log");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Value
+    @Builder
+    public static class StartupReport {
+        Instant startedAt;
+        String command;
+        List<Launch> launches;
+        long firstWebhookMsMin;
+        long firstWebhookMsMedian;
+        long firstWebhookMsMax;
+    }
+
+    @Value
+    @Builder
+    public static class Launch {
+        /** From launch until the readiness probe reports UP. */
+        long readyMs;
+        /** From launch until the first webhook, sent once ready, has been processed. */
+        long firstWebhookMs;
+        long firstRequestMs;
+        /** Median latency of the webhooks sent right after the first one. */
+        long steadyRequestMs;
+        /** Startup time logged by Spring Boot, or null if it was not found. */
+        Long reportedStartupMs;
+    }
+}
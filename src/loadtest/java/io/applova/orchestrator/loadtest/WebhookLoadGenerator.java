@@ -0,0 +1,196 @@
+package io.applova.orchestrator.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Open-model load generator: each scenario sends requests on a fixed schedule regardless of
+ * how quickly earlier ones complete, so a slow orchestrator shows up as growing latency rather
+ * than as a silently reduced request rate.
+ * <p>
+ * Once {@code maxOutstanding} requests are in flight, further requests are dropped and counted
+ * instead of sent, which bounds the generator's own memory use when the target falls behind.
+ */
+@Slf4j
+class WebhookLoadGenerator {
+
+    private final List<WebhookScenario> scenarios;
+    private final Semaphore outstanding;
+    private final int maxOutstanding;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpClient client;
+    private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private final Map<String, AtomicReference<ScenarioStats>> stats = new LinkedHashMap<>();
+
+    WebhookLoadGenerator(List<WebhookScenario> scenarios, int maxOutstanding) {
+        this.scenarios = scenarios;
+        this.maxOutstanding = maxOutstanding;
+        this.outstanding = new Semaphore(maxOutstanding);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        for (WebhookScenario scenario : scenarios) {
+            sequences.put(scenario.name(), new AtomicLong());
+            stats.put(scenario.name(), new AtomicReference<>(new ScenarioStats()));
+        }
+    }
+
+    /**
+     * Drive all scenarios concurrently for the given duration.
+     */
+    void run(Duration duration) throws InterruptedException {
+        List<Thread> pacers = new ArrayList<>();
+        for (WebhookScenario scenario : scenarios) {
+            if (scenario.rate() <= 0) {
+                continue;
+            }
+            Thread pacer = new Thread(() -> pace(scenario, duration), "loadtest-" + scenario.name());
+            pacer.start();
+            pacers.add(pacer);
+        }
+        for (Thread pacer : pacers) {
+            pacer.join();
+        }
+    }
+
+    /**
+     * Start counting from zero. Requests already in flight still report to the period they
+     * were sent in.
+     */
+    void resetStats() {
+        stats.values().forEach(reference -> reference.set(new ScenarioStats()));
+    }
+
+    /**
+     * @return true if every in-flight request completed within the timeout
+     */
+    boolean awaitOutstanding(Duration timeout) throws InterruptedException {
+        if (outstanding.tryAcquire(maxOutstanding, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            outstanding.release(maxOutstanding);
+            return true;
+        }
+        return false;
+    }
+
+    Map<String, LoadTestReport.ScenarioResult> results(Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        Map<String, LoadTestReport.ScenarioResult> results = new LinkedHashMap<>();
+        for (WebhookScenario scenario : scenarios) {
+            ScenarioStats current = stats.get(scenario.name()).get();
+            Histogram histogram = current.latencyMicros;
+            results.put(scenario.name(), LoadTestReport.ScenarioResult.builder()
+                    .targetRate(scenario.rate())
+                    .sent(current.sent.sum())
+                    .succeeded(current.succeeded.sum())
+                    .failed(current.failed.sum())
+                    .dropped(current.dropped.sum())
+                    .throughput(current.succeeded.sum() / seconds)
+                    .latencyMs(LoadTestReport.Latency.builder()
+                            .p50(millis(histogram.getValueAtPercentile(50)))
+                            .p90(millis(histogram.getValueAtPercentile(90)))
+                            .p99(millis(histogram.getValueAtPercentile(99)))
+                            .p999(millis(histogram.getValueAtPercentile(99.9)))
+                            .max(millis(histogram.getMaxValue()))
+                            .mean(histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000.0)
+                            .build())
+                    .responses(current.responses.entrySet().stream()
+                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(),
+                                    Long::sum, TreeMap::new)))
+                    .build());
+        }
+        return results;
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private void pace(WebhookScenario scenario, Duration duration) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.rate());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong sequence = sequences.get(scenario.name());
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * interval;
+            if (intendedStart >= end) {
+                return;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(scenario, sequence.getAndIncrement(), intendedStart);
+        }
+    }
+
+    private void send(WebhookScenario scenario, long sequence, long intendedStart) {
+        ScenarioStats current = stats.get(scenario.name()).get();
+        if (!outstanding.tryAcquire()) {
+            current.dropped.increment();
+            return;
+        }
+
+        HttpRequest request = scenario.next(sequence);
+        current.sent.increment();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    outstanding.release();
+                    current.latencyMicros.recordValue(
+                            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+                    if (ex != null) {
+                        current.failed.increment();
+                        current.response(ex.getClass().getSimpleName());
+                        log.debug("Request {} of {} failed: {}", sequence, scenario.name(), ex.toString());
+                        return;
+                    }
+                    current.response(String.valueOf(response.statusCode()));
+                    if (response.statusCode() / 100 == 2) {
+                        current.succeeded.increment();
+                        scenario.succeeded(request);
+                    } else {
+                        current.failed.increment();
+                    }
+                });
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class ScenarioStats {
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final Histogram latencyMicros = new ConcurrentHistogram(3);
+        private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+
+        private void response(String key) {
+            responses.computeIfAbsent(key, name -> new LongAdder()).increment();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.applova.orchestrator.loadtest;
+
+import java.net.http.HttpRequest;
+
+/**
+ * A stream of webhook requests sent to the orchestrator at a fixed rate.
+ */
+interface WebhookScenario {
+
+    String name();
+
+    /**
+     * @return requests per second
+     */
+    double rate();
+
+    /**
+     * @param sequence the request's position in this scenario, starting at 0
+     * @return the request to send
+     */
+    HttpRequest next(long sequence);
+
+    /**
+     * Called once the orchestrator has accepted a request with a 2xx response.
+     */
+    default void succeeded(HttpRequest request) {
+    }
+}
@@ -0,0 +1,84 @@
+package io.applova.orchestrator.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * New Zoho tickets, each with a unique ticket number. A configurable share are features or
+ * clarifications, which go through the knowledge base and GPT; the rest are bugs and support
+ * requests, which go straight to Jira.
+ */
+class ZohoWebhookScenario implements WebhookScenario {
+
+    private final ObjectMapper objectMapper;
+    private final URI endpoint;
+    private final String secret;
+    private final String runId;
+    private final double rate;
+    private final double intelligentRatio;
+    private final Duration timeout;
+
+    ZohoWebhookScenario(ObjectMapper objectMapper, String baseUrl, String secret, String runId,
+                        LoadTestSettings settings) {
+        this.objectMapper = objectMapper;
+        this.endpoint = URI.create(baseUrl + "/api/zoho/webhook");
+        this.secret = secret;
+        this.runId = runId;
+        this.rate = settings.getZohoRate();
+        this.intelligentRatio = settings.getZohoIntelligentRatio();
+        this.timeout = settings.getRequestTimeout();
+    }
+
+    @Override
+    public String name() {
+        return "zoho";
+    }
+
+    @Override
+    public double rate() {
+        return rate;
+    }
+
+    @Override
+    public HttpRequest next(long sequence) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean intelligent = random.nextDouble() < intelligentRatio;
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("iTitle", "Load test ticket " + sequence);
+        payload.put("iDesc", "Card payments fail intermittently at checkout with error code 502 "
+                + "after the latest terminal firmware update.");
+        payload.put("eta", "2024-10-21");
+        payload.put("bizProds", List.of("POS", "Online Ordering"));
+        payload.put("bizName", "Load Test Merchant " + (sequence % 500));
+        payload.put("bizRevClass", "Gold");
+        payload.put("bizId", "BIZ-" + (sequence % 500));
+        payload.put("iProds", List.of("POS"));
+        payload.put("iType", intelligent ? (random.nextBoolean() ? "Feature" : "Clarification") : "Bug");
+        payload.put("iSev", random.nextBoolean() ? "High" : "Low");
+        payload.put("subUser", "agent@loadtest.local");
+        payload.put("zohoTic", "ZT-" + runId + "-" + sequence);
+        payload.put("contactEmail", "merchant" + (sequence % 500) + "@loadtest.local");
+
+        try {
+            return HttpRequest.newBuilder(endpoint)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("X-Zoho-Secret", secret)
+                    .header("X-Correlation-Id", "lt-zoho-" + runId + "-" + sequence)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
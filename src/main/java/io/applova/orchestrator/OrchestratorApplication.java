@@ -1,13 +1,24 @@
 package io.applova.orchestrator;
 
+import io.applova.orchestrator.migration.MigrationCommand;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+import java.util.Arrays;
+
+// R2DBC is wired manually in R2dbcConfig so that it can coexist with the JPA DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableAsync
+@EnableScheduling
 public class OrchestratorApplication {
     public static void main(String[] args) {
+        if (args.length > 0 && MigrationCommand.NAME.equals(args[0])) {
+            MigrationCommand.run(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SpringApplication.run(OrchestratorApplication.class, args);
     }
 }
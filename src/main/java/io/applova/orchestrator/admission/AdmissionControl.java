@@ -0,0 +1,272 @@
+package io.applova.orchestrator.admission;
+
+import io.applova.orchestrator.bulkhead.Bulkhead;
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of webhook pipelines running at once, per endpoint.
+ * <p>
+ * A request is admitted only while its endpoint is below its in-flight limit and the queue of
+ * the {@code jpa} bulkhead, which every pipeline's database work waits in, is below the queue
+ * depth limit. Rejected requests are told when to retry based on a moving average of
+ * recent pipeline latency, scaled by how far over the limit the endpoint currently is. Limits
+ * start from configuration and can be changed at runtime through the {@code admission}
+ * actuator endpoint.
+ */
+@Slf4j
+@Component
+public class AdmissionControl {
+
+    public static final String ZOHO = "zoho";
+    public static final String ZOHO_BATCH = "zoho-batch";
+    public static final String JIRA = "jira";
+    public static final String JIRA_REPLAY = "jira-replay";
+    public static final String REASON_SHUTTING_DOWN = "shutting-down";
+
+    /** Weight of the newest sample in the latency moving average. */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final MeterRegistry meterRegistry;
+    private final Bulkhead jpa;
+    private final Map<String, EndpointState> endpoints = new ConcurrentHashMap<>();
+    private final Duration minRetryAfter;
+    private final Duration maxRetryAfter;
+    private volatile int maxQueueDepth;
+    private volatile boolean admitting = true;
+
+    public AdmissionControl(
+        MeterRegistry meterRegistry,
+        Bulkheads bulkheads,
+        @Value("${app.admission.zoho.max-in-flight:64}") int zohoMaxInFlight,
+        @Value("${app.admission.zoho-batch.max-in-flight:4}") int zohoBatchMaxInFlight,
+        @Value("${app.admission.jira.max-in-flight:64}") int jiraMaxInFlight,
+        @Value("${app.admission.jira-replay.max-in-flight:2}") int jiraReplayMaxInFlight,
+        @Value("${app.admission.max-queue-depth:256}") int maxQueueDepth,
+        @Value("${app.admission.retry-after.min:1s}") Duration minRetryAfter,
+        @Value("${app.admission.retry-after.max:120s}") Duration maxRetryAfter
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.jpa = bulkheads.jpa();
+        this.maxQueueDepth = maxQueueDepth;
+        this.minRetryAfter = minRetryAfter;
+        this.maxRetryAfter = maxRetryAfter;
+        register(ZOHO, zohoMaxInFlight);
+        register(ZOHO_BATCH, zohoBatchMaxInFlight);
+        register(JIRA, jiraMaxInFlight);
+        register(JIRA_REPLAY, jiraReplayMaxInFlight);
+    }
+
+    /**
+     * Try to admit one request to an endpoint. An admitted request must be released exactly
+     * once with {@link #release(String, long)} when its pipeline finishes.
+     *
+     * @param endpoint the endpoint name
+     * @return the decision; {@link Decision#isAdmitted()} is false for rejected requests
+     */
+    public Decision tryAdmit(String endpoint) {
+        EndpointState state = state(endpoint);
+
+        if (!admitting) {
+            state.rejectedShuttingDown.increment();
+            return Decision.builder()
+                    .admitted(false)
+                    .reason(REASON_SHUTTING_DOWN)
+                    .retryAfterSeconds(minRetryAfter.toSeconds())
+                    .build();
+        }
+
+        int queueDepth = maxQueueDepth > 0 ? jpa.queueDepth() : 0;
+        if (maxQueueDepth > 0 && queueDepth >= maxQueueDepth) {
+            state.rejectedQueueDepth.increment();
+            return reject(state, "queue-depth", (double) queueDepth / maxQueueDepth);
+        }
+
+        while (true) {
+            int current = state.inFlight.get();
+            int limit = state.maxInFlight;
+            if (current >= limit) {
+                state.rejectedInFlight.increment();
+                return reject(state, "in-flight", limit > 0 ? (double) current / limit : 1);
+            }
+            if (state.inFlight.compareAndSet(current, current + 1)) {
+                state.admitted.increment();
+                return Decision.builder().admitted(true).build();
+            }
+        }
+    }
+
+    /**
+     * Release an admitted request and feed its duration into the latency average.
+     *
+     * @param endpoint      the endpoint the request was admitted to
+     * @param durationNanos how long the request's pipeline ran
+     */
+    public void release(String endpoint, long durationNanos) {
+        EndpointState state = state(endpoint);
+        state.inFlight.decrementAndGet();
+        state.latencyEwmaNanos.updateAndGet(previous -> previous == 0
+                ? durationNanos
+                : (long) (previous + LATENCY_SMOOTHING * (durationNanos - previous)));
+    }
+
+    /**
+     * Reject every request from now on, for the rest of the application's life.
+     */
+    public void stopAdmitting() {
+        admitting = false;
+    }
+
+    /**
+     * @return false once {@link #stopAdmitting()} has been called
+     */
+    public boolean isAdmitting() {
+        return admitting;
+    }
+
+    /**
+     * Change an endpoint's in-flight limit. Requests already admitted are unaffected; a lower
+     * limit takes effect as they complete.
+     */
+    public void setMaxInFlight(String endpoint, int maxInFlight) {
+        if (maxInFlight < 0) {
+            throw new IllegalArgumentException("maxInFlight must not be negative");
+        }
+        state(endpoint).maxInFlight = maxInFlight;
+        log.info("Admission limit for {} set to {} in-flight pipelines", endpoint, maxInFlight);
+    }
+
+    /**
+     * Change the {@code jpa} bulkhead queue depth at which all endpoints start rejecting; 0 disables the check.
+     */
+    public void setMaxQueueDepth(int maxQueueDepth) {
+        if (maxQueueDepth < 0) {
+            throw new IllegalArgumentException("maxQueueDepth must not be negative");
+        }
+        this.maxQueueDepth = maxQueueDepth;
+        log.info("Admission queue depth limit set to {}", maxQueueDepth);
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * @return the current limits, load and counters of every endpoint, by name
+     */
+    public Map<String, EndpointStatus> status() {
+        Map<String, EndpointStatus> status = new TreeMap<>();
+        endpoints.forEach((name, state) -> status.put(name, EndpointStatus.builder()
+                .maxInFlight(state.maxInFlight)
+                .inFlight(state.inFlight.get())
+                .latencyEwmaMillis(TimeUnit.NANOSECONDS.toMillis(state.latencyEwmaNanos.get()))
+                .admitted((long) state.admitted.count())
+                .rejectedInFlight((long) state.rejectedInFlight.count())
+                .rejectedQueueDepth((long) state.rejectedQueueDepth.count())
+                .build()));
+        return status;
+    }
+
+    public boolean isKnownEndpoint(String endpoint) {
+        return endpoints.containsKey(endpoint);
+    }
+
+    private Decision reject(EndpointState state, String reason, double overload) {
+        // Roughly the time for the backlog ahead of a retry to drain
+        long estimateNanos = (long) (state.latencyEwmaNanos.get() * Math.max(1, overload));
+        long seconds = Math.max(minRetryAfter.toSeconds(),
+                Math.min(maxRetryAfter.toSeconds(), (long) Math.ceil(estimateNanos / 1e9)));
+        return Decision.builder()
+                .admitted(false)
+                .reason(reason)
+                .retryAfterSeconds(seconds)
+                .build();
+    }
+
+    private EndpointState state(String endpoint) {
+        EndpointState state = endpoints.get(endpoint);
+        if (state == null) {
+            throw new IllegalArgumentException("Unknown admission endpoint: " + endpoint);
+        }
+        return state;
+    }
+
+    private void register(String endpoint, int maxInFlight) {
+        EndpointState state = new EndpointState(maxInFlight,
+                decisions(endpoint, "admitted", "none"),
+                decisions(endpoint, "rejected", "in-flight"),
+                decisions(endpoint, "rejected", "queue-depth"),
+                decisions(endpoint, "rejected", REASON_SHUTTING_DOWN));
+        Gauge.builder("orchestrator.admission.in-flight", state.inFlight, AtomicInteger::get)
+                .description("Webhook pipelines admitted and not yet finished")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.admission.limit", state, s -> s.maxInFlight)
+                .description("Current in-flight limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        endpoints.put(endpoint, state);
+    }
+
+    private Counter decisions(String endpoint, String decision, String reason) {
+        return Counter.builder("orchestrator.admission.decisions")
+                .description("Admission decisions for webhook requests")
+                .tag("endpoint", endpoint)
+                .tag("decision", decision)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class EndpointState {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong latencyEwmaNanos = new AtomicLong();
+        private final Counter admitted;
+        private final Counter rejectedInFlight;
+        private final Counter rejectedQueueDepth;
+        private final Counter rejectedShuttingDown;
+        private volatile int maxInFlight;
+
+        private EndpointState(int maxInFlight, Counter admitted, Counter rejectedInFlight,
+                              Counter rejectedQueueDepth, Counter rejectedShuttingDown) {
+            this.maxInFlight = maxInFlight;
+            this.admitted = admitted;
+            this.rejectedInFlight = rejectedInFlight;
+            this.rejectedQueueDepth = rejectedQueueDepth;
+            this.rejectedShuttingDown = rejectedShuttingDown;
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class Decision {
+        private final boolean admitted;
+        private final String reason;
+        private final long retryAfterSeconds;
+    }
+
+    @Getter
+    @Builder
+    public static class EndpointStatus {
+        private final int maxInFlight;
+        private final int inFlight;
+        private final long latencyEwmaMillis;
+        private final long admitted;
+        private final long rejectedInFlight;
+        private final long rejectedQueueDepth;
+    }
+}
@@ -0,0 +1,134 @@
+package io.applova.orchestrator.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.exception.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Applies {@link AdmissionControl} to the Zoho and Jira webhook endpoints, answering
+ * rejected deliveries with {@code 429 Too Many Requests}, or {@code 503 Service Unavailable}
+ * once the application is shutting down, and a {@code Retry-After} header so the sender
+ * redelivers later.
+ * <p>
+ * A permit is held until the pipeline finishes: for the reactive Zoho endpoint that is when
+ * the async request completes, not when the controller method returns.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Map<String, String> ENDPOINTS = Map.of(
+            "/api/zoho/webhook", AdmissionControl.ZOHO,
+            "/api/zoho/webhook/batch", AdmissionControl.ZOHO_BATCH,
+            "/api/jira-webhook", AdmissionControl.JIRA,
+            "/api/jira-webhook/replay", AdmissionControl.JIRA_REPLAY);
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl, ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = endpoint(request);
+        AdmissionControl.Decision decision = admissionControl.tryAdmit(endpoint);
+        if (!decision.isAdmitted()) {
+            log.debug("Rejected {} webhook ({}), retry after {}s", endpoint, decision.getReason(), decision.getRetryAfterSeconds());
+            reject(response, decision);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean released = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(endpoint, start));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                admissionControl.release(endpoint, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdmissionControl.Decision decision) throws IOException {
+        boolean shuttingDown = AdmissionControl.REASON_SHUTTING_DOWN.equals(decision.getReason());
+        HttpStatus status = shuttingDown ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(shuttingDown ? "Shutting down, retry later" : "Webhook capacity exceeded, retry later")
+                .details(Map.of("reason", decision.getReason()))
+                .build();
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        return ENDPOINTS.get(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+        private final String endpoint;
+        private final long start;
+
+        private ReleaseOnComplete(String endpoint, long start) {
+            this.endpoint = endpoint;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Also called after a timeout or error once the request is completed
+            admissionControl.release(endpoint, System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
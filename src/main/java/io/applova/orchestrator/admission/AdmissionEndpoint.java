@@ -0,0 +1,58 @@
+package io.applova.orchestrator.admission;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for inspecting and adjusting admission limits at runtime.
+ * <ul>
+ *     <li>{@code GET /actuator/admission}: limits, load and counters per webhook endpoint</li>
+ *     <li>{@code POST /actuator/admission/{endpoint}} with {@code {"maxInFlight": n}}</li>
+ *     <li>{@code POST /actuator/admission} with {@code {"maxQueueDepth": n}}</li>
+ * </ul>
+ * Changes are not persisted and revert to the configured values on restart. Not exposed over
+ * HTTP unless added to {@code management.endpoints.web.exposure.include}, which should go with a
+ * {@code management.server.port} reachable only from inside the deployment.
+ */
+@Component
+@Endpoint(id = "admission")
+public class AdmissionEndpoint {
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionEndpoint(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("maxQueueDepth", admissionControl.getMaxQueueDepth());
+        status.put("endpoints", admissionControl.status());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> updateQueueDepth(int maxQueueDepth) {
+        admissionControl.setMaxQueueDepth(maxQueueDepth);
+        return status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> updateEndpoint(@Selector String endpoint, @Nullable Integer maxInFlight) {
+        if (!admissionControl.isKnownEndpoint(endpoint)) {
+            return null;
+        }
+        if (maxInFlight != null) {
+            admissionControl.setMaxInFlight(endpoint, maxInFlight);
+        }
+        return status();
+    }
+}
@@ -0,0 +1,140 @@
+package io.applova.orchestrator.bulkhead;
+
+import io.applova.orchestrator.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed number of threads with a bounded queue for one kind of blocking work, so that a slow
+ * or hung dependency only holds up the work waiting for it.
+ * <p>
+ * Work submitted while every thread is busy waits in the queue. Work that finds the queue full
+ * fails with a {@link BulkheadFullException}, either at once ({@link RejectionPolicy#FAIL}) or
+ * once the queue has had no room for the bulkhead's max wait ({@link RejectionPolicy#WAIT}).
+ * Idle threads stop after a minute.
+ */
+@Slf4j
+public final class Bulkhead {
+
+    /** What happens to work that finds the queue full. */
+    public enum RejectionPolicy {
+        /** Fail at once. */
+        FAIL,
+        /** Retry until there is room, failing after the max wait. */
+        WAIT
+    }
+
+    private static final Duration KEEP_ALIVE = Duration.ofMinutes(1);
+    private static final Duration RETRY_DELAY = Duration.ofMillis(10);
+
+    private final String name;
+    private final RejectionPolicy policy;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final Counter rejected;
+
+    Bulkhead(String name, int threads, int queueCapacity, String policy, Duration maxWait, MeterRegistry meterRegistry) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs positive threads and queue-capacity");
+        }
+        this.name = name;
+        this.policy = RejectionPolicy.valueOf(policy.trim().toUpperCase(Locale.ROOT));
+        this.maxWait = maxWait;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulkhead-" + name + "-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+                (task, executor) -> {
+                    throw new BulkheadFullException("Bulkhead " + name + " is full: " + threads
+                            + " threads busy and " + queueCapacity + " tasks queued");
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.scheduler = Schedulers.fromExecutorService(executor, "bulkhead-" + name);
+
+        Gauge.builder("orchestrator.bulkhead.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Tasks waiting for a bulkhead thread")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.bulkhead.utilization", executor, pool -> (double) pool.getActiveCount() / threads)
+                .description("Fraction of a bulkhead's threads running a task")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orchestrator.bulkhead.rejected")
+                .description("Tasks rejected because their bulkhead's queue was full")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The bulkhead's threads as a scheduler, for {@code subscribeOn}. Work rejected through
+     * it fails without the rejection policy; prefer {@link #call} and {@link #run}.
+     */
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @param task blocking work
+     * @return the task's result, computed on a bulkhead thread when subscribed
+     */
+    public <T> Mono<T> call(Callable<T> task) {
+        Mono<T> submission = Mono.fromCallable(task)
+                .subscribeOn(scheduler)
+                // Reactor reports the rejection as a generic one caused by ours
+                .onErrorMap(ex -> ex.getCause() instanceof BulkheadFullException, Throwable::getCause);
+        Mono<T> call = policy == RejectionPolicy.WAIT
+                ? Mono.defer(() -> {
+                    long deadline = System.nanoTime() + maxWait.toNanos();
+                    return submission.retryWhen(Retry.fixedDelay(Long.MAX_VALUE, RETRY_DELAY)
+                            .filter(ex -> ex instanceof BulkheadFullException && System.nanoTime() < deadline));
+                })
+                : submission;
+        return call.doOnError(BulkheadFullException.class, ex -> rejected.increment());
+    }
+
+    /**
+     * @param task blocking work
+     * @return completes once the task ran on a bulkhead thread, when subscribed
+     */
+    public Mono<Void> run(Runnable task) {
+        return call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a task on a bulkhead thread without waiting for it. Failures, including rejection,
+     * are logged.
+     */
+    public void execute(Runnable task) {
+        run(task).subscribe(null, ex -> log.error("Task on bulkhead {} failed: {}", name, ex.getMessage()));
+    }
+
+    /**
+     * @return the number of tasks waiting for a thread
+     */
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    void dispose() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,63 @@
+package io.applova.orchestrator.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The {@link Bulkhead}s blocking work runs on, one per dependency: {@code jpa} for the
+ * database through JPA and JDBC, {@code smtp} for sending mail and {@code imap} for commands
+ * on the inbound mailbox. Each is sized, bounded and rejects work independently under
+ * {@code app.bulkhead.<name>}.
+ */
+@Component
+public class Bulkheads implements DisposableBean {
+
+    private final Bulkhead jpa;
+    private final Bulkhead smtp;
+    private final Bulkhead imap;
+
+    public Bulkheads(
+        MeterRegistry meterRegistry,
+        @Value("${app.bulkhead.jpa.threads:10}") int jpaThreads,
+        @Value("${app.bulkhead.jpa.queue-capacity:512}") int jpaQueueCapacity,
+        @Value("${app.bulkhead.jpa.rejection-policy:wait}") String jpaRejectionPolicy,
+        @Value("${app.bulkhead.jpa.max-wait:PT1S}") Duration jpaMaxWait,
+        @Value("${app.bulkhead.smtp.threads:8}") int smtpThreads,
+        @Value("${app.bulkhead.smtp.queue-capacity:256}") int smtpQueueCapacity,
+        @Value("${app.bulkhead.smtp.rejection-policy:fail}") String smtpRejectionPolicy,
+        @Value("${app.bulkhead.smtp.max-wait:PT0S}") Duration smtpMaxWait,
+        @Value("${app.bulkhead.imap.threads:1}") int imapThreads,
+        @Value("${app.bulkhead.imap.queue-capacity:256}") int imapQueueCapacity,
+        @Value("${app.bulkhead.imap.rejection-policy:wait}") String imapRejectionPolicy,
+        @Value("${app.bulkhead.imap.max-wait:PT30S}") Duration imapMaxWait
+    ) {
+        this.jpa = new Bulkhead("jpa", jpaThreads, jpaQueueCapacity, jpaRejectionPolicy, jpaMaxWait, meterRegistry);
+        this.smtp = new Bulkhead("smtp", smtpThreads, smtpQueueCapacity, smtpRejectionPolicy, smtpMaxWait, meterRegistry);
+        this.imap = new Bulkhead("imap", imapThreads, imapQueueCapacity, imapRejectionPolicy, imapMaxWait, meterRegistry);
+    }
+
+    /** Database work through JPA repositories and JDBC. */
+    public Bulkhead jpa() {
+        return jpa;
+    }
+
+    /** Sending mail, with whatever database work belongs to it. */
+    public Bulkhead smtp() {
+        return smtp;
+    }
+
+    /** Commands on the inbound mailbox outside its listener thread. */
+    public Bulkhead imap() {
+        return imap;
+    }
+
+    @Override
+    public void destroy() {
+        List.of(jpa, smtp, imap).forEach(Bulkhead::dispose);
+    }
+}
@@ -0,0 +1,153 @@
+package io.applova.orchestrator.cache;
+
+import io.applova.orchestrator.model.TicketMapping;
+import io.applova.orchestrator.notification.DatabaseNotifications;
+import io.applova.orchestrator.notification.NotificationHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Local cache of ticket mappings by Jira key, kept consistent across instances by the
+ * {@link DatabaseNotifications#TICKET_MAPPINGS} notifications that every update or delete
+ * publishes.
+ * <p>
+ * The cache is only used while notifications are being received; it is cleared whenever
+ * listening stops or restarts, since changes in between went unseen. Only mappings that exist
+ * are cached, so new mappings need no notification. A lookup that races with an invalidation
+ * is not cached. Entries expire after {@code app.cache.ticket-mappings.ttl} regardless, and the
+ * least recently used are evicted beyond {@code app.cache.ticket-mappings.max-size}. Callers
+ * receive copies and may modify them freely.
+ */
+@Component
+public class TicketMappingCache implements NotificationHandler {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private volatile boolean active;
+    /** Incremented by every invalidation; lookups that saw it change are not cached. */
+    private long generation;
+
+    public TicketMappingCache(
+        DatabaseNotifications notifications,
+        MeterRegistry meterRegistry,
+        @Value("${app.cache.ticket-mappings.enabled:true}") boolean enabled,
+        @Value("${app.cache.ticket-mappings.max-size:10000}") int maxSize,
+        @Value("${app.cache.ticket-mappings.ttl:PT10M}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.invalidations = counter(meterRegistry, "invalidation");
+        if (enabled) {
+            notifications.subscribe(DatabaseNotifications.TICKET_MAPPINGS, this);
+        }
+    }
+
+    /**
+     * Look up a mapping, loading it on a miss.
+     *
+     * @param jiraKey the Jira key
+     * @param loader  loads the mapping from the database; subscribed to on a miss only
+     * @return a copy of the mapping, or the loader's result on a miss
+     */
+    public Mono<TicketMapping> get(String jiraKey, Mono<TicketMapping> loader) {
+        return Mono.defer(() -> {
+            if (!active) {
+                return loader;
+            }
+            long loadGeneration;
+            synchronized (this) {
+                Entry entry = entries.get(jiraKey);
+                if (entry != null && System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return Mono.just(copy(entry.mapping));
+                }
+                loadGeneration = generation;
+            }
+            misses.increment();
+            return loader.doOnNext(mapping -> put(jiraKey, mapping, loadGeneration));
+        });
+    }
+
+    private synchronized void put(String jiraKey, TicketMapping mapping, long loadGeneration) {
+        if (active && generation == loadGeneration) {
+            entries.put(jiraKey, new Entry(copy(mapping), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Drop the mapping for a Jira key, e.g. after this instance changed it. Other instances
+     * drop it on the notification.
+     *
+     * @param jiraKey the Jira key
+     */
+    public synchronized void invalidate(String jiraKey) {
+        generation++;
+        if (entries.remove(jiraKey) != null) {
+            invalidations.increment();
+        }
+    }
+
+    @Override
+    public void onNotification(String jiraKey) {
+        invalidate(jiraKey);
+    }
+
+    @Override
+    public void onListening() {
+        clear();
+        active = enabled;
+    }
+
+    @Override
+    public void onListeningStopped() {
+        active = false;
+        clear();
+    }
+
+    private synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    private static TicketMapping copy(TicketMapping mapping) {
+        return TicketMapping.builder()
+                .id(mapping.getId())
+                .zohoRecordId(mapping.getZohoRecordId())
+                .jiraKey(mapping.getJiraKey())
+                .emailMessageId(mapping.getEmailMessageId())
+                .initialSubject(mapping.getInitialSubject())
+                .status(mapping.getStatus())
+                .createdAt(mapping.getCreatedAt())
+                .statusUpdatedAt(mapping.getStatusUpdatedAt())
+                .build();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("orchestrator.cache.ticket-mappings")
+                .description("Ticket mapping cache lookups and invalidations")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(TicketMapping mapping, long loadedAt) {
+    }
+}
@@ -11,19 +11,31 @@ import java.util.Properties;
 @Configuration
 public class EmailConfig {
 
+    @Value("${spring.mail.host:smtp.gmail.com}")
+    private String host;
+
+    @Value("${spring.mail.port:587}")
+    private int port;
+
     @Value("${spring.mail.username}")
     private String username;
 
     @Value("${spring.mail.password}")
     private String password;
 
+    @Value("${app.mail.smtp.starttls:true}")
+    private boolean startTls;
+
+    @Value("${app.mail.debug:false}")
+    private boolean mailDebug;
+
     @Bean
     public JavaMailSender javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         
-        // Google SMTP Server Configuration
-        mailSender.setHost("smtp.gmail.com");
-        mailSender.setPort(587); // TLS port
+        // SMTP server, Google's TLS port by default
+        mailSender.setHost(host);
+        mailSender.setPort(port);
         
         mailSender.setUsername(username);
         mailSender.setPassword(password);
@@ -31,8 +43,8 @@ public class EmailConfig {
         Properties props = mailSender.getJavaMailProperties();
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.debug", "true"); // Set to false in production
+        props.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        props.put("mail.debug", String.valueOf(mailDebug)); // Protocol traces, for troubleshooting only
         
         return mailSender;
     }
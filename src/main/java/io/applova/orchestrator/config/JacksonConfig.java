@@ -0,0 +1,26 @@
+package io.applova.orchestrator.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson modules, registered with Spring Boot's {@code ObjectMapper} and through it with the
+ * WebClient and MVC codecs.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter, setter and constructor calls with generated lambdas, which
+     * the JIT can inline. It cannot generate classes in a native image, so turn it off there
+     * with {@code app.jackson.blackbird.enabled=false}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.jackson.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,48 @@
+package io.applova.orchestrator.config;
+
+import io.applova.orchestrator.admission.AdmissionControl;
+import io.applova.orchestrator.exception.ErrorResponse;
+import io.applova.orchestrator.model.dto.GptChatCompletion;
+import io.applova.orchestrator.model.dto.JiraCreatedIssue;
+import io.applova.orchestrator.model.dto.JiraSearchResponse;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.routing.RoutingRule;
+import io.applova.orchestrator.routing.RoutingRuleSet;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints for a native image.
+ * <p>
+ * Types bound by controllers are registered by Spring AOT automatically; these are the ones
+ * serialized with the {@code ObjectMapper} directly: checkpointed and queued webhooks, error bodies
+ * written by the admission filter, the admission endpoint's status, the Jira and GPT
+ * responses decoded by the WebClients, and the routing rules file.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.OrchestratorRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class OrchestratorRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : new Class<?>[] {
+                    ZohoWebhookPayload.class, JiraWebhookDetails.class, ErrorResponse.class, AdmissionControl.EndpointStatus.class,
+                    JiraCreatedIssue.class, JiraSearchResponse.class, JiraSearchResponse.Issue.class,
+                    JiraSearchResponse.Fields.class, JiraSearchResponse.Status.class,
+                    GptChatCompletion.class, GptChatCompletion.Choice.class, GptChatCompletion.Message.class,
+                    RoutingRuleSet.class, RoutingRule.class}) {
+                hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("routing-rules.json");
+        }
+    }
+}
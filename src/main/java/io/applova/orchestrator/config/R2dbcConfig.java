@@ -0,0 +1,76 @@
+package io.applova.orchestrator.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Reactive database access used when {@code app.ticket.store=r2dbc}.
+ * <p>
+ * The connection pool is deliberately not exposed as a {@code ConnectionFactory} bean:
+ * Spring Boot backs off from creating the JDBC DataSource when one is present, and the
+ * JPA repositories still need it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.ticket.store", havingValue = "r2dbc")
+public class R2dbcConfig {
+
+    @Value("${app.r2dbc.url}")
+    private String url;
+
+    @Value("${app.r2dbc.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${app.r2dbc.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${app.r2dbc.pool.initial-size:5}")
+    private int initialSize;
+
+    @Value("${app.r2dbc.pool.max-size:20}")
+    private int maxSize;
+
+    @Value("${app.r2dbc.pool.max-idle-time:PT30M}")
+    private Duration maxIdleTime;
+
+    @Value("${app.r2dbc.pool.max-acquire-time:PT5S}")
+    private Duration maxAcquireTime;
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient ticketDatabaseClient() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .name("ticket-r2dbc-pool")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .maxAcquireTime(maxAcquireTime)
+                .build();
+
+        this.connectionPool = new ConnectionPool(poolConfiguration);
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
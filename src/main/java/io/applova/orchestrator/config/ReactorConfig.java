@@ -0,0 +1,26 @@
+package io.applova.orchestrator.config;
+
+import io.applova.orchestrator.observability.CorrelationIdFilter;
+import io.micrometer.context.ContextRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Hooks;
+
+@Configuration
+public class ReactorConfig {
+
+    /**
+     * Restore thread-local logging context (the correlation ID in the MDC) on whichever
+     * thread a Reactor operator runs, so that log events from scheduler hops stay correlated.
+     */
+    @PostConstruct
+    public void enableContextPropagation() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(
+                CorrelationIdFilter.MDC_KEY,
+                () -> MDC.get(CorrelationIdFilter.MDC_KEY),
+                value -> MDC.put(CorrelationIdFilter.MDC_KEY, value),
+                () -> MDC.remove(CorrelationIdFilter.MDC_KEY));
+        Hooks.enableAutomaticContextPropagation();
+    }
+}
@@ -0,0 +1,28 @@
+package io.applova.orchestrator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.observability.FileSpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Local span exporter, registered alongside OTLP when {@code app.tracing.file-exporter.path}
+     * is set. Spring Boot feeds every SpanExporter bean into the batch span processor.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.file-exporter.path")
+    public FileSpanExporter fileSpanExporter(
+            @Value("${app.tracing.file-exporter.path}") Path path,
+            ObjectMapper objectMapper
+    ) throws IOException {
+        return new FileSpanExporter(path, objectMapper);
+    }
+}
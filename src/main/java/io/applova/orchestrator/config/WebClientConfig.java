@@ -3,6 +3,7 @@ package io.applova.orchestrator.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.Base64;
@@ -25,25 +26,38 @@ public class WebClientConfig {
     @Value("${api.gpt.api-key}")
     private String gptApiKey;
 
+    // Upper bounds on a single decoded response body; larger responses fail instead of
+    // being buffered in full
+    @Value("${app.http.jira.max-in-memory-size:1MB}")
+    private DataSize jiraMaxInMemorySize;
+
+    @Value("${app.http.gpt.max-in-memory-size:512KB}")
+    private DataSize gptMaxInMemorySize;
+
+    // Clients are built from Spring Boot's WebClient.Builder so that every exchange is
+    // observed (http.client.requests metrics, tagged with the client host)
+
     @Bean
-    public WebClient jiraWebClient() {
+    public WebClient jiraWebClient(WebClient.Builder webClientBuilder) {
         // Create Basic Auth header
         String credentials = jiraUsername + ":" + jiraApiToken;
         String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
 
-        return WebClient.builder()
+        return webClientBuilder
                 .baseUrl(jiraBaseUrl)
                 .defaultHeader("Authorization", "Basic " + encodedCredentials)
                 .defaultHeader("Content-Type", "application/json")
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) jiraMaxInMemorySize.toBytes()))
                 .build();
     }
 
     @Bean
-    public WebClient gptWebClient() {
-        return WebClient.builder()
+    public WebClient gptWebClient(WebClient.Builder webClientBuilder) {
+        return webClientBuilder
                 .baseUrl(gptBaseUrl)
                 .defaultHeader("Authorization", "Bearer " + gptApiKey)
                 .defaultHeader("Content-Type", "application/json")
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) gptMaxInMemorySize.toBytes()))
                 .build();
     }
 }
@@ -1,32 +1,49 @@
 package io.applova.orchestrator.config;
 
+import io.applova.orchestrator.observability.PayloadLogSampler;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class WebConfig {
 
+    /**
+     * Request summaries, logged at DEBUG by the filter's own logger. Payload capture wraps
+     * every request in a caching buffer whether or not DEBUG is enabled, so it is opt-in.
+     */
     @Bean
-    public CommonsRequestLoggingFilter requestLoggingFilter() {
+    public CommonsRequestLoggingFilter requestLoggingFilter(
+            PayloadLogSampler payloadLogSampler,
+            @Value("${app.logging.request.include-payload:false}") boolean includePayload,
+            @Value("${app.logging.payload.max-length:2048}") int maxPayloadLength
+    ) {
         CommonsRequestLoggingFilter loggingFilter = new CommonsRequestLoggingFilter();
         loggingFilter.setIncludeClientInfo(true);
         loggingFilter.setIncludeQueryString(true);
-        loggingFilter.setIncludePayload(true);
-        loggingFilter.setMaxPayloadLength(10000);
+        loggingFilter.setIncludePayload(includePayload);
+        loggingFilter.setMaxPayloadLength(maxPayloadLength);
         loggingFilter.setIncludeHeaders(true);
+        loggingFilter.setHeaderPredicate(headerName -> !payloadLogSampler.isRedacted(headerName));
         loggingFilter.setAfterMessagePrefix("REQUEST DATA: ");
         return loggingFilter;
     }
 
     @Bean
     @Qualifier("knowledgeBaseWebClient")
-    public WebClient knowledgeBaseWebClient(@Value("${knowledgebase.url}") String knowledgeBaseUrl) {
-        return WebClient.builder()
+    public WebClient knowledgeBaseWebClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${knowledgebase.url}") String knowledgeBaseUrl,
+            @Value("${app.http.kb.max-in-memory-size:256KB}") DataSize maxInMemorySize
+    ) {
+        // The search result goes into the GPT prompt whole, so it is bounded like a prompt
+        return webClientBuilder
             .baseUrl(knowledgeBaseUrl)
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
             .build();
     }
 }
@@ -1,16 +1,19 @@
 package io.applova.orchestrator.controller;
 
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.exception.PipelineSuspendedException;
+import io.applova.orchestrator.model.dto.ZohoBatchResponse;
 import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
-import io.applova.orchestrator.model.enums.TicketTag;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.queue.WebhookJobQueue;
 import io.applova.orchestrator.service.JiraService;
-import io.applova.orchestrator.service.KnowledgeBaseService;
-import io.applova.orchestrator.service.TicketService;
-import io.applova.orchestrator.service.EmailService;
+import io.applova.orchestrator.service.ZohoTicketPipeline;
+import io.applova.orchestrator.service.ZohoWebhookBatchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -20,20 +23,26 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
-@Lazy
 public class ZohoWebhookController {
 
     private final JiraService jiraService;
-    private final EmailService emailService;
-    private final KnowledgeBaseService knowledgeBaseService;
-    private final TicketService ticketService;
+    private final ZohoTicketPipeline ticketPipeline;
+    private final PipelineObservations observations;
+    private final ZohoWebhookBatchService batchService;
+    private final WebhookJobQueue jobQueue;
+    private final Bulkheads bulkheads;
 
     @Value("${zoho.webhook.secret}")
     private String zohoWebhookSecret;
 
+    @Value("${app.zoho.batch.max-size:500}")
+    private int maxBatchSize;
+
     @PostMapping("/api/zoho/webhook")
     public Mono<ResponseEntity<String>> handleZohoWebhook(
             @RequestHeader("X-Zoho-Secret") String receivedSecret,
@@ -44,94 +53,51 @@ public class ZohoWebhookController {
             return Mono.error(new SecurityException("Invalid Zoho webhook secret"));
         }
 
+        if (jobQueue.isEnabled()) {
+            // Processed by whichever instance claims the job
+            return bulkheads.jpa().call(() -> jobQueue.enqueue(payload))
+                .map(job -> ResponseEntity.accepted().body("Webhook queued"));
+        }
+
         // Process webhook based on tag
-        return processWebhookByTag(payload)
+        return observations.pipeline("zoho", ticketPipeline.process(payload))
             .thenReturn(ResponseEntity.ok("Webhook processed successfully"))
+            // Checkpointed by shutdown and resumed at next startup, so Zoho must not redeliver
+            .onErrorResume(PipelineSuspendedException.class,
+                ex -> Mono.just(ResponseEntity.accepted().body("Webhook accepted, processing will resume")))
             .onErrorResume(ex -> {
                 log.error("Zoho webhook processing error", ex);
                 return Mono.just(ResponseEntity.badRequest().body("Webhook processing failed"));
-            });
-    }
-
-    private Mono<Void> processWebhookByTag(ZohoWebhookPayload payload) {
-        // Check if a ticket for this Zoho record already exists
-        return ticketService.findByZohoRecordId(payload.getZohoTicketNumber())
-            .flatMap(existingMapping -> {
-                // If a ticket already exists, log and return without creating a new one
-                log.warn("Ticket for Zoho record {} already exists with Jira key {}", 
-                    payload.getZohoTicketNumber(), existingMapping.getJiraKey());
-                return Mono.empty();
             })
-            .switchIfEmpty(Mono.defer(() -> {
-                // Determine ticket type based on issue type and severity
-                String issueType = payload.getIssueType();
-                String issueSeverity = payload.getIssueSeverity();
-
-                // Determine ticket tag based on issue type and severity
-                TicketTag tag = determineTicketTag(issueType, issueSeverity);
-
-                switch (tag) {
-                    case FEATURE:
-                    case CLARIFICATION:
-                        return processIntelligentTicket(payload);
-                    case SUPPORT:
-                    case BUG:
-                        return processStandardTicket(payload);
-                    default:
-                        log.warn("Received webhook with unknown tag: {}", tag);
-                        return Mono.empty();
-                }
-            }))
-            .then(); // Ensure the method returns Mono<Void>
+            // Carry the request's correlation ID into the Reactor context for scheduler hops
+            .contextCapture();
     }
 
-    private TicketTag determineTicketTag(String issueType, String issueSeverity) {
-        if (issueType == null || issueSeverity == null) {
-            return TicketTag.UNKNOWN;
+    /**
+     * Batch variant of the Zoho webhook for workflow rules firing on bulk record updates.
+     * Items are validated individually, so one bad item does not fail the batch; the response
+     * carries a result per item in delivery order.
+     *
+     * @param receivedSecret the shared webhook secret
+     * @param payloads       the tickets, at most {@code app.zoho.batch.max-size}
+     * @return ResponseEntity with the per-item results
+     */
+    @PostMapping("/api/zoho/webhook/batch")
+    public Mono<ResponseEntity<ZohoBatchResponse>> handleZohoWebhookBatch(
+            @RequestHeader("X-Zoho-Secret") String receivedSecret,
+            @RequestBody List<ZohoWebhookPayload> payloads
+    ) {
+        if (!zohoWebhookSecret.equals(receivedSecret)) {
+            return Mono.error(new SecurityException("Invalid Zoho webhook secret"));
         }
-
-        switch (issueType.toLowerCase()) {
-            case "feature":
-                return TicketTag.FEATURE;
-            case "bug":
-                return issueSeverity.equalsIgnoreCase("high") ? TicketTag.BUG : TicketTag.SUPPORT;
-            case "clarification":
-                return TicketTag.CLARIFICATION;
-            default:
-                return TicketTag.UNKNOWN;
+        if (payloads.isEmpty() || payloads.size() > maxBatchSize) {
+            log.warn("Rejected Zoho batch of {} items (limit {})", payloads.size(), maxBatchSize);
+            return Mono.just(ResponseEntity.status(payloads.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.PAYLOAD_TOO_LARGE).build());
         }
-    }
 
-    private Mono<Void> processIntelligentTicket(ZohoWebhookPayload payload) {
-        return knowledgeBaseService.queryGpt(payload.getIssueTitle(), payload.getIssueDescription())
-            .flatMap(gptResponse -> 
-                emailService.sendAutoReply(payload, gptResponse)
-                    .flatMap(emailMessageId -> 
-                        jiraService.createTicket(payload)
-                            .flatMap(jiraKey -> 
-                                ticketService.saveMapping(
-                                    payload.getZohoTicketNumber(), 
-                                    jiraKey, 
-                                    emailMessageId, 
-                                    payload.getIssueTitle()
-                                )
-                            )
-                    )
-            )
-            .then();
-    }
-
-    private Mono<Void> processStandardTicket(ZohoWebhookPayload payload) {
-        return jiraService.createTicket(payload)
-            .flatMap(jiraKey -> 
-                ticketService.saveMapping(
-                    payload.getZohoTicketNumber(), 
-                    jiraKey, 
-                    null, 
-                    payload.getIssueTitle()
-                )
-            )
-            .then();
+        return batchService.process(payloads)
+            .map(ResponseEntity::ok)
+            .contextCapture();
     }
 
     /**
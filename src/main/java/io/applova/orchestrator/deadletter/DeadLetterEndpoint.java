@@ -0,0 +1,102 @@
+package io.applova.orchestrator.deadletter;
+
+import io.applova.orchestrator.model.enums.WebhookJobType;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for inspecting and replaying dead letters.
+ * <ul>
+ *     <li>{@code GET /actuator/deadletters}: entries per type, failed stage and status, and the
+ *     running or last replay on this instance</li>
+ *     <li>{@code POST /actuator/deadletters} with any of {@code {"type": "zoho", "stage":
+ *     "jira.create-ticket", "from": "2024-10-21T00:00:00Z", "to": "...", "limit": n,
+ *     "concurrency": n, "rate": perSecond}}: start replaying the matching entries</li>
+ *     <li>{@code DELETE /actuator/deadletters}: stop the running replay after the entries
+ *     already started</li>
+ * </ul>
+ * Not exposed over HTTP unless added to {@code management.endpoints.web.exposure.include}, as
+ * for the admission endpoint.
+ */
+@Component
+@Endpoint(id = "deadletters")
+public class DeadLetterEndpoint {
+
+    private final DeadLetterStore store;
+    private final DeadLetterReplayer replayer;
+
+    public DeadLetterEndpoint(DeadLetterStore store, DeadLetterReplayer replayer) {
+        this.store = store;
+        this.replayer = replayer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Object[] row : store.summarize()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("type", row[0]);
+            entry.put("stage", row[1]);
+            entry.put("status", row[2]);
+            entry.put("count", row[3]);
+            entry.put("oldest", row[4]);
+            entries.add(entry);
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("entries", entries);
+        status.put("replay", replayer.status());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> replay(@Nullable String type, @Nullable String stage, @Nullable String from,
+                                      @Nullable String to, @Nullable Integer limit, @Nullable Integer concurrency,
+                                      @Nullable Double rate) {
+        DeadLetterFilter filter = new DeadLetterFilter(parseType(type), stage, parseTime("from", from), parseTime("to", to));
+        try {
+            return replayer.start(filter, limit, concurrency, rate);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> cancel() {
+        return replayer.cancel();
+    }
+
+    private static WebhookJobType parseType(String type) {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return WebhookJobType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException("Unknown type: " + type, "Unknown type");
+        }
+    }
+
+    private static Instant parseTime(String name, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidEndpointRequestException(name + " must be an ISO-8601 instant", "Invalid " + name);
+        }
+    }
+}
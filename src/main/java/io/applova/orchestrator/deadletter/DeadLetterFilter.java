@@ -0,0 +1,16 @@
+package io.applova.orchestrator.deadletter;
+
+import io.applova.orchestrator.model.enums.WebhookJobType;
+
+import java.time.Instant;
+
+/**
+ * Selects the dead letters to replay. Null fields match any entry.
+ *
+ * @param type  the webhook type
+ * @param stage the stage that failed
+ * @param from  the earliest failure time, inclusive
+ * @param to    the latest failure time, exclusive
+ */
+public record DeadLetterFilter(WebhookJobType type, String stage, Instant from, Instant to) {
+}
@@ -0,0 +1,285 @@
+package io.applova.orchestrator.deadletter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.applova.orchestrator.admission.AdmissionControl;
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.exception.PipelineSuspendedException;
+import io.applova.orchestrator.exception.TicketMappingNotFoundException;
+import io.applova.orchestrator.model.DeadLetter;
+import io.applova.orchestrator.model.WebhookJob;
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import io.applova.orchestrator.model.enums.WebhookJobType;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.queue.WebhookJobQueue;
+import io.applova.orchestrator.service.JiraWebhookService;
+import io.applova.orchestrator.service.ZohoTicketPipeline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays dead letters in bulk, in the background, one replay at a time per instance.
+ * <p>
+ * Entries matching the replay's filter are claimed oldest first, a few at a time, and started
+ * at no more than the requested rate, with no more than the requested concurrency running.
+ * Zoho pipelines resume after the last step they completed. With {@code app.queue.enabled},
+ * entries are queued as webhook jobs instead, Zoho ones at the step they reached. Entries
+ * replayed or queued successfully are deleted; the others return to pending with the new
+ * error. Claims are row locks skipping rows locked by others, so replays on several instances
+ * never take the same entry. Entries claimed by a replay that never finished, e.g. on an
+ * instance that stopped, are returned to pending when a replay starts, once
+ * {@code app.deadletter.replay-timeout} has passed. A replay stops claiming when the
+ * application starts shutting down.
+ */
+@Slf4j
+@Component
+public class DeadLetterReplayer implements DisposableBean {
+
+    private final DeadLetterStore store;
+    private final ZohoTicketPipeline ticketPipeline;
+    private final JiraWebhookService jiraWebhookService;
+    private final PipelineObservations observations;
+    private final AdmissionControl admissionControl;
+    private final WebhookJobQueue jobQueue;
+    private final MeterRegistry meterRegistry;
+    private final Bulkheads bulkheads;
+    private Replay current;
+
+    @Value("${app.deadletter.replay.limit:1000}")
+    private int defaultLimit;
+
+    @Value("${app.deadletter.replay.concurrency:4}")
+    private int defaultConcurrency;
+
+    @Value("${app.deadletter.replay.rate:5}")
+    private double defaultRate;
+
+    @Value("${app.deadletter.replay-timeout:PT30M}")
+    private Duration replayTimeout;
+
+    public DeadLetterReplayer(
+        DeadLetterStore store,
+        ZohoTicketPipeline ticketPipeline,
+        JiraWebhookService jiraWebhookService,
+        PipelineObservations observations,
+        AdmissionControl admissionControl,
+        WebhookJobQueue jobQueue,
+        MeterRegistry meterRegistry,
+        Bulkheads bulkheads
+    ) {
+        this.store = store;
+        this.ticketPipeline = ticketPipeline;
+        this.jiraWebhookService = jiraWebhookService;
+        this.observations = observations;
+        this.admissionControl = admissionControl;
+        this.jobQueue = jobQueue;
+        this.meterRegistry = meterRegistry;
+        this.bulkheads = bulkheads;
+    }
+
+    /**
+     * Start replaying the entries matching the filter.
+     *
+     * @param filter      the entries to replay
+     * @param limit       the most entries to replay, or null for {@code app.deadletter.replay.limit}
+     * @param concurrency the most replays running at once, or null for
+     *                    {@code app.deadletter.replay.concurrency}
+     * @param rate        the most replays started per second, or null for
+     *                    {@code app.deadletter.replay.rate}
+     * @return the replay's status
+     * @throws IllegalStateException if a replay is already running on this instance
+     */
+    public synchronized Map<String, Object> start(DeadLetterFilter filter, Integer limit, Integer concurrency, Double rate) {
+        if (current != null && current.finishedAt == null) {
+            throw new IllegalStateException("A replay is already running");
+        }
+        Replay replay = new Replay(filter,
+                limit != null ? limit : defaultLimit,
+                concurrency != null ? concurrency : defaultConcurrency,
+                rate != null ? rate : defaultRate);
+        if (replay.limit <= 0 || replay.concurrency <= 0 || replay.rate <= 0) {
+            throw new IllegalArgumentException("limit, concurrency and rate must be positive");
+        }
+        store.releaseStale(replayTimeout);
+        log.info("Replaying up to {} dead letters matching {}, {} at a time, at most {}/s",
+                replay.limit, filter, replay.concurrency, replay.rate);
+        current = replay;
+        replay.subscription = claim(replay)
+                .delayElements(Duration.ofNanos((long) (1_000_000_000L / replay.rate)))
+                .flatMap(entry -> replay(replay, entry), replay.concurrency)
+                .doFinally(replay::finish)
+                .subscribe(null, ex -> log.error("Dead-letter replay failed: {}", ex.getMessage()));
+        return replay.status();
+    }
+
+    /**
+     * Stop claiming entries for the running replay. Entries already started finish.
+     *
+     * @return the replay's status, or null if there is none
+     */
+    public synchronized Map<String, Object> cancel() {
+        if (current == null) {
+            return null;
+        }
+        current.cancelled = true;
+        return current.status();
+    }
+
+    /**
+     * @return the status of the running or last replay on this instance, or null if there is none
+     */
+    public synchronized Map<String, Object> status() {
+        return current != null ? current.status() : null;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (current != null && current.subscription != null) {
+            current.subscription.dispose();
+        }
+    }
+
+    private Flux<DeadLetter> claim(Replay replay) {
+        return bulkheads.jpa().call(() -> claimNext(replay))
+                .repeat()
+                .takeWhile(entries -> !entries.isEmpty())
+                .concatMapIterable(entries -> entries, 1);
+    }
+
+    private List<DeadLetter> claimNext(Replay replay) {
+        int remaining = replay.limit - replay.claimed.get();
+        if (replay.cancelled || remaining <= 0 || !admissionControl.isAdmitting()) {
+            return List.of();
+        }
+        // Claimed entries wait for their turn, so claim no more than can start soon
+        List<DeadLetter> entries = store.claim(replay.filter, Math.min(remaining, replay.concurrency));
+        replay.claimed.addAndGet(entries.size());
+        return entries;
+    }
+
+    private Mono<Void> replay(Replay replay, DeadLetter entry) {
+        if (jobQueue.isEnabled()) {
+            return bulkheads.jpa().call(() -> enqueue(entry))
+                    .then(finish(replay, entry, "queued", () -> store.replayed(entry)))
+                    .onErrorResume(ex -> {
+                        log.warn("Could not queue dead letter {} ({} {}): {}", entry.getId(), entry.getType(),
+                                entry.getIssueKey(), ex.getMessage());
+                        return finish(replay, entry, "failed", () -> store.release(entry, null, ex));
+                    });
+        }
+        ZohoPipelineProgress progress;
+        Mono<?> work;
+        try {
+            if (entry.getType() == WebhookJobType.ZOHO) {
+                progress = store.toProgress(entry);
+                work = observations.pipeline("zoho", ticketPipeline.resume(progress));
+            } else {
+                progress = null;
+                work = observations.pipeline("jira", jiraWebhookService.process(store.toDetails(entry)));
+            }
+        } catch (Exception e) {
+            log.error("Could not read dead letter {}: {}", entry.getId(), e.getMessage());
+            return finish(replay, entry, "failed", () -> store.release(entry, null, e));
+        }
+        return work
+                .then(finish(replay, entry, "replayed", () -> store.replayed(entry)))
+                .onErrorResume(PipelineSuspendedException.class,
+                        ex -> finish(replay, entry, "interrupted", () -> store.release(entry, progress, null)))
+                // Recorded before unmapped issues were skipped; no replay can apply them
+                .onErrorResume(TicketMappingNotFoundException.class,
+                        ex -> finish(replay, entry, "skipped", () -> store.replayed(entry)))
+                .onErrorResume(ex -> {
+                    log.warn("Replay of dead letter {} ({} {}) failed: {}", entry.getId(), entry.getType(),
+                            entry.getIssueKey(), ex.getMessage());
+                    return finish(replay, entry, "failed", () -> store.release(entry, progress, ex));
+                });
+    }
+
+    private WebhookJob enqueue(DeadLetter entry) throws JsonProcessingException {
+        return entry.getType() == WebhookJobType.ZOHO
+                ? jobQueue.enqueue(store.toProgress(entry))
+                : jobQueue.enqueue(store.toDetails(entry));
+    }
+
+    /**
+     * Record the outcome of one entry off the thread that completed it, which may be an event
+     * loop.
+     */
+    private Mono<Void> finish(Replay replay, DeadLetter entry, String outcome, Runnable record) {
+        return bulkheads.jpa().run(() -> {
+            try {
+                record.run();
+            } catch (Exception e) {
+                // Returned to pending once the replay timeout has passed
+                log.error("Could not record the replay of dead letter {}: {}", entry.getId(), e.getMessage());
+            }
+            replay.outcomes.computeIfAbsent(outcome, key -> new AtomicInteger()).incrementAndGet();
+            Counter.builder("orchestrator.dead-letters.replays")
+                    .description("Dead-letter replays, by outcome")
+                    .tag("type", entry.getType().name().toLowerCase())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        });
+    }
+
+    private static final class Replay {
+        private final DeadLetterFilter filter;
+        private final int limit;
+        private final int concurrency;
+        private final double rate;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger claimed = new AtomicInteger();
+        private final Map<String, AtomicInteger> outcomes = new ConcurrentSkipListMap<>();
+        private volatile boolean cancelled;
+        private volatile Instant finishedAt;
+        private volatile Disposable subscription;
+
+        private Replay(DeadLetterFilter filter, int limit, int concurrency, double rate) {
+            this.filter = filter;
+            this.limit = limit;
+            this.concurrency = concurrency;
+            this.rate = rate;
+        }
+
+        private void finish(SignalType signal) {
+            finishedAt = Instant.now();
+            log.info("Dead-letter replay finished after {}: {} claimed, {}", Duration.between(startedAt, finishedAt),
+                    claimed.get(), outcomes);
+        }
+
+        private Map<String, Object> status() {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("type", filter.type());
+            status.put("stage", filter.stage());
+            status.put("from", filter.from());
+            status.put("to", filter.to());
+            status.put("limit", limit);
+            status.put("concurrency", concurrency);
+            status.put("rate", rate);
+            status.put("startedAt", startedAt);
+            status.put("finishedAt", finishedAt);
+            status.put("cancelled", cancelled);
+            status.put("claimed", claimed.get());
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            outcomes.forEach((outcome, count) -> counts.put(outcome, count.get()));
+            status.put("outcomes", counts);
+            return status;
+        }
+    }
+}
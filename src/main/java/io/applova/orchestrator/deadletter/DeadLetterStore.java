@@ -0,0 +1,228 @@
+package io.applova.orchestrator.deadletter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.exception.TicketMappingNotFoundException;
+import io.applova.orchestrator.model.DeadLetter;
+import io.applova.orchestrator.model.WebhookJob;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.model.enums.DeadLetterStatus;
+import io.applova.orchestrator.model.enums.WebhookJobType;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.repository.DeadLetterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Webhooks whose processing failed and was given up on, kept in the {@code dead_letters}
+ * table with the stage that failed, the error and the webhook itself, to be replayed by the
+ * {@link DeadLetterReplayer}.
+ * <p>
+ * Recording never fails the caller: an entry that cannot be saved is logged with its payload
+ * instead. Jira events for issues without a ticket mapping are not recorded, as no replay can
+ * apply them.
+ */
+@Slf4j
+@Component
+public class DeadLetterStore {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String UNKNOWN_STAGE = "unknown";
+
+    private final DeadLetterRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public DeadLetterStore(DeadLetterRepository repository, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record a failed Zoho pipeline execution at its current progress.
+     */
+    public void record(ZohoPipelineProgress progress, Throwable error) {
+        ZohoWebhookPayload payload = progress.getPayload();
+        record(DeadLetter.builder()
+                .type(WebhookJobType.ZOHO)
+                .issueKey(payload.getZohoTicketNumber())
+                .step(progress.getStep())
+                .emailMessageId(progress.getEmailMessageId())
+                .jiraKey(progress.getJiraKey()), payload, error);
+    }
+
+    /**
+     * Record a failed Jira event.
+     */
+    public void record(JiraWebhookDetails details, Throwable error) {
+        if (error instanceof TicketMappingNotFoundException) {
+            return;
+        }
+        record(DeadLetter.builder()
+                .type(WebhookJobType.JIRA)
+                .issueKey(details.getIssueKey()), details, error);
+    }
+
+    /**
+     * Record a queued job that failed its last attempt.
+     *
+     * @param job      the job
+     * @param progress the Zoho pipeline's progress, or null for Jira jobs
+     * @param error    the last attempt's error
+     */
+    public void record(WebhookJob job, ZohoPipelineProgress progress, Throwable error) {
+        if (error instanceof TicketMappingNotFoundException) {
+            return;
+        }
+        save(DeadLetter.builder()
+                .type(job.getType())
+                .issueKey(job.getIssueKey())
+                .payload(job.getPayload())
+                .step(progress == null ? job.getStep() : progress.getStep())
+                .emailMessageId(progress == null ? job.getEmailMessageId() : progress.getEmailMessageId())
+                .jiraKey(progress == null ? job.getJiraKey() : progress.getJiraKey())
+                .stage(stage(error))
+                .error(describe(error))
+                .status(DeadLetterStatus.PENDING)
+                .build());
+    }
+
+    private void record(DeadLetter.DeadLetterBuilder entry, Object payload, Throwable error) {
+        try {
+            entry.payload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialise failed {} for the dead-letter store: {}", payload, e.getMessage());
+            return;
+        }
+        save(entry.stage(stage(error))
+                .error(describe(error))
+                .status(DeadLetterStatus.PENDING)
+                .build());
+    }
+
+    private void save(DeadLetter entry) {
+        try {
+            repository.save(entry);
+            log.info("Recorded failed {} webhook for {} as dead letter {} (stage {})",
+                    entry.getType(), entry.getIssueKey(), entry.getId(), entry.getStage());
+            Counter.builder("orchestrator.dead-letters.recorded")
+                    .description("Failed webhooks recorded for replay, by failed stage")
+                    .tag("type", entry.getType().name().toLowerCase())
+                    .tag("stage", entry.getStage())
+                    .register(meterRegistry)
+                    .increment();
+        } catch (Exception e) {
+            log.error("Could not record failed {} webhook for {}; payload: {}", entry.getType(), entry.getIssueKey(),
+                    entry.getPayload(), e);
+        }
+    }
+
+    /**
+     * Claim up to {@code limit} pending entries matching the filter for replay, oldest first.
+     *
+     * @return the claimed entries, now {@link DeadLetterStatus#REPLAYING}
+     */
+    @Transactional
+    public List<DeadLetter> claim(DeadLetterFilter filter, int limit) {
+        // Bound rather than null times: Postgres cannot tell the type of a null parameter
+        List<DeadLetter> entries = repository.lockReplayable(filter.type(), filter.stage(),
+                filter.from() != null ? filter.from() : Instant.EPOCH,
+                filter.to() != null ? filter.to() : Instant.now().plus(1, ChronoUnit.DAYS),
+                PageRequest.of(0, limit));
+        for (DeadLetter entry : entries) {
+            entry.setStatus(DeadLetterStatus.REPLAYING);
+        }
+        return repository.saveAll(entries);
+    }
+
+    /**
+     * Return entries claimed by replays that never finished to pending.
+     *
+     * @param timeout how long a replay may take
+     */
+    public void releaseStale(Duration timeout) {
+        Instant now = Instant.now();
+        int released = repository.releaseStale(now.minus(timeout), now);
+        if (released > 0) {
+            log.warn("Returned {} dead letters whose replay did not finish within {} to pending", released, timeout);
+        }
+    }
+
+    /**
+     * Remove an entry that was replayed successfully.
+     */
+    public void replayed(DeadLetter entry) {
+        repository.deleteById(entry.getId());
+    }
+
+    /**
+     * Return an entry to pending after its replay failed or was interrupted.
+     *
+     * @param entry    the entry
+     * @param progress the Zoho pipeline's progress, or null for Jira events
+     * @param error    why the replay failed, or null if it was interrupted
+     */
+    public void release(DeadLetter entry, ZohoPipelineProgress progress, Throwable error) {
+        repository.release(entry.getId(),
+                progress == null ? entry.getStep() : progress.getStep(),
+                progress == null ? entry.getEmailMessageId() : progress.getEmailMessageId(),
+                progress == null ? entry.getJiraKey() : progress.getJiraKey(),
+                error == null ? null : stage(error),
+                error == null ? null : describe(error),
+                error == null ? 0 : 1,
+                Instant.now());
+    }
+
+    /**
+     * @return per type, stage and status: the number of entries and the oldest failure time
+     */
+    public List<Object[]> summarize() {
+        return repository.summarize();
+    }
+
+    /**
+     * Read the Zoho pipeline progress an entry was recorded with. Replays record their
+     * progress here, so the progress is marked as owned by its caller.
+     */
+    public ZohoPipelineProgress toProgress(DeadLetter entry) throws JsonProcessingException {
+        ZohoPipelineProgress progress = ZohoPipelineProgress.builder()
+                .payload(objectMapper.readValue(entry.getPayload(), ZohoWebhookPayload.class))
+                .emailMessageId(entry.getEmailMessageId())
+                .jiraKey(entry.getJiraKey())
+                .queued(true)
+                .build();
+        if (entry.getStep() != null) {
+            progress.setStep(entry.getStep());
+        }
+        return progress;
+    }
+
+    /**
+     * Read the Jira event of an entry.
+     */
+    public JiraWebhookDetails toDetails(DeadLetter entry) throws JsonProcessingException {
+        return objectMapper.readValue(entry.getPayload(), JiraWebhookDetails.class);
+    }
+
+    private static String stage(Throwable error) {
+        String stage = PipelineObservations.failedStage(error);
+        return stage != null ? stage : UNKNOWN_STAGE;
+    }
+
+    private static String describe(Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,18 @@
+package io.applova.orchestrator.exception;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Exception signalling that blocking work was rejected because every thread of its bulkhead
+ * was busy and its queue was full.
+ */
+public class BulkheadFullException extends RejectedExecutionException {
+    /**
+     * Constructs a new BulkheadFullException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -46,6 +47,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handle exceptions carrying their own status, such as invalid actuator requests.
+     *
+     * @param ex      ResponseStatusException
+     * @param request WebRequest
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(
+            ResponseStatusException ex, WebRequest request) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(ex.getStatusCode().value())
+                .error(ex.getStatusCode().toString())
+                .message(ex.getReason())
+                .build();
+
+        log.warn("Request failed with {}: {}", ex.getStatusCode(), ex.getReason());
+        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+    }
+
     /**
      * Handle generic exceptions that are not caught by specific handlers.
      *
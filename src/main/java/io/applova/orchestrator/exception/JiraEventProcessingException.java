@@ -0,0 +1,17 @@
+package io.applova.orchestrator.exception;
+
+/**
+ * Exception thrown when a Jira event could not be applied, carrying a message suitable for
+ * the webhook response.
+ */
+public class JiraEventProcessingException extends RuntimeException {
+    /**
+     * Constructs a new JiraEventProcessingException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public JiraEventProcessingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package io.applova.orchestrator.exception;
+
+/**
+ * Exception signalling that a pipeline was interrupted by shutdown and checkpointed for
+ * resumption at the next startup, rather than failed.
+ */
+public class PipelineSuspendedException extends RuntimeException {
+    /**
+     * Constructs a new PipelineSuspendedException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public PipelineSuspendedException(String message) {
+        super(message);
+    }
+}
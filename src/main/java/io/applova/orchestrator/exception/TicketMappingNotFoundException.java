@@ -0,0 +1,17 @@
+package io.applova.orchestrator.exception;
+
+/**
+ * Exception thrown when a Jira issue has no ticket mapping, i.e. was not created by this
+ * service. Events for such issues are skipped rather than retried or recorded as dead letters,
+ * as no replay can ever apply them.
+ */
+public class TicketMappingNotFoundException extends RuntimeException {
+    /**
+     * Constructs a new TicketMappingNotFoundException for the given Jira key.
+     *
+     * @param jiraKey the Jira issue key
+     */
+    public TicketMappingNotFoundException(String jiraKey) {
+        super("No ticket mapping found for Jira key: " + jiraKey);
+    }
+}
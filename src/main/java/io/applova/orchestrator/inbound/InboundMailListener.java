@@ -0,0 +1,302 @@
+package io.applova.orchestrator.inbound;
+
+import com.sun.mail.imap.IMAPFolder;
+import com.sun.mail.imap.IMAPStore;
+import jakarta.mail.FetchProfile;
+import jakarta.mail.Flags;
+import jakarta.mail.Folder;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Store;
+import jakarta.mail.UIDFolder;
+import jakarta.mail.search.FlagTerm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads customer replies from an IMAP folder as they arrive and hands them to the
+ * {@link ReplyCommentBatcher}.
+ * <p>
+ * One connection is kept open on a dedicated thread, waiting in {@code IDLE} for the server to
+ * announce new mail; servers without {@code IDLE} are polled every
+ * {@code app.inbound.poll-interval}. Every unread message is read once: messages sent from
+ * this service's own address or by automatic responders are marked read straight away, and
+ * replies once posted or found to belong to no ticket. Replies that could not be posted stay
+ * unread and are read again when the idle connection is refreshed, every
+ * {@code app.inbound.idle-refresh}. The folder should therefore be reserved for this service.
+ * <p>
+ * On PostgreSQL only one instance reads the folder at a time: the one holding a session
+ * advisory lock, on a connection of its own. The others try to take over every
+ * {@code app.inbound.reconnect-delay}, as does every instance after losing its connection.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inbound.enabled", havingValue = "true")
+public class InboundMailListener implements SmartLifecycle {
+
+    /** Held by the instance reading the folder ("INBX"). */
+    private static final long READER_LOCK = 0x494E4258L;
+
+    private final ReplyCommentBatcher batcher;
+    private final String protocol;
+    private final Session session;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private volatile Store store;
+    private volatile IMAPFolder folder;
+    private Thread listener;
+
+    @Value("${app.inbound.host}")
+    private String host;
+
+    @Value("${app.inbound.port:993}")
+    private int port;
+
+    @Value("${app.inbound.username:${spring.mail.username}}")
+    private String username;
+
+    @Value("${app.inbound.password:${spring.mail.password}}")
+    private String password;
+
+    @Value("${app.inbound.folder:INBOX}")
+    private String folderName;
+
+    @Value("${spring.mail.username}")
+    private String ownAddress;
+
+    @Value("${app.inbound.max-reply-chars:4000}")
+    private int maxReplyChars;
+
+    @Value("${app.inbound.poll-interval:PT1M}")
+    private Duration pollInterval;
+
+    @Value("${app.inbound.reconnect-delay:PT10S}")
+    private Duration reconnectDelay;
+
+    @Value("${spring.datasource.url}")
+    private String databaseUrl;
+
+    @Value("${spring.datasource.username}")
+    private String databaseUsername;
+
+    @Value("${spring.datasource.password}")
+    private String databasePassword;
+
+    public InboundMailListener(
+        ReplyCommentBatcher batcher,
+        @Value("${app.inbound.protocol:imaps}") String protocol,
+        @Value("${app.inbound.idle-refresh:PT9M}") Duration idleRefresh,
+        @Value("${app.mail.debug:false}") boolean mailDebug
+    ) {
+        this.batcher = batcher;
+        this.protocol = protocol;
+        Properties properties = new Properties();
+        properties.put("mail." + protocol + ".connectiontimeout", "10000");
+        // Reads wait out each IDLE, which is ended by the next refresh
+        properties.put("mail." + protocol + ".timeout", String.valueOf(idleRefresh.plusMinutes(1).toMillis()));
+        properties.put("mail.debug", String.valueOf(mailDebug));
+        this.session = Session.getInstance(properties);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "inbound-mail");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        // Ends a pending IDLE
+        close(store);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * End the current {@code IDLE}, so that unread messages are looked for again and the
+     * server does not drop the connection as inactive.
+     */
+    @Scheduled(fixedDelayString = "${app.inbound.idle-refresh:PT9M}")
+    public void refresh() {
+        IMAPFolder current = folder;
+        if (current == null) {
+            return;
+        }
+        try {
+            // Any command from another thread ends the IDLE first
+            current.doCommand(imap -> {
+                imap.simpleCommand("NOOP", null);
+                return null;
+            });
+        } catch (MessagingException e) {
+            log.warn("Could not refresh the inbound mail connection: {}", e.getMessage());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection lock = acquireReaderLock()) {
+                if (lock != null || !isPostgres()) {
+                    read(lock);
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Could not take the inbound mail reader lock: {}", e.getMessage());
+                }
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the folder until the connection is lost, or the reader lock with it.
+     */
+    private void read(Connection lock) {
+        try {
+            Store connected = session.getStore(protocol);
+            store = connected;
+            connected.connect(host, port, username, password);
+            IMAPFolder inbox = (IMAPFolder) connected.getFolder(folderName);
+            inbox.open(Folder.READ_WRITE);
+            folder = inbox;
+            boolean idle = ((IMAPStore) connected).hasCapability("IDLE");
+            log.info("Reading replies from {} on {}{}", folderName, host, idle ? "" : ", polling as IDLE is not supported");
+
+            while (running && inbox.isOpen() && (lock == null || lock.isValid(5))) {
+                readUnseen(inbox);
+                if (idle) {
+                    inbox.idle(true);
+                } else {
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            }
+        } catch (MessagingException | SQLException | RuntimeException e) {
+            if (running) {
+                log.warn("Inbound mail connection failed, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            folder = null;
+            close(store);
+        }
+    }
+
+    private void readUnseen(IMAPFolder inbox) throws MessagingException {
+        Message[] messages = inbox.search(new FlagTerm(new Flags(Flags.Flag.SEEN), false));
+        if (messages.length == 0) {
+            return;
+        }
+        FetchProfile profile = new FetchProfile();
+        profile.add(UIDFolder.FetchProfileItem.UID);
+        profile.add(FetchProfile.Item.ENVELOPE);
+        profile.add(IMAPFolder.FetchProfileItem.HEADERS);
+        inbox.fetch(messages, profile);
+
+        for (Message message : messages) {
+            long uid = inbox.getUID(message);
+            if (!pending.add(uid)) {
+                // Still being posted
+                continue;
+            }
+            InboundReply reply;
+            try {
+                reply = ReplyParser.parse(message, uid, ownAddress, maxReplyChars);
+            } catch (Exception e) {
+                log.warn("Could not read inbound message {}; leaving it unread: {}", uid, e.getMessage());
+                continue;
+            }
+            if (reply == null) {
+                log.debug("Ignoring inbound message {}: own or automatic", uid);
+                acknowledge(uid);
+            } else {
+                batcher.submit(reply, () -> acknowledge(uid), () -> pending.remove(uid));
+            }
+        }
+    }
+
+    /**
+     * Mark a message as read. Should that fail, it is read and posted again later.
+     */
+    private void acknowledge(long uid) {
+        try {
+            IMAPFolder current = folder;
+            Message message = current != null ? current.getMessageByUID(uid) : null;
+            if (message != null) {
+                message.setFlag(Flags.Flag.SEEN, true);
+            }
+        } catch (MessagingException e) {
+            log.warn("Could not mark inbound message {} as read: {}", uid, e.getMessage());
+        } finally {
+            pending.remove(uid);
+        }
+    }
+
+    /**
+     * @return a connection holding the reader lock, or null if another instance holds it or
+     *         the database is not PostgreSQL
+     */
+    private Connection acquireReaderLock() throws SQLException {
+        if (!isPostgres()) {
+            return null;
+        }
+        Connection connection = DriverManager.getConnection(databaseUrl, databaseUsername, databasePassword);
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT pg_try_advisory_lock(" + READER_LOCK + ")")) {
+            if (result.next() && result.getBoolean(1)) {
+                return connection;
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connection.close();
+        log.debug("Another instance is reading inbound mail");
+        return null;
+    }
+
+    private boolean isPostgres() {
+        return databaseUrl.startsWith("jdbc:postgresql:");
+    }
+
+    private static void close(Store store) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.close();
+        } catch (MessagingException ignored) {
+            // Closed either way
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.applova.orchestrator.inbound;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A customer reply read from the inbound mailbox.
+ *
+ * @param uid           the message's IMAP UID in the inbound folder
+ * @param messageId     the reply's own Message-ID, if it has one
+ * @param referencedIds the Message-IDs the reply answers, from {@code In-Reply-To} and
+ *                      {@code References}, in the forms ticket mappings may store them
+ * @param from          the sender's address
+ * @param sentAt        when the reply was sent, if known
+ * @param text          the reply's text, without the quoted message it answers
+ */
+public record InboundReply(
+    long uid,
+    String messageId,
+    List<String> referencedIds,
+    String from,
+    Instant sentAt,
+    String text
+) {
+}
@@ -0,0 +1,180 @@
+package io.applova.orchestrator.inbound;
+
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.model.TicketMapping;
+import io.applova.orchestrator.service.JiraService;
+import io.applova.orchestrator.service.TicketService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posts inbound replies to the Jira tickets whose email threads they answer.
+ * <p>
+ * Replies are matched to ticket mappings by the Message-IDs they refer to. Replies arriving
+ * within {@code app.inbound.batch-window} of each other, up to {@code app.inbound.batch-size},
+ * are posted as one comment per ticket. Each reply is acknowledged once it has been posted or
+ * found to belong to no ticket, and released otherwise, so that it is read again later.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inbound.enabled", havingValue = "true")
+public class ReplyCommentBatcher implements DisposableBean {
+
+    private final TicketService ticketService;
+    private final JiraService jiraService;
+    private final MeterRegistry meterRegistry;
+    private final Bulkheads bulkheads;
+    private final Timer latency;
+    private final Sinks.Many<Submission> submissions = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable subscription;
+
+    public ReplyCommentBatcher(
+        TicketService ticketService,
+        JiraService jiraService,
+        MeterRegistry meterRegistry,
+        Bulkheads bulkheads,
+        @Value("${app.inbound.batch-window:PT2S}") Duration batchWindow,
+        @Value("${app.inbound.batch-size:20}") int batchSize
+    ) {
+        this.ticketService = ticketService;
+        this.jiraService = jiraService;
+        this.meterRegistry = meterRegistry;
+        this.bulkheads = bulkheads;
+        this.latency = Timer.builder("orchestrator.inbound.reply-latency")
+                .description("Time from a customer reply being sent to its Jira comment")
+                .register(meterRegistry);
+        this.subscription = submissions.asFlux()
+                .flatMap(this::correlate, 8)
+                .bufferTimeout(batchSize, batchWindow)
+                .concatMap(batch -> Flux.fromIterable(byTicket(batch).entrySet())
+                        .flatMap(entry -> comment(entry.getKey(), entry.getValue()), 4)
+                        .then())
+                .subscribe();
+    }
+
+    /**
+     * Queue a reply for posting. Called from a single thread.
+     *
+     * @param reply       the reply
+     * @param acknowledge called once the reply needs no more handling
+     * @param release     called if the reply could not be handled and should be read again
+     */
+    public void submit(InboundReply reply, Runnable acknowledge, Runnable release) {
+        if (submissions.tryEmitNext(new Submission(reply, acknowledge, release)).isFailure()) {
+            log.warn("Could not queue reply {} from {}", reply.messageId(), reply.from());
+            release.run();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscription.dispose();
+    }
+
+    private Mono<Correlated> correlate(Submission submission) {
+        InboundReply reply = submission.reply();
+        return ticketService.findByEmailMessageIds(reply.referencedIds())
+                .next()
+                .map(TicketMapping::getJiraKey)
+                .map(jiraKey -> new Correlated(jiraKey, submission))
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    log.info("Reply {} from {} answers no ticket's emails; ignoring it", reply.messageId(), reply.from());
+                    finish(submission, "unmatched");
+                }))
+                .onErrorResume(ex -> {
+                    log.warn("Could not match reply {} from {} to a ticket: {}", reply.messageId(), reply.from(), ex.getMessage());
+                    fail(submission);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> comment(String jiraKey, List<Submission> batch) {
+        return jiraService.addComment(jiraKey, commentBody(batch.stream().map(Submission::reply).toList()))
+                .doOnSuccess(v -> {
+                    log.info("Posted {} email replies to {}", batch.size(), jiraKey);
+                    Instant now = Instant.now();
+                    for (Submission submission : batch) {
+                        if (submission.reply().sentAt() != null) {
+                            latency.record(Duration.between(submission.reply().sentAt(), now));
+                        }
+                        finish(submission, "commented");
+                    }
+                })
+                .onErrorResume(ex -> {
+                    // Already logged by the Jira service
+                    batch.forEach(this::fail);
+                    return Mono.empty();
+                });
+    }
+
+    private void finish(Submission submission, String outcome) {
+        count(outcome);
+        // Marking the message as read is a blocking IMAP command
+        bulkheads.imap().execute(submission.acknowledge());
+    }
+
+    private void fail(Submission submission) {
+        count("failed");
+        submission.release().run();
+    }
+
+    private void count(String outcome) {
+        Counter.builder("orchestrator.inbound.replies")
+                .description("Inbound email replies handled, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Map<String, List<Submission>> byTicket(List<Correlated> batch) {
+        Map<String, List<Submission>> byTicket = new LinkedHashMap<>();
+        for (Correlated correlated : batch) {
+            byTicket.computeIfAbsent(correlated.jiraKey(), key -> new ArrayList<>()).add(correlated.submission());
+        }
+        return byTicket;
+    }
+
+    /**
+     * Build one comment quoting each reply, in Jira wiki markup.
+     */
+    static String commentBody(List<InboundReply> replies) {
+        StringBuilder body = new StringBuilder();
+        for (InboundReply reply : replies) {
+            if (!body.isEmpty()) {
+                body.append("\n\n");
+            }
+            body.append("*Customer reply by email* from ").append(reply.from());
+            if (reply.sentAt() != null) {
+                body.append(" at ").append(reply.sentAt());
+            }
+            body.append(":\n{quote}\n")
+                    // Braces would open wiki macros, closing the quote early
+                    .append(reply.text().replace("{", "\\{"))
+                    .append("\n{quote}");
+        }
+        return body.toString();
+    }
+
+    private record Submission(InboundReply reply, Runnable acknowledge, Runnable release) {
+    }
+
+    private record Correlated(String jiraKey, Submission submission) {
+    }
+}
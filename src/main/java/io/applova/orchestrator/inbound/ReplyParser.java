@@ -0,0 +1,136 @@
+package io.applova.orchestrator.inbound;
+
+import jakarta.mail.BodyPart;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.InternetAddress;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the parts of an inbound message that matter for a Jira comment.
+ */
+final class ReplyParser {
+
+    /**
+     * Domain of the Message-IDs generated for outgoing emails. Older mappings store the bare
+     * identifier, which status updates wrapped in this domain when threading.
+     */
+    private static final String OWN_DOMAIN = "@applova.io>";
+
+    private static final Pattern MESSAGE_ID = Pattern.compile("<[^<>\\s]+>");
+
+    /** The attribution line mail clients put above a quoted message. */
+    private static final Pattern ATTRIBUTION = Pattern.compile("^On .+ wrote:\\s*$");
+
+    private static final Pattern TAG = Pattern.compile("<[^>]*>");
+
+    private ReplyParser() {
+    }
+
+    /**
+     * @return the reply, or null if the message was sent by {@code ownAddress} or by an
+     *         automatic responder
+     */
+    static InboundReply parse(Message message, long uid, String ownAddress, int maxChars)
+            throws MessagingException, IOException {
+        String from = message.getFrom() != null && message.getFrom().length > 0
+                ? ((InternetAddress) message.getFrom()[0]).getAddress()
+                : null;
+        if (from == null || from.equalsIgnoreCase(ownAddress) || isAutomatic(message)) {
+            return null;
+        }
+        String[] messageIds = message.getHeader("Message-ID");
+        return new InboundReply(
+                uid,
+                messageIds != null ? messageIds[0].trim() : null,
+                referencedIds(message),
+                from,
+                message.getSentDate() != null ? message.getSentDate().toInstant() : null,
+                stripQuoted(text(message), maxChars));
+    }
+
+    static List<String> referencedIds(Message message) throws MessagingException {
+        Set<String> ids = new LinkedHashSet<>();
+        for (String header : List.of("In-Reply-To", "References")) {
+            String[] values = message.getHeader(header);
+            if (values == null) {
+                continue;
+            }
+            for (String value : values) {
+                MESSAGE_ID.matcher(value).results().forEach(match -> {
+                    String id = match.group();
+                    ids.add(id);
+                    if (id.endsWith(OWN_DOMAIN)) {
+                        ids.add(id.substring(1, id.length() - OWN_DOMAIN.length()));
+                    }
+                });
+            }
+        }
+        return List.copyOf(ids);
+    }
+
+    static boolean isAutomatic(Message message) throws MessagingException {
+        String[] autoSubmitted = message.getHeader("Auto-Submitted");
+        if (autoSubmitted != null && Arrays.stream(autoSubmitted).anyMatch(value -> !value.trim().equalsIgnoreCase("no"))) {
+            return true;
+        }
+        String[] precedence = message.getHeader("Precedence");
+        return precedence != null && Arrays.stream(precedence)
+                .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                .anyMatch(value -> value.equals("bulk") || value.equals("junk") || value.equals("auto_reply"));
+    }
+
+    /**
+     * @return the message's plain text, or its HTML with tags removed if it has no plain text
+     */
+    static String text(Part part) throws MessagingException, IOException {
+        String plain = find(part, "text/plain");
+        if (plain != null) {
+            return plain;
+        }
+        String html = find(part, "text/html");
+        return html != null ? TAG.matcher(html).replaceAll("").replace("&nbsp;", " ") : "";
+    }
+
+    private static String find(Part part, String type) throws MessagingException, IOException {
+        if (part.isMimeType(type) && !Part.ATTACHMENT.equalsIgnoreCase(part.getDisposition())) {
+            return String.valueOf(part.getContent());
+        }
+        if (part.isMimeType("multipart/*") && part.getContent() instanceof Multipart multipart) {
+            for (int i = 0; i < multipart.getCount(); i++) {
+                BodyPart child = multipart.getBodyPart(i);
+                String text = find(child, type);
+                if (text != null) {
+                    return text;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cut the text at the quoted message it answers, and to at most {@code maxChars}.
+     */
+    static String stripQuoted(String text, int maxChars) {
+        StringBuilder reply = new StringBuilder();
+        for (String line : text.split("\r?\n", -1)) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith(">") || ATTRIBUTION.matcher(trimmed).matches()
+                    || trimmed.startsWith("-----Original Message-----")) {
+                break;
+            }
+            reply.append(line).append('\n');
+        }
+        String stripped = reply.toString().strip();
+        return stripped.length() > maxChars ? stripped.substring(0, maxChars) + "…" : stripped;
+    }
+}
@@ -0,0 +1,80 @@
+package io.applova.orchestrator.lifecycle;
+
+import io.applova.orchestrator.exception.PipelineSuspendedException;
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Registry of Zoho ticket pipeline executions that have started and not yet finished,
+ * with their progress, so that shutdown can wait for them and checkpoint any that are
+ * still running at the deadline.
+ */
+@Component
+public class InFlightPipelines {
+
+    // Keyed by a token, as progress changes (and with it its hash code) while the pipeline runs
+    private final Map<Long, ZohoPipelineProgress> executions = new ConcurrentHashMap<>();
+    private final AtomicLong tokens = new AtomicLong();
+    private final Sinks.Empty<Void> abortSignal = Sinks.empty();
+    private volatile boolean aborting;
+
+    /**
+     * Track a pipeline execution for as long as it runs.
+     *
+     * @param progress the execution's progress, updated by the pipeline as steps complete
+     * @param pipeline the pipeline to run
+     * @return the pipeline, failing with {@link PipelineSuspendedException} if it is aborted
+     *         by {@link #abort()}
+     */
+    public Mono<Void> track(ZohoPipelineProgress progress, Function<ZohoPipelineProgress, Mono<Void>> pipeline) {
+        return Mono.defer(() -> {
+            long token = tokens.incrementAndGet();
+            executions.put(token, progress);
+            return pipeline.apply(progress)
+                    .thenReturn(Boolean.TRUE)
+                    .takeUntilOther(abortSignal.asMono())
+                    .doOnSuccess(completed -> {
+                        if (completed != null) {
+                            executions.remove(token);
+                        }
+                    })
+                    .doOnError(ex -> executions.remove(token))
+                    .doOnCancel(() -> {
+                        // An abandoned request is no longer in flight; an aborted one stays to be checkpointed
+                        if (!aborting) {
+                            executions.remove(token);
+                        }
+                    })
+                    .switchIfEmpty(Mono.error(() -> new PipelineSuspendedException(
+                            "Pipeline for Zoho record " + progress.getPayload().getZohoTicketNumber()
+                                    + " suspended at " + progress.getStep())))
+                    .then();
+        });
+    }
+
+    /**
+     * @return the number of executions currently in flight
+     */
+    public int size() {
+        return executions.size();
+    }
+
+    /**
+     * Stop every execution still in flight, and any started afterwards, at its current step.
+     *
+     * @return the progress of the stopped executions
+     */
+    public List<ZohoPipelineProgress> abort() {
+        aborting = true;
+        abortSignal.tryEmitEmpty();
+        return List.copyOf(executions.values());
+    }
+}
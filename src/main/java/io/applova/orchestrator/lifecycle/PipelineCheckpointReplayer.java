@@ -0,0 +1,180 @@
+package io.applova.orchestrator.lifecycle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.deadletter.DeadLetterStore;
+import io.applova.orchestrator.exception.PipelineSuspendedException;
+import io.applova.orchestrator.model.PipelineCheckpoint;
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.repository.PipelineCheckpointRepository;
+import io.applova.orchestrator.service.ZohoTicketPipeline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Resumes Zoho pipelines checkpointed by {@link PipelineShutdownLifecycle} once the
+ * application is ready.
+ * <p>
+ * Checkpoints are claimed one at a time, lowest ID first, by setting their {@code claimed_at}
+ * under a row lock skipping rows locked by others, so concurrent startups never resume the
+ * same one. A checkpoint is deleted only once its pipeline completes; one whose resume fails
+ * or is interrupted by shutdown is released with its latest progress for the next startup,
+ * and one claimed by an instance that stopped is taken over once
+ * {@code app.shutdown.checkpoint-lease} has passed. Every claim counts as an attempt; after
+ * {@code app.shutdown.checkpoint-max-attempts} the checkpoint is recorded as a dead letter
+ * instead.
+ */
+@Slf4j
+@Component
+public class PipelineCheckpointReplayer {
+
+    private final PipelineCheckpointRepository checkpointRepository;
+    private final ZohoTicketPipeline ticketPipeline;
+    private final DeadLetterStore deadLetters;
+    private final ObjectMapper objectMapper;
+    private final Bulkheads bulkheads;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lease;
+    private final int maxAttempts;
+
+    public PipelineCheckpointReplayer(
+        PipelineCheckpointRepository checkpointRepository,
+        ZohoTicketPipeline ticketPipeline,
+        DeadLetterStore deadLetters,
+        ObjectMapper objectMapper,
+        Bulkheads bulkheads,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.shutdown.checkpoint-lease:PT10M}") Duration lease,
+        @Value("${app.shutdown.checkpoint-max-attempts:5}") int maxAttempts
+    ) {
+        this.checkpointRepository = checkpointRepository;
+        this.ticketPipeline = ticketPipeline;
+        this.deadLetters = deadLetters;
+        this.objectMapper = objectMapper;
+        this.bulkheads = bulkheads;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayCheckpoints() {
+        replayAfter(0L).subscribe(null, ex -> log.error("Could not resume checkpointed pipelines: {}", ex.getMessage()));
+    }
+
+    /**
+     * Claim and resume the checkpoints after {@code afterId} in turn. Checkpoints released by
+     * this startup have lower IDs and wait for the next one.
+     */
+    private Mono<Void> replayAfter(long afterId) {
+        return bulkheads.jpa().call(() -> claimNext(afterId))
+                .flatMap(checkpoint -> replay(checkpoint)
+                        .then(Mono.defer(() -> replayAfter(checkpoint.getId()))));
+    }
+
+    private PipelineCheckpoint claimNext(long afterId) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        return transactionTemplate.execute(status -> {
+            List<PipelineCheckpoint> candidates = checkpointRepository.lockClaimable(afterId, now.minus(lease),
+                    PageRequest.of(0, 1));
+            if (candidates.isEmpty()) {
+                return null;
+            }
+            PipelineCheckpoint checkpoint = candidates.get(0);
+            if (checkpoint.getClaimedAt() != null) {
+                log.warn("Taking over checkpoint {} for Zoho record {}, claimed at {}",
+                        checkpoint.getId(), checkpoint.getZohoRecordId(), checkpoint.getClaimedAt());
+            }
+            checkpoint.setClaimedAt(now);
+            checkpoint.setAttempts(checkpoint.getAttempts() + 1);
+            return checkpointRepository.saveAndFlush(checkpoint);
+        });
+    }
+
+    private Mono<Void> replay(PipelineCheckpoint checkpoint) {
+        ZohoPipelineProgress progress;
+        try {
+            progress = toProgress(checkpoint);
+        } catch (Exception e) {
+            log.error("Could not read checkpoint {} for Zoho record {}: {}", checkpoint.getId(),
+                    checkpoint.getZohoRecordId(), e.getMessage());
+            return bulkheads.jpa().run(() -> checkpointRepository.release(checkpoint.getId(), checkpoint.getClaimedAt(),
+                    checkpoint.getStep(), checkpoint.getEmailMessageId(), checkpoint.getJiraKey()))
+                    .onErrorResume(ex -> Mono.empty());
+        }
+        if (checkpoint.getAttempts() > maxAttempts) {
+            // Claimed again after resumes that never reported back, e.g. because they crashed
+            return giveUp(checkpoint, progress, new IllegalStateException(
+                    "Resumed " + (checkpoint.getAttempts() - 1) + " times without completing"));
+        }
+
+        return ticketPipeline.resume(progress)
+                .thenReturn(Boolean.TRUE)
+                .onErrorResume(ex -> failed(checkpoint, progress, ex).thenReturn(Boolean.FALSE))
+                .flatMap(completed -> !completed ? Mono.<Void>empty() : bulkheads.jpa().run(() -> {
+                    checkpointRepository.complete(checkpoint.getId(), checkpoint.getClaimedAt());
+                    log.info("Resumed pipeline for Zoho record {} from {}",
+                            checkpoint.getZohoRecordId(), checkpoint.getStep());
+                }))
+                .onErrorResume(ex -> {
+                    // The claim expires and the next startup takes the checkpoint over
+                    log.error("Could not record the outcome of checkpoint {}: {}", checkpoint.getId(), ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> failed(PipelineCheckpoint checkpoint, ZohoPipelineProgress progress, Throwable error) {
+        if (error instanceof PipelineSuspendedException) {
+            // Interrupted again by shutdown, which leaves checkpoints being resumed to their replay
+            return release(checkpoint, progress);
+        }
+        log.error("Resumed pipeline for Zoho record {} failed at {} (attempt {}): {}",
+                checkpoint.getZohoRecordId(), progress.getStep(), checkpoint.getAttempts(), error.getMessage());
+        return checkpoint.getAttempts() >= maxAttempts
+                ? giveUp(checkpoint, progress, error)
+                : release(checkpoint, progress);
+    }
+
+    private Mono<Void> release(PipelineCheckpoint checkpoint, ZohoPipelineProgress progress) {
+        return bulkheads.jpa().run(() -> checkpointRepository.release(checkpoint.getId(), checkpoint.getClaimedAt(),
+                progress.getStep(), progress.getEmailMessageId(), progress.getJiraKey()));
+    }
+
+    private Mono<Void> giveUp(PipelineCheckpoint checkpoint, ZohoPipelineProgress progress, Throwable error) {
+        log.error("Giving up on checkpoint {} for Zoho record {} after {} attempts; recording it as a dead letter",
+                checkpoint.getId(), checkpoint.getZohoRecordId(), checkpoint.getAttempts());
+        return bulkheads.jpa().run(() -> {
+            deadLetters.record(progress, error);
+            checkpointRepository.complete(checkpoint.getId(), checkpoint.getClaimedAt());
+        });
+    }
+
+    /**
+     * Read a checkpoint's progress. Failures and shutdown are handled here, so the progress is
+     * marked as owned by its caller.
+     */
+    private ZohoPipelineProgress toProgress(PipelineCheckpoint checkpoint) throws Exception {
+        return ZohoPipelineProgress.builder()
+                .payload(objectMapper.readValue(checkpoint.getPayload(), ZohoWebhookPayload.class))
+                .step(checkpoint.getStep())
+                .emailMessageId(checkpoint.getEmailMessageId())
+                .jiraKey(checkpoint.getJiraKey())
+                // Not counting the claim of this resume
+                .attempts(checkpoint.getAttempts() - 1)
+                .queued(true)
+                .build();
+    }
+}
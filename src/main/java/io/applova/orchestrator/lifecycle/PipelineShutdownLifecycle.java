@@ -0,0 +1,155 @@
+package io.applova.orchestrator.lifecycle;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.admission.AdmissionControl;
+import io.applova.orchestrator.model.PipelineCheckpoint;
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.repository.PipelineCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains webhook pipelines on shutdown.
+ * <p>
+ * Stops before the web server's graceful shutdown begins: new webhooks are rejected with
+ * {@code 503} and a {@code Retry-After} header, and running pipelines are given until
+ * {@code app.shutdown.drain-timeout} to finish. Zoho pipelines still running at the deadline
+ * are aborted at their current step and saved as {@link PipelineCheckpoint}s, which
+ * {@link PipelineCheckpointReplayer} resumes at the next startup. Jira webhooks are only
+ * drained, as Jira redelivers any delivery that does not complete. Pipelines run from the
+ * work queue are not checkpointed: their jobs go back to the queue for any instance to resume.
+ * Pipelines resumed from a checkpoint are not checkpointed again: their checkpoint is
+ * released at the step reached.
+ */
+@Slf4j
+@Component
+public class PipelineShutdownLifecycle implements SmartLifecycle {
+
+    /** Stops before the web server's graceful shutdown phase. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 512;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final InFlightPipelines inFlightPipelines;
+    private final PipelineObservations observations;
+    private final AdmissionControl admissionControl;
+    private final PipelineCheckpointRepository checkpointRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration drainTimeout;
+    private volatile boolean running;
+
+    public PipelineShutdownLifecycle(
+        InFlightPipelines inFlightPipelines,
+        PipelineObservations observations,
+        AdmissionControl admissionControl,
+        PipelineCheckpointRepository checkpointRepository,
+        ObjectMapper objectMapper,
+        @Value("${app.shutdown.drain-timeout:20s}") Duration drainTimeout
+    ) {
+        this.inFlightPipelines = inFlightPipelines;
+        this.observations = observations;
+        this.admissionControl = admissionControl;
+        this.checkpointRepository = checkpointRepository;
+        this.objectMapper = objectMapper;
+        this.drainTimeout = drainTimeout;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        admissionControl.stopAdmitting();
+        Thread drainer = new Thread(() -> {
+            try {
+                drain();
+            } finally {
+                running = false;
+                callback.run();
+            }
+        }, "pipeline-drainer");
+        drainer.start();
+    }
+
+    @Override
+    public void stop() {
+        admissionControl.stopAdmitting();
+        drain();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        log.info("Draining {} Zoho and {} Jira pipelines for up to {}",
+                inFlightPipelines.size(), observations.inFlight("jira"), drainTimeout);
+
+        while (inFlight() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        List<ZohoPipelineProgress> remaining = inFlightPipelines.abort();
+        if (remaining.isEmpty()) {
+            log.info("All pipelines drained");
+            return;
+        }
+
+        List<PipelineCheckpoint> checkpoints = new ArrayList<>(remaining.size());
+        for (ZohoPipelineProgress progress : remaining) {
+            if (progress.isQueued()) {
+                // Returned to the work queue, the dead-letter store or its checkpoint by whoever is running it
+                continue;
+            }
+            try {
+                checkpoints.add(toCheckpoint(progress));
+            } catch (JsonProcessingException e) {
+                log.error("Could not checkpoint pipeline for Zoho record {}: {}",
+                        progress.getPayload().getZohoTicketNumber(), e.getMessage());
+            }
+        }
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+        checkpointRepository.saveAll(checkpoints);
+        log.warn("Checkpointed {} Zoho pipelines still running after {}; they resume at next startup",
+                checkpoints.size(), drainTimeout);
+    }
+
+    private int inFlight() {
+        return inFlightPipelines.size() + observations.inFlight("jira");
+    }
+
+    private PipelineCheckpoint toCheckpoint(ZohoPipelineProgress progress) throws JsonProcessingException {
+        return PipelineCheckpoint.builder()
+                .zohoRecordId(progress.getPayload().getZohoTicketNumber())
+                .payload(objectMapper.writeValueAsString(progress.getPayload()))
+                .step(progress.getStep())
+                .emailMessageId(progress.getEmailMessageId())
+                .jiraKey(progress.getJiraKey())
+                .attempts(progress.getAttempts() + 1)
+                .build();
+    }
+}
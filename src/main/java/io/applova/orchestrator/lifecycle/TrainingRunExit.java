@@ -0,0 +1,37 @@
+package io.applova.orchestrator.lifecycle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ends a class-data sharing training run, started with {@code app.startup.training-run=true},
+ * as soon as the application is ready.
+ * <p>
+ * By then every class needed to serve traffic has been loaded, so the JVM can dump them to
+ * the archive named by {@code -XX:ArchiveClassesAtExit}. Runs before any other ready listener,
+ * so a training run never replays checkpointed pipelines. The property is read at runtime
+ * rather than through a bean condition so it also works in an AOT-processed context.
+ */
+@Slf4j
+@Component
+public class TrainingRunExit {
+
+    @Value("${app.startup.training-run:false}")
+    private boolean trainingRun;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!trainingRun) {
+            return;
+        }
+        log.info("Training run complete after {} ms, exiting", event.getTimeTaken().toMillis());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,57 @@
+package io.applova.orchestrator.migration;
+
+import io.applova.orchestrator.model.TicketMapping;
+import io.applova.orchestrator.retention.TicketMappingPartitionMigration;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+import java.util.Arrays;
+
+/**
+ * The {@code migrate} command: {@code java -jar orchestrator.jar migrate [--name=value ...]}.
+ * <p>
+ * Starts only the database configuration of the application, lets Hibernate update the schema,
+ * applies the pending {@link SchemaMigration}s and exits. No webhook is served and no
+ * background work runs, so it can run once as a deployment step before instances of a new
+ * version start, while the old ones keep serving. Runs on the JVM; it is not part of the
+ * ahead-of-time processed application.
+ */
+@ImportAutoConfiguration({
+    DataSourceAutoConfiguration.class,
+    HibernateJpaAutoConfiguration.class,
+    TransactionAutoConfiguration.class,
+    JdbcTemplateAutoConfiguration.class
+})
+@EntityScan(basePackageClasses = TicketMapping.class)
+@ComponentScan(basePackageClasses = SchemaMigration.class)
+@Import(TicketMappingPartitionMigration.class)
+public class MigrationCommand {
+
+    public static final String NAME = "migrate";
+
+    public static void run(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MigrationCommand.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                // Overrides application.properties, unlike default properties
+                .run(withArgument(args, "--app.migrations.check-on-startup=false"))) {
+            context.getBean(SchemaMigrations.class).migrate();
+        }
+    }
+
+    private static String[] withArgument(String[] args, String argument) {
+        String[] all = Arrays.copyOf(args, args.length + 1);
+        all[args.length] = argument;
+        return all;
+    }
+}
@@ -0,0 +1,32 @@
+package io.applova.orchestrator.migration;
+
+/**
+ * A one-off change to existing data or schema that Hibernate's {@code ddl-auto=update} cannot
+ * make, applied by the {@code migrate} command ({@link MigrationCommand}) before instances of a
+ * new version start. Whether it is pending is checked at every startup by
+ * {@link SchemaMigrations}.
+ */
+public interface SchemaMigration {
+
+    /**
+     * @return a short name used in logs
+     */
+    String name();
+
+    /**
+     * @return whether the application cannot run correctly until the migration is applied;
+     *         otherwise it runs without what the migration provides
+     */
+    boolean isRequired();
+
+    /**
+     * @return whether the database still needs the migration; cheap enough to check at startup
+     */
+    boolean isPending();
+
+    /**
+     * Apply the migration. Called in a transaction holding the migration lock, only while
+     * {@link #isPending()}.
+     */
+    void apply();
+}
@@ -0,0 +1,81 @@
+package io.applova.orchestrator.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Applies the {@link SchemaMigration}s for the {@code migrate} command, and checks at startup,
+ * once Hibernate has updated the schema, that none is pending: a pending required migration
+ * stops startup, any other is logged.
+ * <p>
+ * Migrations are serialised across concurrent {@code migrate} runs by an advisory lock, and
+ * each is checked again once the lock is held.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrations implements InitializingBean {
+
+    /** Serialises migrations across instances ("MIGR"). */
+    private static final long MIGRATION_LOCK = 0x4D494752L;
+
+    private final List<SchemaMigration> migrations;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean checkOnStartup;
+
+    public SchemaMigrations(
+        List<SchemaMigration> migrations,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.migrations.check-on-startup:true}") boolean checkOnStartup
+    ) {
+        this.migrations = migrations;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkOnStartup = checkOnStartup;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!checkOnStartup) {
+            return;
+        }
+        for (SchemaMigration migration : migrations) {
+            if (!migration.isPending()) {
+                continue;
+            }
+            if (migration.isRequired()) {
+                throw new IllegalStateException("The database needs the '" + migration.name()
+                        + "' migration; run the application with the 'migrate' command first");
+            }
+            log.warn("The database needs the '{}' migration; run the application with the 'migrate' command to apply it",
+                    migration.name());
+        }
+    }
+
+    /**
+     * Apply every pending migration, in order, one transaction each.
+     */
+    public void migrate() {
+        for (SchemaMigration migration : migrations) {
+            Boolean applied = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + MIGRATION_LOCK + ")");
+                if (!migration.isPending()) {
+                    return false;
+                }
+                migration.apply();
+                return true;
+            });
+            log.info("Migration '{}': {}", migration.name(), Boolean.TRUE.equals(applied) ? "applied" : "not needed");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.applova.orchestrator.migration;
+
+import io.applova.orchestrator.model.TicketMapping;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves {@code ticket_mappings_seq} past the identifiers already in use.
+ * <p>
+ * Mapping identifiers used to be generated by an identity column. Hibernate creates the
+ * sequence that replaced it starting at 1, so on an existing database it would hand out
+ * identifiers of existing mappings, in archived ones too, to both the JPA and R2DBC ticket
+ * stores. The sequence is set {@value #HEADROOM} past the highest identifier, leaving room for
+ * mappings still created through the identity column by instances of the previous version
+ * during the rollout.
+ * <p>
+ * Only PostgreSQL databases can hold identity-generated mappings; elsewhere nothing is pending.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class TicketMappingSequenceMigration implements SchemaMigration {
+
+    static final long HEADROOM = 1_000_000L;
+
+    private static final String SEQUENCE = "ticket_mappings_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public TicketMappingSequenceMigration(JdbcTemplate jdbcTemplate, @Value("${spring.datasource.url}") String url) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = url.startsWith("jdbc:postgresql:");
+    }
+
+    @Override
+    public String name() {
+        return "ticket-mappings-sequence";
+    }
+
+    @Override
+    public boolean isRequired() {
+        return true;
+    }
+
+    @Override
+    public boolean isPending() {
+        if (!postgres || !exists(SEQUENCE)) {
+            return false;
+        }
+        // The next block starts after last_value once it is called, at it otherwise
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT ? > last_value OR (? = last_value AND NOT is_called) FROM " + SEQUENCE,
+                Boolean.class, maxId(), maxId()));
+    }
+
+    @Override
+    public void apply() {
+        long maxId = maxId();
+        jdbcTemplate.queryForObject("SELECT setval(?, ?)", Long.class, SEQUENCE, maxId + HEADROOM);
+        log.info("Moved {} to {}, past the highest mapping identifier {} (blocks of {})",
+                SEQUENCE, maxId + HEADROOM, maxId, TicketMapping.ID_ALLOCATION_SIZE);
+    }
+
+    private long maxId() {
+        long maxId = 0;
+        for (String table : new String[]{"ticket_mappings", "ticket_mappings_archive"}) {
+            if (exists(table)) {
+                Long tableMax = jdbcTemplate.queryForObject("SELECT max(id) FROM " + table, Long.class);
+                maxId = Math.max(maxId, tableMax == null ? 0 : tableMax);
+            }
+        }
+        return maxId;
+    }
+
+    private boolean exists(String relation) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, relation));
+    }
+}
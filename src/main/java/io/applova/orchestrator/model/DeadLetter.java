@@ -0,0 +1,105 @@
+package io.applova.orchestrator.model;
+
+import io.applova.orchestrator.model.enums.DeadLetterStatus;
+import io.applova.orchestrator.model.enums.PipelineStep;
+import io.applova.orchestrator.model.enums.WebhookJobType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A webhook whose processing failed and was given up on, kept to be replayed once the cause
+ * is fixed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "dead_letters", indexes = {
+        @Index(name = "idx_dead_letters_replay", columnList = "status, created_at"),
+        @Index(name = "idx_dead_letters_stage", columnList = "stage, created_at")
+})
+public class DeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dead_letters_seq")
+    @SequenceGenerator(name = "dead_letters_seq", sequenceName = "dead_letters_seq")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private WebhookJobType type;
+
+    /**
+     * The Zoho ticket number or Jira issue key.
+     */
+    @Column(name = "issue_key")
+    private String issueKey;
+
+    /**
+     * The innermost pipeline stage that failed, e.g. {@code jira.create-ticket}, or
+     * {@code unknown} if the failure happened outside any stage.
+     */
+    @Column(name = "stage", nullable = false)
+    private String stage;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    /**
+     * The webhook as JSON.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Progress of a Zoho pipeline when it failed, so that a replay does not repeat the steps
+     * already completed.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "step")
+    private PipelineStep step;
+
+    @Column(name = "email_message_id")
+    private String emailMessageId;
+
+    @Column(name = "jira_key")
+    private String jiraKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private DeadLetterStatus status;
+
+    /**
+     * Number of replays that failed.
+     */
+    @Column(name = "replay_attempts", nullable = false)
+    private int replayAttempts;
+
+    /**
+     * When processing first failed; replays that fail again keep it.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        Instant now = Instant.now();
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,69 @@
+package io.applova.orchestrator.model;
+
+import io.applova.orchestrator.model.enums.PipelineStep;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A Zoho ticket pipeline that was still running when the application shut down, persisted
+ * so it can be resumed from its last completed step at the next startup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "pipeline_checkpoints")
+public class PipelineCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pipeline_checkpoints_seq")
+    @SequenceGenerator(name = "pipeline_checkpoints_seq", sequenceName = "pipeline_checkpoints_seq")
+    private Long id;
+
+    @Column(name = "zoho_record_id", nullable = false)
+    private String zohoRecordId;
+
+    /**
+     * The original webhook payload as JSON.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "step", nullable = false)
+    private PipelineStep step;
+
+    @Column(name = "email_message_id")
+    private String emailMessageId;
+
+    @Column(name = "jira_key")
+    private String jiraKey;
+
+    /**
+     * Executions of the pipeline so far, including the one that was interrupted and every
+     * resume claimed since.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * When a startup claimed the checkpoint to resume it; null while it waits for one.
+     */
+    @Column(name = "claimed_at")
+    private Instant claimedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = Instant.now();
+        }
+    }
+}
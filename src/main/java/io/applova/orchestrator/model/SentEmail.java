@@ -0,0 +1,34 @@
+package io.applova.orchestrator.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * An email that must be sent at most once, shared by all instances. A row is inserted before
+ * the email is sent, so only the instance whose insert succeeds sends it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sent_emails")
+public class SentEmail {
+    /**
+     * What the email is about, e.g. the Jira key and status of an initial ticket email.
+     */
+    @Id
+    @Column(name = "email_key")
+    private String emailKey;
+
+    @Column(name = "sent_at", nullable = false)
+    private Instant sentAt;
+}
@@ -0,0 +1,44 @@
+package io.applova.orchestrator.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * How far a background synchronisation job has got, kept between runs so that each run only
+ * looks at what changed since the previous one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sync_cursors")
+public class SyncCursor {
+    /**
+     * The job owning this cursor.
+     */
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    /**
+     * The latest change the job has fully processed; null until its first run completes.
+     */
+    @Column(name = "cursor_position")
+    private Instant position;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Guards against two instances advancing the same cursor concurrently.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
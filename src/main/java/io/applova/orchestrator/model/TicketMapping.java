@@ -13,16 +13,39 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "ticket_mappings")
+@Table(name = "ticket_mappings", indexes = {
+        @Index(name = "idx_ticket_mappings_jira_key", columnList = "jira_key"),
+        @Index(name = "idx_ticket_mappings_zoho_record_id", columnList = "zoho_record_id"),
+        @Index(name = "idx_ticket_mappings_email_message_id", columnList = "email_message_id")
+})
 public class TicketMapping {
+    /**
+     * Number of identifiers reserved per sequence call. Hibernate's pooled optimizer hands
+     * out the block locally, which lets inserts be grouped into JDBC batches.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Name of the constraint keeping Jira keys unique on PostgreSQL. Once the table is
+     * partitioned, the constraint of that name also covers {@code created_at}.
+     */
+    public static final String JIRA_KEY_CONSTRAINT = "uk_ticket_mappings_jira_key";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_mappings_seq")
+    @SequenceGenerator(name = "ticket_mappings_seq", sequenceName = "ticket_mappings_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "zoho_record_id", nullable = false)
     private String zohoRecordId;
 
-    @Column(name = "jira_key", nullable = false, unique = true)
+    /**
+     * Unique, constrained by {@code TicketMappingPartitions} rather than Hibernate: Hibernate
+     * cannot see the indexes of a partitioned table and would keep re-adding the constraint
+     * without {@code created_at}, which unique constraints there must include.
+     */
+    @Column(name = "jira_key", nullable = false)
     private String jiraKey;
 
     @Column(name = "email_message_id")
@@ -37,6 +60,13 @@ public class TicketMapping {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    /**
+     * When the status last changed, maintained by the database; drives archival of mappings
+     * in a terminal status. Null where the database does not maintain it.
+     */
+    @Column(name = "status_updated_at", insertable = false, updatable = false)
+    private Instant statusUpdatedAt;
+
     // Optional: Add a pre-persist method to set createdAt if not already set
     @PrePersist
     public void prePersist() {
@@ -0,0 +1,108 @@
+package io.applova.orchestrator.model;
+
+import io.applova.orchestrator.model.enums.PipelineStep;
+import io.applova.orchestrator.model.enums.WebhookJobStatus;
+import io.applova.orchestrator.model.enums.WebhookJobType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A webhook waiting in, or being processed from, the shared work queue. Any instance can
+ * claim a pending job; the claim is a lease the owner keeps extending while it works, so a
+ * job whose owner dies is picked up by another instance once the lease expires.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "webhook_jobs", indexes = {
+        @Index(name = "idx_webhook_jobs_claim", columnList = "status, available_at"),
+        @Index(name = "idx_webhook_jobs_issue", columnList = "issue_key, status")
+})
+public class WebhookJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "webhook_jobs_seq")
+    @SequenceGenerator(name = "webhook_jobs_seq", sequenceName = "webhook_jobs_seq")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private WebhookJobType type;
+
+    /**
+     * The Zoho ticket number or Jira issue key; at most one job per key runs at a time.
+     */
+    @Column(name = "issue_key", nullable = false)
+    private String issueKey;
+
+    /**
+     * The webhook as JSON.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private WebhookJobStatus status;
+
+    /**
+     * Progress of a Zoho pipeline, saved with each heartbeat so that another instance taking
+     * the job over resumes after the last recorded step.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "step")
+    private PipelineStep step;
+
+    @Column(name = "email_message_id")
+    private String emailMessageId;
+
+    @Column(name = "jira_key")
+    private String jiraKey;
+
+    /**
+     * Number of times the job has been claimed.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        Instant now = Instant.now();
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+        if (this.availableAt == null) {
+            this.availableAt = now;
+        }
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = Instant.now();
+    }
+}
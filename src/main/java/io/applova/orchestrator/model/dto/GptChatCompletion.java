@@ -0,0 +1,30 @@
+package io.applova.orchestrator.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Response of the chat completions API; only the first choice's message is used.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GptChatCompletion(List<Choice> choices) {
+
+    /**
+     * @return the content of the first choice, or null if there is none
+     */
+    public String firstContent() {
+        if (choices == null || choices.isEmpty() || choices.get(0).message() == null) {
+            return null;
+        }
+        return choices.get(0).message().content();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(Message message) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Message(String content) {
+    }
+}
@@ -0,0 +1,10 @@
+package io.applova.orchestrator.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Response of Jira's create issue call; only the key is used.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraCreatedIssue(String id, String key) {
+}
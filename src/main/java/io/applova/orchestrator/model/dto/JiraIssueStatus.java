@@ -0,0 +1,21 @@
+package io.applova.orchestrator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * An issue's current status as returned by a Jira search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JiraIssueStatus {
+    private String key;
+    private String status;
+    private Instant updated;
+}
@@ -0,0 +1,26 @@
+package io.applova.orchestrator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outcome of one Jira reconciliation run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JiraReconciliationResult {
+    /** Issues returned by the search. */
+    private int checked;
+    /** Issues with a ticket mapping, i.e. created through the orchestrator. */
+    private int mapped;
+    private int corrected;
+    private int failed;
+    /** The cursor the next run starts from. */
+    private Instant cursor;
+}
@@ -0,0 +1,48 @@
+package io.applova.orchestrator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of replaying a stream of Jira webhook events.
+ * <p>
+ * When the replay stops early, {@code resumeFromLine} is the first line not yet dispatched;
+ * sending the stream again from that line continues where this replay left off.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JiraReplayReport {
+    private boolean completed;
+    /** Why the replay stopped early; null when completed. */
+    private String stopReason;
+    private Integer resumeFromLine;
+    private int events;
+    private int processed;
+    /** Events queued for processing by any instance, with {@code app.queue.enabled}. */
+    private int queued;
+    private int failed;
+    /** Events for issues without a ticket mapping, which this service did not create. */
+    private int skipped;
+    /** Events without an issue key or status, skipped as the webhook endpoint would reject them. */
+    private int invalid;
+    private long durationMs;
+    private double eventsPerSecond;
+    /** The first failures, up to {@code app.jira.replay.max-reported-failures}. */
+    private List<Failure> failures;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private int line;
+        private String issueKey;
+        private String message;
+    }
+}
@@ -0,0 +1,29 @@
+package io.applova.orchestrator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of Jira search results.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JiraSearchPage {
+    private int startAt;
+    private int total;
+    private List<JiraIssueStatus> issues;
+
+    /**
+     * @return the {@code startAt} of the following page, or -1 if this is the last one
+     */
+    public int nextStartAt() {
+        int next = startAt + issues.size();
+        return issues.isEmpty() || next >= total ? -1 : next;
+    }
+}
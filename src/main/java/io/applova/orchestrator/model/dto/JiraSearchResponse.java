@@ -0,0 +1,25 @@
+package io.applova.orchestrator.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Response of Jira's JQL search, limited to the status and updated fields requested by
+ * reconciliation.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraSearchResponse(Integer startAt, Integer total, List<Issue> issues) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Issue(String key, Fields fields) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Fields(Status status, String updated) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Status(String name) {
+    }
+}
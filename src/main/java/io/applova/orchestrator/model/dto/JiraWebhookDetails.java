@@ -0,0 +1,24 @@
+package io.applova.orchestrator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The handful of fields the orchestrator needs from a raw Jira webhook body.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JiraWebhookDetails {
+    private String issueKey;
+    private String status;
+    private String webhookEvent;
+    private String zohoRecordId;
+
+    public boolean isValid() {
+        return issueKey != null && status != null;
+    }
+}
@@ -0,0 +1,23 @@
+package io.applova.orchestrator.model.dto;
+
+import io.applova.orchestrator.model.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one item of a batch Zoho webhook delivery.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZohoBatchItemResult {
+    /** Position of the item in the delivered array. */
+    private int index;
+    private String zohoTicketNumber;
+    private BatchItemStatus status;
+    /** Why the item was not processed; null for processed items. */
+    private String message;
+}
@@ -0,0 +1,24 @@
+package io.applova.orchestrator.model.dto;
+
+import io.applova.orchestrator.model.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response to a batch Zoho webhook delivery: a result per item, in delivery order, and the
+ * number of items with each status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZohoBatchResponse {
+    private int received;
+    private Map<BatchItemStatus, Integer> counts;
+    private List<ZohoBatchItemResult> results;
+}
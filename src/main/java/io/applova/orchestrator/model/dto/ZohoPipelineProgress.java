@@ -0,0 +1,47 @@
+package io.applova.orchestrator.model.dto;
+
+import io.applova.orchestrator.model.enums.PipelineStep;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of one Zoho ticket pipeline execution: the payload it started from and the
+ * results of the side effects it has completed so far.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZohoPipelineProgress {
+    private ZohoWebhookPayload payload;
+
+    @Builder.Default
+    private PipelineStep step = PipelineStep.RECEIVED;
+
+    private String emailMessageId;
+    private String jiraKey;
+
+    /**
+     * Number of earlier executions that were interrupted before completing.
+     */
+    private int attempts;
+
+    /**
+     * Whether the execution runs from the shared work queue, a dead-letter replay or a
+     * checkpoint resume, which record its progress and failure themselves, rather than being
+     * checkpointed on shutdown and recorded as a dead letter on failure.
+     */
+    private boolean queued;
+
+    public void autoReplySent(String emailMessageId) {
+        this.emailMessageId = emailMessageId;
+        this.step = PipelineStep.AUTO_REPLY_SENT;
+    }
+
+    public void jiraTicketCreated(String jiraKey) {
+        this.jiraKey = jiraKey;
+        this.step = PipelineStep.JIRA_CREATED;
+    }
+}
@@ -1,7 +1,6 @@
 package io.applova.orchestrator.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import io.applova.orchestrator.model.enums.TicketTag;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -56,30 +55,4 @@ public class ZohoWebhookPayload {
     @JsonProperty("contactEmail")
     @NotBlank(message = "Contact email is required")
     private String contactEmail;
-
-    // Mapping method to convert severity to Jira priority
-    public String mapSeverityToJiraPriority() {
-        switch (this.issueSeverity) {
-            case "High":
-                return "High";
-            case "Medium":
-                return "Medium";
-            case "Low":
-                return "Low";
-            default:
-                return "Medium";
-        }
-    }
-
-    // Mapping method to convert issue type to Jira issue type
-    public String mapIssueTypeToJiraIssueType() {
-        switch (this.issueType) {
-            case "Bug":
-                return "Bug";
-            case "Feature":
-                return "New Feature";
-            default:
-                return "Task";
-        }
-    }
 }
@@ -0,0 +1,41 @@
+package io.applova.orchestrator.model.enums;
+
+/**
+ * Outcome of one item of a batch webhook delivery.
+ */
+public enum BatchItemStatus {
+    /**
+     * The item's pipeline completed, or the ticket already existed.
+     */
+    PROCESSED,
+
+    /**
+     * The item was queued, to be processed by whichever instance claims it.
+     */
+    QUEUED,
+
+    /**
+     * The item's pipeline was checkpointed by shutdown and resumes at the next startup.
+     */
+    SUSPENDED,
+
+    /**
+     * The item's pipeline failed; redelivering it is safe.
+     */
+    FAILED,
+
+    /**
+     * The item failed validation and was not processed.
+     */
+    INVALID,
+
+    /**
+     * An earlier item of the same batch has the same Zoho ticket number.
+     */
+    DUPLICATE,
+
+    /**
+     * The item was not started because the service is shutting down; redeliver it.
+     */
+    REJECTED
+}
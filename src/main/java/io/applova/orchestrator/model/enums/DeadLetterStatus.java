@@ -0,0 +1,18 @@
+package io.applova.orchestrator.model.enums;
+
+/**
+ * Where a {@link io.applova.orchestrator.model.DeadLetter} is in its lifecycle. Entries that
+ * are replayed successfully are deleted, so there is no status for them.
+ */
+public enum DeadLetterStatus {
+    /**
+     * Waiting to be replayed.
+     */
+    PENDING,
+
+    /**
+     * Claimed by a replay; pending again if the replay fails, or once
+     * {@code app.deadletter.replay-timeout} has passed without it finishing.
+     */
+    REPLAYING
+}
@@ -0,0 +1,21 @@
+package io.applova.orchestrator.model.enums;
+
+/**
+ * The last side effect a Zoho ticket pipeline completed, used to resume it without repeating work.
+ */
+public enum PipelineStep {
+    /**
+     * The webhook was accepted but nothing has been sent to Jira or by email yet.
+     */
+    RECEIVED,
+
+    /**
+     * The GPT auto-reply email was sent; its message ID is recorded.
+     */
+    AUTO_REPLY_SENT,
+
+    /**
+     * The Jira ticket was created; its key is recorded and only the mapping remains.
+     */
+    JIRA_CREATED
+}
@@ -0,0 +1,21 @@
+package io.applova.orchestrator.model.enums;
+
+/**
+ * Scheduling lane of a Zoho ticket pipeline, derived from its {@link TicketTag}.
+ */
+public enum TicketPriority {
+    /**
+     * High-severity bugs, which only need a Jira ticket and must reach Jira quickly.
+     */
+    URGENT,
+
+    /**
+     * Other tickets that go straight to Jira without a GPT auto-reply.
+     */
+    STANDARD,
+
+    /**
+     * Features and clarifications, which wait on GPT and the knowledge base before Jira.
+     */
+    ASSISTED
+}
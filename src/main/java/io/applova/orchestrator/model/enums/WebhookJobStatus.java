@@ -0,0 +1,22 @@
+package io.applova.orchestrator.model.enums;
+
+/**
+ * Where a queued {@link io.applova.orchestrator.model.WebhookJob} is in its lifecycle. Jobs
+ * that complete are deleted, so there is no status for them.
+ */
+public enum WebhookJobStatus {
+    /**
+     * Waiting to be claimed by an instance once its {@code available_at} has passed.
+     */
+    PENDING,
+
+    /**
+     * Claimed by the instance in {@code lease_owner}; claimable again once the lease expires.
+     */
+    RUNNING,
+
+    /**
+     * Gave up on after {@code app.queue.max-attempts} attempts; kept for inspection.
+     */
+    FAILED
+}
@@ -0,0 +1,16 @@
+package io.applova.orchestrator.model.enums;
+
+/**
+ * The webhook a queued {@link io.applova.orchestrator.model.WebhookJob} was created from.
+ */
+public enum WebhookJobType {
+    /**
+     * A Zoho ticket; the payload is a {@link io.applova.orchestrator.model.dto.ZohoWebhookPayload}.
+     */
+    ZOHO,
+
+    /**
+     * A Jira issue event; the payload is a {@link io.applova.orchestrator.model.dto.JiraWebhookDetails}.
+     */
+    JIRA
+}
@@ -0,0 +1,219 @@
+package io.applova.orchestrator.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers PostgreSQL {@code LISTEN/NOTIFY} notifications to {@link NotificationHandler}s.
+ * <p>
+ * Each instance holds one connection of its own, outside the JDBC pool, that listens on every
+ * subscribed channel. Notifications are published by triggers, installed here at startup:
+ * {@value #WEBHOOK_JOBS} carries the ID of each webhook job that becomes pending, and
+ * {@value #TICKET_MAPPINGS} the Jira key of each ticket mapping updated or deleted. Since
+ * triggers fire inside the writing transaction, notifications are sent on commit only, to
+ * every instance including the writer.
+ * <p>
+ * A lost connection is reopened after {@code app.notify.reconnect-delay}; handlers are told
+ * when listening stops and starts again, as notifications sent in between are lost. On
+ * databases other than PostgreSQL nothing is delivered and handlers fall back on polling.
+ */
+@Slf4j
+@Component
+public class DatabaseNotifications implements SmartLifecycle {
+
+    public static final String WEBHOOK_JOBS = "webhook_jobs";
+    public static final String TICKET_MAPPINGS = "ticket_mappings";
+
+    /** Serialises trigger installation across instances starting together ("NTFY"). */
+    private static final long TRIGGER_LOCK = 0x4E544659L;
+
+    private static final List<String> TRIGGERS = List.of(
+            """
+            CREATE OR REPLACE FUNCTION orchestrator_notify_webhook_job() RETURNS trigger AS $$
+            BEGIN
+                PERFORM pg_notify('webhook_jobs', NEW.id::text);
+                RETURN NULL;
+            END $$ LANGUAGE plpgsql""",
+            """
+            DO $$ BEGIN
+                IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'webhook_jobs_notify') THEN
+                    CREATE TRIGGER webhook_jobs_notify AFTER INSERT OR UPDATE OF status ON webhook_jobs
+                        FOR EACH ROW WHEN (NEW.status = 'PENDING')
+                        EXECUTE FUNCTION orchestrator_notify_webhook_job();
+                END IF;
+            END $$""",
+            """
+            CREATE OR REPLACE FUNCTION orchestrator_notify_ticket_mapping() RETURNS trigger AS $$
+            BEGIN
+                PERFORM pg_notify('ticket_mappings', OLD.jira_key);
+                IF TG_OP = 'UPDATE' AND NEW.jira_key IS DISTINCT FROM OLD.jira_key THEN
+                    PERFORM pg_notify('ticket_mappings', NEW.jira_key);
+                END IF;
+                RETURN NULL;
+            END $$ LANGUAGE plpgsql""",
+            """
+            DO $$ BEGIN
+                IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'ticket_mappings_notify') THEN
+                    CREATE TRIGGER ticket_mappings_notify AFTER UPDATE OR DELETE ON ticket_mappings
+                        FOR EACH ROW EXECUTE FUNCTION orchestrator_notify_ticket_mapping();
+                END IF;
+            END $$""");
+
+    private final Map<String, List<NotificationHandler>> handlers = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listener;
+
+    public DatabaseNotifications(
+        @Value("${app.notify.enabled:true}") boolean enabled,
+        @Value("${spring.datasource.url}") String url,
+        @Value("${spring.datasource.username}") String username,
+        @Value("${spring.datasource.password}") String password,
+        @Value("${app.notify.poll-timeout:PT1S}") Duration pollTimeout,
+        @Value("${app.notify.reconnect-delay:PT5S}") Duration reconnectDelay
+    ) {
+        this.enabled = enabled;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Subscribe to a channel. Subscriptions must be made before the application context is
+     * started.
+     *
+     * @param channel the channel name
+     * @param handler the handler
+     */
+    public void subscribe(String channel, NotificationHandler handler) {
+        handlers.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * @return whether a connection is currently listening, i.e. whether notifications published
+     *         now will be delivered
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled || handlers.isEmpty()) {
+            return;
+        }
+        if (!url.startsWith("jdbc:postgresql:")) {
+            log.info("Database notifications need PostgreSQL; falling back on polling");
+            return;
+        }
+        listener = new Thread(this::listen, "db-notifications");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                installTriggers(connection);
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                listening = true;
+                log.info("Listening for database notifications on {}", handlers.keySet());
+                handlers.values().forEach(list -> list.forEach(NotificationHandler::onListening));
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                int timeoutMillis = (int) pollTimeout.toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Database notification connection failed, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                }
+            } finally {
+                if (listening) {
+                    listening = false;
+                    handlers.values().forEach(list -> list.forEach(NotificationHandler::onListeningStopped));
+                }
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (NotificationHandler handler : handlers.getOrDefault(channel, List.of())) {
+            try {
+                handler.onNotification(payload);
+            } catch (RuntimeException e) {
+                log.warn("Handler for {} notification failed: {}", channel, e.getMessage());
+            }
+        }
+    }
+
+    private static void installTriggers(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_advisory_xact_lock(" + TRIGGER_LOCK + ")");
+            for (String sql : TRIGGERS) {
+                statement.execute(sql);
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.applova.orchestrator.notification;
+
+/**
+ * Receives the notifications published on one {@link DatabaseNotifications} channel.
+ * Handlers are called on the listener thread and must hand any slow work off to another one.
+ */
+public interface NotificationHandler {
+
+    /**
+     * Handle one notification.
+     *
+     * @param payload the notification payload, possibly empty
+     */
+    void onNotification(String payload);
+
+    /**
+     * Called whenever listening (re)starts. Notifications published while no connection was
+     * listening are lost, so anything that relies on them must catch up here.
+     */
+    default void onListening() {
+    }
+
+    /**
+     * Called when the listening connection is lost. Until {@link #onListening()} is called
+     * again, no notifications arrive.
+     */
+    default void onListeningStopped() {
+    }
+}
@@ -0,0 +1,61 @@
+package io.applova.orchestrator.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Assigns every request a correlation ID and exposes it to log events through the MDC.
+ * <p>
+ * An ID supplied by the caller is reused so that retries from Zoho or Jira can be followed
+ * across deliveries; otherwise a new one is generated. The ID is echoed in the response.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "correlationId";
+
+    private static final String REQUEST_ATTRIBUTE = CorrelationIdFilter.class.getName() + ".ID";
+
+    @Value("${app.logging.correlation-header:X-Correlation-Id}")
+    private String correlationHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = (String) request.getAttribute(REQUEST_ATTRIBUTE);
+        if (correlationId == null) {
+            correlationId = request.getHeader(correlationHeader);
+            if (!StringUtils.hasText(correlationId) || correlationId.length() > 64) {
+                correlationId = UUID.randomUUID().toString();
+            }
+            request.setAttribute(REQUEST_ATTRIBUTE, correlationId);
+            response.setHeader(correlationHeader, correlationId);
+        }
+
+        MDC.put(MDC_KEY, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Reactive controller results complete on an async dispatch, which should log with the same ID
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package io.applova.orchestrator.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which request payloads are worth logging and prepares them for the log.
+ * <p>
+ * Only a configurable fraction of payloads is logged, each truncated to a bounded length,
+ * and sensitive headers such as the Zoho webhook secret are always redacted.
+ */
+@Component
+public class PayloadLogSampler {
+
+    static final String REDACTED = "[REDACTED]";
+
+    private final double sampleRate;
+    private final int maxLength;
+    private final Set<String> redactedHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    public PayloadLogSampler(
+            @Value("${app.logging.payload.sample-rate:0.01}") double sampleRate,
+            @Value("${app.logging.payload.max-length:2048}") int maxLength,
+            @Value("${app.logging.redacted-headers:X-Zoho-Secret,Authorization,Cookie}") List<String> redactedHeaders
+    ) {
+        this.sampleRate = sampleRate;
+        this.maxLength = maxLength;
+        this.redactedHeaders.addAll(redactedHeaders);
+    }
+
+    /**
+     * @return true if the current payload should be logged
+     */
+    public boolean sample() {
+        return sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Decode at most the configured number of bytes of a payload for logging.
+     *
+     * @param payload raw request body
+     * @return the payload prefix, with a marker if it was truncated
+     */
+    public String truncate(byte[] payload) {
+        if (payload.length <= maxLength) {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+        return new String(payload, 0, maxLength, StandardCharsets.UTF_8)
+                + "...[truncated " + (payload.length - maxLength) + " bytes]";
+    }
+
+    /**
+     * @param headerName an HTTP header name
+     * @return true if the header value must never appear in logs
+     */
+    public boolean isRedacted(String headerName) {
+        return redactedHeaders.contains(headerName);
+    }
+
+    /**
+     * Collect request headers for logging, with sensitive values replaced.
+     *
+     * @param request the incoming request
+     * @return header names mapped to loggable values
+     */
+    public Map<String, String> headers(HttpServletRequest request) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        Enumeration<String> headerNames = request.getHeaderNames();
+        while (headerNames.hasMoreElements()) {
+            String headerName = headerNames.nextElement();
+            headers.put(headerName, isRedacted(headerName) ? REDACTED : request.getHeader(headerName));
+        }
+        return headers;
+    }
+}
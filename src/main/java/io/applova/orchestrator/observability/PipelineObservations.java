@@ -0,0 +1,194 @@
+package io.applova.orchestrator.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Records the duration and outcome of every stage of the webhook pipelines.
+ * <p>
+ * Each stage is a Micrometer {@link Observation} named {@value #STAGE_OBSERVATION}, which the
+ * registry turns into a timer tagged with {@code stage} and {@code outcome}
+ * ({@code success}, {@code empty}, {@code error} or {@code cancelled}). Observations opened
+ * inside another stage become its children, including across Reactor scheduler hops, and
+ * are exported as trace spans named after the stage.
+ * <p>
+ * An error is marked with the innermost stage it failed, read back with {@link #failedStage}.
+ */
+@Component
+public class PipelineObservations {
+
+    public static final String STAGE_OBSERVATION = "orchestrator.stage";
+    public static final String IN_FLIGHT_METRIC = "orchestrator.pipelines.in-flight";
+
+    private static final String STAGE_TAG = "stage";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public PipelineObservations(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Observe a reactive stage. The observation starts on subscription and stops when the
+     * Mono terminates or is cancelled.
+     *
+     * @param stage the stage name, used as the {@code stage} tag
+     * @param mono  the stage's work
+     * @return the instrumented Mono
+     */
+    public <T> Mono<T> stage(String stage, Mono<T> mono) {
+        return Mono.deferContextual(contextView -> {
+            Observation observation = start(stage,
+                    contextView.getOrDefault(ObservationThreadLocalAccessor.KEY, null));
+            return mono
+                    .doOnSuccess(value -> observation.lowCardinalityKeyValue(OUTCOME_TAG, value == null ? "empty" : "success"))
+                    .doOnError(ex -> {
+                        observation.lowCardinalityKeyValue(OUTCOME_TAG, "error").error(ex);
+                        markFailedStage(ex, stage);
+                    })
+                    .doOnCancel(() -> observation.lowCardinalityKeyValue(OUTCOME_TAG, "cancelled"))
+                    .doFinally(signal -> observation.stop())
+                    .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+        });
+    }
+
+    /**
+     * Observe a blocking stage on the calling thread.
+     *
+     * @param stage the stage name, used as the {@code stage} tag
+     * @param work  the stage's work
+     * @return the work's result
+     */
+    public <T> T stage(String stage, Supplier<T> work) {
+        Observation observation = start(stage, null);
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = work.get();
+            observation.lowCardinalityKeyValue(OUTCOME_TAG, "success");
+            return result;
+        } catch (RuntimeException ex) {
+            observation.lowCardinalityKeyValue(OUTCOME_TAG, "error").error(ex);
+            markFailedStage(ex, stage);
+            throw ex;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Observe a whole pipeline execution, counting it as in flight until it terminates.
+     *
+     * @param pipeline the pipeline name, e.g. {@code zoho}
+     * @param mono     the pipeline's work
+     * @return the instrumented Mono
+     */
+    public <T> Mono<T> pipeline(String pipeline, Mono<T> mono) {
+        AtomicInteger counter = inFlightCounter(pipeline);
+        return stage("pipeline." + pipeline, mono)
+                .doOnSubscribe(subscription -> counter.incrementAndGet())
+                .doFinally(signal -> counter.decrementAndGet());
+    }
+
+    /**
+     * Observe a whole blocking pipeline execution, counting it as in flight until it returns.
+     *
+     * @param pipeline the pipeline name, e.g. {@code jira}
+     * @param work     the pipeline's work
+     * @return the work's result
+     */
+    public <T> T pipeline(String pipeline, Supplier<T> work) {
+        AtomicInteger counter = inFlightCounter(pipeline);
+        counter.incrementAndGet();
+        try {
+            return stage("pipeline." + pipeline, work);
+        } finally {
+            counter.decrementAndGet();
+        }
+    }
+
+    /**
+     * @param pipeline the pipeline name
+     * @return the number of executions of the pipeline currently in flight
+     */
+    public int inFlight(String pipeline) {
+        AtomicInteger counter = inFlight.get(pipeline);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * @param error an error raised by a pipeline, possibly wrapped since
+     * @return the innermost stage the error failed, or null if it did not fail a stage
+     */
+    public static String failedStage(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            for (Throwable suppressed : cause.getSuppressed()) {
+                if (suppressed instanceof FailedStage failedStage) {
+                    return failedStage.getMessage();
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Outer stages see the error after the stage it failed, and leave the mark alone.
+     */
+    private static void markFailedStage(Throwable error, String stage) {
+        if (failedStage(error) == null) {
+            error.addSuppressed(new FailedStage(stage));
+        }
+    }
+
+    private Observation start(String stage, Observation parent) {
+        Observation observation = Observation.createNotStarted(STAGE_OBSERVATION, observationRegistry)
+                .contextualName(stage)
+                .lowCardinalityKeyValue(STAGE_TAG, stage)
+                .lowCardinalityKeyValue(OUTCOME_TAG, "unknown");
+        if (parent != null) {
+            observation.parentObservation(parent);
+        }
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        if (correlationId != null) {
+            // Span attribute only; high-cardinality values never become metric tags
+            observation.highCardinalityKeyValue("correlation.id", correlationId);
+        }
+        return observation.start();
+    }
+
+    private AtomicInteger inFlightCounter(String pipeline) {
+        return inFlight.computeIfAbsent(pipeline, name -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder(IN_FLIGHT_METRIC, counter, AtomicInteger::get)
+                    .description("Pipeline executions currently in flight")
+                    .tag("pipeline", name)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    /**
+     * Carried as a suppressed exception of the error, so that the error's type is unchanged.
+     */
+    private static final class FailedStage extends RuntimeException {
+        private FailedStage(String stage) {
+            super(stage, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.applova.orchestrator.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Supplier;
+
+/**
+ * Gauges for the shared Reactor {@code boundedElastic} scheduler, which subscribes pipelines
+ * off request and listener threads and runs CPU-bound warm-ups: tasks waiting in its queues
+ * and the number of workers alive. Blocking JPA, SMTP and IMAP calls run on their own
+ * {@link io.applova.orchestrator.bulkhead.Bulkheads}, which report their own gauges.
+ */
+@Component
+public class SchedulerMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reactor.scheduler.queue.depth", () -> queueDepth(Schedulers.boundedElastic()))
+                .description("Tasks submitted to the scheduler and not yet started")
+                .tag("scheduler", "boundedElastic")
+                .register(registry);
+        Gauge.builder("reactor.scheduler.workers", () -> workers(Schedulers.boundedElastic()))
+                .description("Workers currently alive in the scheduler")
+                .tag("scheduler", "boundedElastic")
+                .register(registry);
+    }
+
+    /**
+     * @param scheduler a Reactor scheduler
+     * @return the number of tasks queued on the scheduler's workers, or 0 if not reported
+     */
+    public static int queueDepth(Scheduler scheduler) {
+        return Scannable.from(unwrap(scheduler)).inners()
+                .mapToInt(worker -> {
+                    Integer buffered = worker.scan(Scannable.Attr.BUFFERED);
+                    return buffered == null ? 0 : buffered;
+                })
+                .sum();
+    }
+
+    private static int workers(Scheduler scheduler) {
+        Integer buffered = Scannable.from(unwrap(scheduler)).scan(Scannable.Attr.BUFFERED);
+        return buffered == null ? 0 : buffered;
+    }
+
+    /**
+     * The shared schedulers returned by {@link Schedulers} are cached wrappers that do not
+     * expose their workers; scan the underlying scheduler instead.
+     */
+    @SuppressWarnings("unchecked")
+    private static Scheduler unwrap(Scheduler scheduler) {
+        return scheduler instanceof Supplier ? ((Supplier<Scheduler>) scheduler).get() : scheduler;
+    }
+}
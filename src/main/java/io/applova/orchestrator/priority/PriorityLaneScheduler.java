@@ -0,0 +1,250 @@
+package io.applova.orchestrator.priority;
+
+import io.applova.orchestrator.model.enums.TicketPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many Zoho ticket pipelines run at once, with a lane per {@link TicketPriority}.
+ * <p>
+ * Each lane has slots reserved for it alone; the remaining slots are shared. A lane may use
+ * shared slots up to its own maximum, which keeps GPT-bound tickets from occupying every slot
+ * while they wait on slow completions. When a slot frees up and several lanes are waiting,
+ * the next pipeline comes from the lane that has received the least service relative to its
+ * weight, so urgent tickets overtake the others without starving them.
+ * <p>
+ * Waiting pipelines hold no threads or connections. A pipeline cancelled while waiting, for
+ * example by shutdown, simply leaves its queue.
+ */
+@Slf4j
+@Component
+public class PriorityLaneScheduler {
+
+    private final Map<TicketPriority, Lane> lanes = new EnumMap<>(TicketPriority.class);
+    private final int sharedSlots;
+    private int sharedInUse;
+    /** Virtual time of the most recently started pipeline, where idle lanes rejoin. */
+    private double virtualTime;
+
+    public PriorityLaneScheduler(
+        MeterRegistry meterRegistry,
+        @Value("${app.priority.max-concurrent:64}") int maxConcurrent,
+        @Value("${app.priority.lane.urgent.reserved:8}") int urgentReserved,
+        @Value("${app.priority.lane.urgent.max:64}") int urgentMax,
+        @Value("${app.priority.lane.urgent.weight:8}") int urgentWeight,
+        @Value("${app.priority.lane.standard.reserved:4}") int standardReserved,
+        @Value("${app.priority.lane.standard.max:64}") int standardMax,
+        @Value("${app.priority.lane.standard.weight:4}") int standardWeight,
+        @Value("${app.priority.lane.assisted.reserved:0}") int assistedReserved,
+        @Value("${app.priority.lane.assisted.max:32}") int assistedMax,
+        @Value("${app.priority.lane.assisted.weight:1}") int assistedWeight
+    ) {
+        register(new Lane(TicketPriority.URGENT, urgentReserved, urgentMax, urgentWeight, meterRegistry));
+        register(new Lane(TicketPriority.STANDARD, standardReserved, standardMax, standardWeight, meterRegistry));
+        register(new Lane(TicketPriority.ASSISTED, assistedReserved, assistedMax, assistedWeight, meterRegistry));
+
+        int reserved = urgentReserved + standardReserved + assistedReserved;
+        if (reserved > maxConcurrent) {
+            throw new IllegalStateException("Priority lanes reserve " + reserved
+                    + " slots, more than app.priority.max-concurrent=" + maxConcurrent);
+        }
+        this.sharedSlots = maxConcurrent - reserved;
+        log.info("Priority lanes: {} slots, {} shared; {}", maxConcurrent, sharedSlots, lanes.values());
+    }
+
+    /**
+     * Run work in a lane once a slot is free for it.
+     *
+     * @param priority the lane
+     * @param work     the work, subscribed when it gets a slot
+     * @return the work's result
+     */
+    public <T> Mono<T> schedule(TicketPriority priority, Mono<T> work) {
+        return Mono.create(sink -> {
+            Waiter<T> waiter = new Waiter<>(lanes.get(priority), work, sink);
+            sink.onCancel(() -> cancel(waiter));
+            enqueue(waiter);
+        });
+    }
+
+    private void register(Lane lane) {
+        lanes.put(lane.priority, lane);
+    }
+
+    private void enqueue(Waiter<?> waiter) {
+        synchronized (this) {
+            Lane lane = waiter.lane;
+            if (lane.queue.isEmpty()) {
+                // A lane returning from idle does not get credit for the time it was idle
+                lane.virtualTime = Math.max(lane.virtualTime, virtualTime);
+            }
+            lane.queue.add(waiter);
+        }
+        dispatch();
+    }
+
+    private void cancel(Waiter<?> waiter) {
+        synchronized (this) {
+            if (waiter.state == Waiter.WAITING) {
+                waiter.lane.queue.remove(waiter);
+            }
+            waiter.state = Waiter.CANCELLED;
+        }
+        // Disposing running work releases its slot
+        waiter.subscription.dispose();
+    }
+
+    private void release(Lane lane) {
+        synchronized (this) {
+            if (lane.sharedInUse > 0) {
+                lane.sharedInUse--;
+                sharedInUse--;
+            } else {
+                lane.reservedInUse--;
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Start waiting pipelines while slots are available. Work is subscribed outside the lock,
+     * as it may run synchronously up to its first asynchronous step.
+     */
+    private void dispatch() {
+        List<Waiter<?>> started = new ArrayList<>();
+        synchronized (this) {
+            Waiter<?> next;
+            while ((next = nextWaiter()) != null) {
+                next.state = Waiter.STARTED;
+                started.add(next);
+            }
+        }
+        for (Waiter<?> waiter : started) {
+            waiter.start();
+        }
+    }
+
+    /**
+     * Take the next pipeline to start and assign it a slot, or return null if no waiting
+     * pipeline can start.
+     */
+    private Waiter<?> nextWaiter() {
+        Lane chosen = null;
+        for (Lane lane : lanes.values()) {
+            if (!lane.queue.isEmpty() && canStart(lane)
+                    && (chosen == null || lane.virtualTime < chosen.virtualTime)) {
+                chosen = lane;
+            }
+        }
+        if (chosen == null) {
+            return null;
+        }
+
+        if (chosen.reservedInUse < chosen.reserved) {
+            chosen.reservedInUse++;
+        } else {
+            chosen.sharedInUse++;
+            sharedInUse++;
+        }
+        virtualTime = chosen.virtualTime;
+        chosen.virtualTime += 1.0 / chosen.weight;
+        return chosen.queue.poll();
+    }
+
+    private boolean canStart(Lane lane) {
+        if (lane.reservedInUse < lane.reserved) {
+            return true;
+        }
+        return sharedInUse < sharedSlots && lane.running() < lane.max;
+    }
+
+    private final class Waiter<T> {
+        static final int WAITING = 0;
+        static final int STARTED = 1;
+        static final int CANCELLED = 2;
+
+        private final Lane lane;
+        private final Mono<T> work;
+        private final MonoSink<T> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private final Disposable.Swap subscription = Disposables.swap();
+        /** Guarded by the scheduler's lock. */
+        private int state = WAITING;
+
+        private Waiter(Lane lane, Mono<T> work, MonoSink<T> sink) {
+            this.lane = lane;
+            this.work = work;
+            this.sink = sink;
+        }
+
+        void start() {
+            lane.waitTime.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            // If the waiter was cancelled meanwhile, the swap disposes the subscription at once
+            subscription.update(work
+                    .doFinally(signal -> release(lane))
+                    .contextWrite(sink.contextView())
+                    .subscribe(sink::success, sink::error, sink::success));
+        }
+    }
+
+    private static final class Lane {
+        private final TicketPriority priority;
+        private final int reserved;
+        private final int max;
+        private final int weight;
+        private final ArrayDeque<Waiter<?>> queue = new ArrayDeque<>();
+        private final Timer waitTime;
+        private int reservedInUse;
+        private int sharedInUse;
+        private double virtualTime;
+
+        private Lane(TicketPriority priority, int reserved, int max, int weight, MeterRegistry meterRegistry) {
+            if (weight < 1 || reserved < 0 || max < reserved) {
+                throw new IllegalStateException("Invalid priority lane " + priority
+                        + ": reserved=" + reserved + ", max=" + max + ", weight=" + weight);
+            }
+            this.priority = priority;
+            this.reserved = reserved;
+            this.max = max;
+            this.weight = weight;
+            String lane = priority.name().toLowerCase(Locale.ROOT);
+            this.waitTime = Timer.builder("orchestrator.priority.wait")
+                    .description("Time Zoho pipelines waited for a slot in their priority lane")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+            Gauge.builder("orchestrator.priority.queued", queue, ArrayDeque::size)
+                    .description("Zoho pipelines waiting for a slot")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+            Gauge.builder("orchestrator.priority.running", this, Lane::running)
+                    .description("Zoho pipelines running in the lane")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+        }
+
+        int running() {
+            return reservedInUse + sharedInUse;
+        }
+
+        @Override
+        public String toString() {
+            return priority + " (reserved " + reserved + ", max " + max + ", weight " + weight + ")";
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package io.applova.orchestrator.queue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.WebhookJob;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.model.enums.WebhookJobStatus;
+import io.applova.orchestrator.model.enums.WebhookJobType;
+import io.applova.orchestrator.repository.WebhookJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Work queue of webhooks shared by every instance through the {@code webhook_jobs} table.
+ * <p>
+ * Webhooks are inserted as {@link WebhookJob} rows and claimed with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, so concurrent claims from several instances never
+ * block on or take the same row. A claim is a lease of {@code app.queue.lease-duration} that
+ * the owner extends with heartbeats; once it expires, any instance may claim the job again.
+ * Jobs for the same Zoho ticket or Jira issue run one at a time and in arrival order: each
+ * claim takes a PostgreSQL advisory lock on the issue and skips the job while an older one
+ * for that issue is unfinished or another one is leased.
+ */
+@Slf4j
+@Component
+public class WebhookJobQueue {
+
+    /** Namespace of the per-issue advisory locks ("WHJQ"). */
+    private static final int ISSUE_LOCK_NAMESPACE = 0x57484A51;
+    /** Candidates locked per job claimed, so jobs waiting on their issue do not hold up others. */
+    private static final int CANDIDATES_PER_CLAIM = 4;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WebhookJobRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration leaseDuration;
+    private final String owner;
+
+    public WebhookJobQueue(
+        WebhookJobRepository repository,
+        ObjectMapper objectMapper,
+        @Value("${app.queue.enabled:false}") boolean enabled,
+        @Value("${app.queue.lease-duration:PT1M}") Duration leaseDuration,
+        @Value("${app.queue.instance-id:}") String instanceId
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.leaseDuration = leaseDuration;
+        this.owner = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+    }
+
+    /**
+     * @return whether webhooks are queued rather than processed by the request that delivered them
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the lease owner name of this instance
+     */
+    public String owner() {
+        return owner;
+    }
+
+    /**
+     * @return how long a claim or heartbeat keeps a job leased
+     */
+    public Duration leaseDuration() {
+        return leaseDuration;
+    }
+
+    /**
+     * Queue a Zoho ticket.
+     *
+     * @param payload the webhook payload
+     * @return the queued job
+     */
+    public WebhookJob enqueue(ZohoWebhookPayload payload) {
+        return enqueue(WebhookJobType.ZOHO, payload.getZohoTicketNumber(), payload, null);
+    }
+
+    /**
+     * Queue a Zoho ticket whose pipeline already ran, to resume after the last step it completed.
+     *
+     * @param progress the pipeline's progress, e.g. from a dead letter
+     * @return the queued job
+     */
+    public WebhookJob enqueue(ZohoPipelineProgress progress) {
+        ZohoWebhookPayload payload = progress.getPayload();
+        return enqueue(WebhookJobType.ZOHO, payload.getZohoTicketNumber(), payload, progress);
+    }
+
+    /**
+     * Queue a Jira issue event.
+     *
+     * @param details the fields extracted from the webhook
+     * @return the queued job
+     */
+    public WebhookJob enqueue(JiraWebhookDetails details) {
+        return enqueue(WebhookJobType.JIRA, details.getIssueKey(), details, null);
+    }
+
+    private WebhookJob enqueue(WebhookJobType type, String issueKey, Object payload, ZohoPipelineProgress progress) {
+        try {
+            WebhookJob job = repository.save(WebhookJob.builder()
+                    .type(type)
+                    .issueKey(issueKey)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .status(WebhookJobStatus.PENDING)
+                    .step(progress == null ? null : progress.getStep())
+                    .emailMessageId(progress == null ? null : progress.getEmailMessageId())
+                    .jiraKey(progress == null ? null : progress.getJiraKey())
+                    .build());
+            log.debug("Queued {} job {} for {}", type, job.getId(), issueKey);
+            return job;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialise " + type + " webhook for " + issueKey, e);
+        }
+    }
+
+    /**
+     * Claim up to {@code limit} jobs for this instance, oldest first.
+     *
+     * @param limit the most jobs to claim
+     * @return the claimed jobs, now {@link WebhookJobStatus#RUNNING} under a lease owned by this instance
+     */
+    @Transactional
+    public List<WebhookJob> claim(int limit) {
+        Instant now = Instant.now();
+        List<WebhookJob> candidates = repository.lockClaimable(now, PageRequest.of(0, limit * CANDIDATES_PER_CLAIM));
+        List<WebhookJob> claimed = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (WebhookJob job : candidates) {
+            if (claimed.size() == limit) {
+                break;
+            }
+            // The advisory lock makes the blocked check and the claim atomic across instances
+            if (!repository.tryLockIssue(ISSUE_LOCK_NAMESPACE, job.getIssueKey())
+                    || repository.isBlocked(job.getId(), job.getIssueKey(), now)) {
+                continue;
+            }
+            if (job.getStatus() == WebhookJobStatus.RUNNING) {
+                log.warn("Taking over {} job {} for {} from {}, whose lease expired at {}",
+                        job.getType(), job.getId(), job.getIssueKey(), job.getLeaseOwner(), job.getLeaseExpiresAt());
+            }
+            job.setStatus(WebhookJobStatus.RUNNING);
+            job.setLeaseOwner(owner);
+            job.setLeaseExpiresAt(now.plus(leaseDuration));
+            job.setAttempts(job.getAttempts() + 1);
+            // Flushed before the next candidate's blocked check sees it
+            claimed.add(repository.saveAndFlush(job));
+        }
+        return claimed;
+    }
+
+    /**
+     * Extend the lease on a running job, recording the progress of its pipeline.
+     *
+     * @param job      the job
+     * @param progress the Zoho pipeline's progress, or null for Jira jobs
+     * @return false if the lease was lost to another instance
+     */
+    public boolean heartbeat(WebhookJob job, ZohoPipelineProgress progress) {
+        Instant now = Instant.now();
+        return repository.heartbeat(job.getId(), owner, now.plus(leaseDuration),
+                progress == null ? null : progress.getStep(),
+                progress == null ? null : progress.getEmailMessageId(),
+                progress == null ? null : progress.getJiraKey(),
+                now) == 1;
+    }
+
+    /**
+     * Remove a job that completed.
+     */
+    public void complete(WebhookJob job) {
+        if (repository.complete(job.getId(), owner) == 0) {
+            log.warn("Completed {} job {} for {} after losing its lease", job.getType(), job.getId(), job.getIssueKey());
+        }
+    }
+
+    /**
+     * Return a job to the queue, to be claimed again after {@code delay}.
+     *
+     * @param job      the job
+     * @param progress the Zoho pipeline's progress, or null for Jira jobs
+     * @param delay    how long the job stays unclaimable
+     * @param error    why the job did not complete, if it failed
+     */
+    public void release(WebhookJob job, ZohoPipelineProgress progress, Duration delay, String error) {
+        update(job, progress, WebhookJobStatus.PENDING, delay, error);
+    }
+
+    /**
+     * Give up on a job, keeping it for inspection.
+     */
+    public void fail(WebhookJob job, ZohoPipelineProgress progress, String error) {
+        update(job, progress, WebhookJobStatus.FAILED, Duration.ZERO, error);
+    }
+
+    private void update(WebhookJob job, ZohoPipelineProgress progress, WebhookJobStatus status, Duration delay, String error) {
+        Instant now = Instant.now();
+        int updated = repository.release(job.getId(), owner, status, now.plus(delay),
+                progress == null ? job.getStep() : progress.getStep(),
+                progress == null ? job.getEmailMessageId() : progress.getEmailMessageId(),
+                progress == null ? job.getJiraKey() : progress.getJiraKey(),
+                truncate(error), now);
+        if (updated == 0) {
+            log.warn("Could not mark {} job {} for {} as {}: lease lost", job.getType(), job.getId(), job.getIssueKey(), status);
+        }
+    }
+
+    /**
+     * Read the Zoho pipeline progress a job was queued with or last recorded.
+     */
+    public ZohoPipelineProgress toProgress(WebhookJob job) throws JsonProcessingException {
+        ZohoPipelineProgress progress = ZohoPipelineProgress.builder()
+                .payload(objectMapper.readValue(job.getPayload(), ZohoWebhookPayload.class))
+                .emailMessageId(job.getEmailMessageId())
+                .jiraKey(job.getJiraKey())
+                .attempts(job.getAttempts() - 1)
+                .queued(true)
+                .build();
+        if (job.getStep() != null) {
+            progress.setStep(job.getStep());
+        }
+        return progress;
+    }
+
+    /**
+     * Read the Jira event of a job.
+     */
+    public JiraWebhookDetails toDetails(WebhookJob job) throws JsonProcessingException {
+        return objectMapper.readValue(job.getPayload(), JiraWebhookDetails.class);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown-host";
+        }
+        // Several instances may share a host
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,275 @@
+package io.applova.orchestrator.queue;
+
+import io.applova.orchestrator.admission.AdmissionControl;
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.deadletter.DeadLetterStore;
+import io.applova.orchestrator.exception.PipelineSuspendedException;
+import io.applova.orchestrator.exception.TicketMappingNotFoundException;
+import io.applova.orchestrator.model.WebhookJob;
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import io.applova.orchestrator.model.enums.WebhookJobType;
+import io.applova.orchestrator.notification.DatabaseNotifications;
+import io.applova.orchestrator.notification.NotificationHandler;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.service.JiraWebhookService;
+import io.applova.orchestrator.service.ZohoTicketPipeline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs jobs from the {@link WebhookJobQueue} on this instance, at most
+ * {@code app.queue.concurrency} at a time.
+ * <p>
+ * Free slots are filled as soon as a {@link DatabaseNotifications#WEBHOOK_JOBS} notification
+ * announces a pending job or a running job finishes here; polling every
+ * {@code app.queue.poll-interval} catches jobs whose notification was missed and retries
+ * that have become due. Claims and job outcomes are written on the jpa bulkhead, never on the
+ * thread that completed a pipeline. Every running job's lease is renewed every
+ * {@code app.queue.heartbeat-interval} together with its pipeline progress. A job whose lease
+ * was lost to another instance is cancelled here. Failed jobs go back to the
+ * queue with exponential backoff until {@code app.queue.max-attempts}, then stay failed and
+ * are recorded as dead letters for replay.
+ * Zoho pipelines aborted by shutdown are returned to the queue at their current step, for
+ * whichever instance claims them next.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.queue.enabled", havingValue = "true")
+public class WebhookJobWorker implements NotificationHandler {
+
+    private final WebhookJobQueue queue;
+    private final ZohoTicketPipeline ticketPipeline;
+    private final JiraWebhookService jiraWebhookService;
+    private final PipelineObservations observations;
+    private final AdmissionControl admissionControl;
+    private final DeadLetterStore deadLetters;
+    private final Bulkheads bulkheads;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+    private final Map<Long, Execution> executions = new ConcurrentHashMap<>();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    @Value("${app.queue.concurrency:16}")
+    private int concurrency;
+
+    @Value("${app.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.queue.retry-backoff:PT10S}")
+    private Duration retryBackoff;
+
+    @Value("${app.queue.max-retry-backoff:PT10M}")
+    private Duration maxRetryBackoff;
+
+    public WebhookJobWorker(
+        WebhookJobQueue queue,
+        ZohoTicketPipeline ticketPipeline,
+        JiraWebhookService jiraWebhookService,
+        PipelineObservations observations,
+        AdmissionControl admissionControl,
+        DeadLetterStore deadLetters,
+        Bulkheads bulkheads,
+        MeterRegistry meterRegistry,
+        DatabaseNotifications notifications
+    ) {
+        this.queue = queue;
+        this.ticketPipeline = ticketPipeline;
+        this.jiraWebhookService = jiraWebhookService;
+        this.observations = observations;
+        this.admissionControl = admissionControl;
+        this.deadLetters = deadLetters;
+        this.bulkheads = bulkheads;
+        this.meterRegistry = meterRegistry;
+        this.queueWait = Timer.builder("orchestrator.queue.wait")
+                .description("Time from a webhook job being queued to its first claim")
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.queue.running", executions, Map::size)
+                .description("Webhook jobs running on this instance")
+                .register(meterRegistry);
+        notifications.subscribe(DatabaseNotifications.WEBHOOK_JOBS, this);
+        log.info("Webhook job worker started as {}", queue.owner());
+    }
+
+    @Override
+    public void onNotification(String jobId) {
+        wake();
+    }
+
+    @Override
+    public void onListening() {
+        // Jobs queued while nobody was listening
+        wake();
+    }
+
+    /**
+     * Poll on the jpa bulkhead. Requests made while one is pending are coalesced into it.
+     */
+    private void wake() {
+        if (wakeRequested.compareAndSet(false, true)) {
+            bulkheads.jpa().run(() -> {
+                        wakeRequested.set(false);
+                        poll();
+                    })
+                    .subscribe(null, ex -> {
+                        // Rejected by a full bulkhead; the next poll interval tries again
+                        wakeRequested.set(false);
+                        log.warn("Could not poll for webhook jobs: {}", ex.getMessage());
+                    });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.queue.poll-interval:PT5S}")
+    public void pollPeriodically() {
+        wake();
+    }
+
+    private synchronized void poll() {
+        if (!admissionControl.isAdmitting()) {
+            return;
+        }
+        int free = concurrency - executions.size();
+        if (free <= 0) {
+            return;
+        }
+        try {
+            List<WebhookJob> jobs = queue.claim(free);
+            jobs.forEach(this::start);
+        } catch (Exception e) {
+            log.warn("Could not claim webhook jobs: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.queue.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Execution execution : executions.values()) {
+            try {
+                // Not lost if the job finished and was released in the meantime
+                if (!queue.heartbeat(execution.job, execution.progress)
+                        && executions.remove(execution.job.getId(), execution)) {
+                    log.warn("Lost the lease on {} job {} for {}; cancelling it", execution.job.getType(),
+                            execution.job.getId(), execution.job.getIssueKey());
+                    execution.subscription.dispose();
+                }
+            } catch (Exception e) {
+                // Retried at the next heartbeat, well before the lease expires
+                log.warn("Could not renew the lease on job {}: {}", execution.job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void start(WebhookJob job) {
+        if (job.getAttempts() == 1) {
+            queueWait.record(Duration.between(job.getCreatedAt(), Instant.now()));
+        }
+        Execution execution;
+        Mono<?> work;
+        try {
+            if (job.getType() == WebhookJobType.ZOHO) {
+                ZohoPipelineProgress progress = queue.toProgress(job);
+                execution = new Execution(job, progress);
+                work = observations.pipeline("zoho", ticketPipeline.resume(progress));
+            } else {
+                execution = new Execution(job, null);
+                work = observations.pipeline("jira", jiraWebhookService.process(queue.toDetails(job)));
+            }
+        } catch (Exception e) {
+            log.error("Could not read {} job {} for {}: {}", job.getType(), job.getId(), job.getIssueKey(), e.getMessage());
+            queue.fail(job, null, "Unreadable payload: " + e.getMessage());
+            count(job, "failed");
+            return;
+        }
+
+        executions.put(job.getId(), execution);
+        execution.subscription.update(work
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        result -> { },
+                        ex -> finish(execution, ex),
+                        () -> finish(execution, null)));
+    }
+
+    private void finish(Execution execution, Throwable error) {
+        if (executions.remove(execution.job.getId()) == null) {
+            // Cancelled after losing the lease
+            return;
+        }
+        bulkheads.jpa().run(() -> record(execution, error))
+                // Fill the freed slot without waiting for a notification or poll
+                .doFinally(signal -> wake())
+                .subscribe(null, ex ->
+                        // The lease expires and another claim picks the job up again
+                        log.error("Could not record the outcome of job {}: {}", execution.job.getId(), ex.getMessage()));
+    }
+
+    private void record(Execution execution, Throwable error) {
+        WebhookJob job = execution.job;
+        if (error == null) {
+            queue.complete(job);
+            count(job, "completed");
+        } else if (error instanceof PipelineSuspendedException) {
+            queue.release(job, execution.progress, Duration.ZERO, null);
+            count(job, "released");
+        } else if (error instanceof TicketMappingNotFoundException) {
+            // An issue this service did not create: no retry can apply the event
+            log.debug("Skipping {} job {} for unmapped issue {}", job.getType(), job.getId(), job.getIssueKey());
+            queue.complete(job);
+            count(job, "skipped");
+        } else if (job.getAttempts() >= maxAttempts) {
+            log.error("{} job {} for {} failed after {} attempts: {}", job.getType(), job.getId(),
+                    job.getIssueKey(), job.getAttempts(), error.getMessage());
+            queue.fail(job, execution.progress, error.getMessage());
+            deadLetters.record(job, execution.progress, error);
+            count(job, "failed");
+        } else {
+            Duration backoff = backoff(job.getAttempts());
+            log.warn("{} job {} for {} failed (attempt {}), retrying in {}: {}", job.getType(), job.getId(),
+                    job.getIssueKey(), job.getAttempts(), backoff, error.getMessage());
+            queue.release(job, execution.progress, backoff, error.getMessage());
+            count(job, "retried");
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private void count(WebhookJob job, String outcome) {
+        Counter.builder("orchestrator.queue.jobs")
+                .description("Webhook jobs finished on this instance, by outcome")
+                .tag("type", job.getType().name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static final class Execution {
+        private final WebhookJob job;
+        /** Progress of a Zoho pipeline, updated as it runs; null for Jira jobs. */
+        private final ZohoPipelineProgress progress;
+        private final Disposable.Swap subscription = Disposables.swap();
+
+        private Execution(WebhookJob job, ZohoPipelineProgress progress) {
+            this.job = job;
+            this.progress = progress;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.applova.orchestrator.repository;
+
+import java.util.Collection;
+
+/**
+ * Restores ticket mappings moved to the archive, for {@link TicketMappingRepository} lookups
+ * that miss. Does nothing while no archive is kept.
+ */
+public interface ArchivedTicketMappings {
+    /**
+     * Move archived mappings back into {@code ticket_mappings}.
+     *
+     * @param jiraKeys the Jira keys of the mappings to restore
+     * @return the number of mappings restored
+     */
+    int restoreByJiraKeys(Collection<String> jiraKeys);
+
+    /**
+     * Move archived mappings back into {@code ticket_mappings}.
+     *
+     * @param zohoRecordId the Zoho record ID of the mappings to restore
+     * @return the number of mappings restored
+     */
+    int restoreByZohoRecordId(String zohoRecordId);
+
+    /**
+     * Move archived mappings back into {@code ticket_mappings}.
+     *
+     * @param emailMessageIds the Message-IDs of the mappings to restore
+     * @return the number of mappings restored
+     */
+    int restoreByEmailMessageIds(Collection<String> emailMessageIds);
+}
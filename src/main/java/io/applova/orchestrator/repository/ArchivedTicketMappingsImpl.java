@@ -0,0 +1,66 @@
+package io.applova.orchestrator.repository;
+
+import io.applova.orchestrator.retention.TicketMappingPartitions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+
+@Slf4j
+class ArchivedTicketMappingsImpl implements ArchivedTicketMappings {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TicketMappingPartitions partitions;
+    private final Counter restored;
+
+    ArchivedTicketMappingsImpl(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        TicketMappingPartitions partitions,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitions = partitions;
+        this.restored = Counter.builder("orchestrator.ticket-mappings.restored")
+                .description("Archived ticket mappings moved back by lookups")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int restoreByJiraKeys(Collection<String> jiraKeys) {
+        if (!partitions.isActive() || jiraKeys.isEmpty()) {
+            return 0;
+        }
+        return restore(TicketMappingPartitions.RESTORE_BY_JIRA_KEYS,
+                new MapSqlParameterSource("jiraKeys", jiraKeys), jiraKeys);
+    }
+
+    @Override
+    public int restoreByZohoRecordId(String zohoRecordId) {
+        if (!partitions.isActive()) {
+            return 0;
+        }
+        return restore(TicketMappingPartitions.RESTORE_BY_ZOHO_RECORD_ID,
+                new MapSqlParameterSource("zohoRecordId", zohoRecordId), zohoRecordId);
+    }
+
+    @Override
+    public int restoreByEmailMessageIds(Collection<String> emailMessageIds) {
+        if (!partitions.isActive() || emailMessageIds.isEmpty()) {
+            return 0;
+        }
+        return restore(TicketMappingPartitions.RESTORE_BY_EMAIL_MESSAGE_IDS,
+                new MapSqlParameterSource("emailMessageIds", emailMessageIds), emailMessageIds);
+    }
+
+    private int restore(String sql, MapSqlParameterSource parameters, Object keys) {
+        int count = jdbcTemplate.update(sql, parameters);
+        if (count > 0) {
+            restored.increment(count);
+            log.info("Restored {} archived ticket mappings for {}", count, keys);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,83 @@
+package io.applova.orchestrator.repository;
+
+import io.applova.orchestrator.model.DeadLetter;
+import io.applova.orchestrator.model.enums.PipelineStep;
+import io.applova.orchestrator.model.enums.WebhookJobType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, Long> {
+    /**
+     * Lock the oldest pending entries matching the filters; {@code type} and {@code stage} are
+     * ignored when null. Rows already locked by another replay's claim are skipped
+     * ({@code FOR UPDATE SKIP LOCKED}). Must run in a transaction.
+     *
+     * @param type  the webhook type
+     * @param stage the failed stage
+     * @param from  the earliest failure time, inclusive
+     * @param to    the latest failure time, exclusive
+     * @param page  how many entries to lock
+     * @return the locked entries, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM DeadLetter d"
+            + " WHERE d.status = io.applova.orchestrator.model.enums.DeadLetterStatus.PENDING"
+            + " AND (:type IS NULL OR d.type = :type)"
+            + " AND (:stage IS NULL OR d.stage = :stage)"
+            + " AND d.createdAt >= :from AND d.createdAt < :to"
+            + " ORDER BY d.createdAt, d.id")
+    List<DeadLetter> lockReplayable(@Param("type") WebhookJobType type, @Param("stage") String stage,
+                                    @Param("from") Instant from, @Param("to") Instant to, Pageable page);
+
+    /**
+     * Return entries whose replay was claimed before {@code before} and never finished, e.g.
+     * because the instance replaying them stopped, to pending.
+     *
+     * @return the number of entries returned
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DeadLetter d SET d.status = io.applova.orchestrator.model.enums.DeadLetterStatus.PENDING,"
+            + " d.updatedAt = :now"
+            + " WHERE d.status = io.applova.orchestrator.model.enums.DeadLetterStatus.REPLAYING"
+            + " AND d.updatedAt < :before")
+    int releaseStale(@Param("before") Instant before, @Param("now") Instant now);
+
+    /**
+     * Return an entry whose replay did not complete to pending, with its latest progress.
+     *
+     * @param failed 1 if the replay failed, 0 if it was interrupted
+     * @return 1 if updated, 0 if the entry is no longer being replayed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DeadLetter d SET d.status = io.applova.orchestrator.model.enums.DeadLetterStatus.PENDING,"
+            + " d.step = :step, d.emailMessageId = :emailMessageId, d.jiraKey = :jiraKey,"
+            + " d.stage = COALESCE(:stage, d.stage), d.error = COALESCE(:error, d.error),"
+            + " d.replayAttempts = d.replayAttempts + :failed, d.updatedAt = :now"
+            + " WHERE d.id = :id AND d.status = io.applova.orchestrator.model.enums.DeadLetterStatus.REPLAYING")
+    int release(@Param("id") Long id, @Param("step") PipelineStep step, @Param("emailMessageId") String emailMessageId,
+                @Param("jiraKey") String jiraKey, @Param("stage") String stage, @Param("error") String error,
+                @Param("failed") int failed, @Param("now") Instant now);
+
+    /**
+     * @return per type, stage and status: the number of entries and the oldest failure time
+     */
+    @Query("SELECT d.type, d.stage, d.status, COUNT(d), MIN(d.createdAt) FROM DeadLetter d"
+            + " GROUP BY d.type, d.stage, d.status ORDER BY d.type, d.stage, d.status")
+    List<Object[]> summarize();
+}
@@ -0,0 +1,66 @@
+package io.applova.orchestrator.repository;
+
+import io.applova.orchestrator.model.PipelineCheckpoint;
+import io.applova.orchestrator.model.enums.PipelineStep;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface PipelineCheckpointRepository extends JpaRepository<PipelineCheckpoint, Long> {
+    /**
+     * Lock the checkpoints after {@code afterId} that are unclaimed or whose claim was made
+     * before {@code staleBefore}, lowest ID first. Rows already locked by another instance's
+     * claim are skipped ({@code FOR UPDATE SKIP LOCKED}). Must run in a transaction.
+     *
+     * @param afterId     the highest ID already claimed by the caller
+     * @param staleBefore claims made before this have expired
+     * @param page        how many checkpoints to lock
+     * @return the locked checkpoints
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM PipelineCheckpoint c"
+            + " WHERE c.id > :afterId AND (c.claimedAt IS NULL OR c.claimedAt < :staleBefore)"
+            + " ORDER BY c.id")
+    List<PipelineCheckpoint> lockClaimable(@Param("afterId") Long afterId, @Param("staleBefore") Instant staleBefore,
+                                           Pageable page);
+
+    /**
+     * Return a claimed checkpoint whose resume did not complete, with its latest progress.
+     *
+     * @param id        the checkpoint ID
+     * @param claimedAt when the caller claimed it
+     * @return 1 if updated, 0 if the claim was taken over by another instance
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PipelineCheckpoint c SET c.claimedAt = NULL,"
+            + " c.step = :step, c.emailMessageId = :emailMessageId, c.jiraKey = :jiraKey"
+            + " WHERE c.id = :id AND c.claimedAt = :claimedAt")
+    int release(@Param("id") Long id, @Param("claimedAt") Instant claimedAt, @Param("step") PipelineStep step,
+                @Param("emailMessageId") String emailMessageId, @Param("jiraKey") String jiraKey);
+
+    /**
+     * Remove a claimed checkpoint, once resumed or recorded as a dead letter.
+     *
+     * @param id        the checkpoint ID
+     * @param claimedAt when the caller claimed it
+     * @return 1 if removed, 0 if the claim was taken over by another instance
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PipelineCheckpoint c WHERE c.id = :id AND c.claimedAt = :claimedAt")
+    int complete(@Param("id") Long id, @Param("claimedAt") Instant claimedAt);
+}
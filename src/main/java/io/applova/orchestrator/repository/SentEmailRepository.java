@@ -0,0 +1,27 @@
+package io.applova.orchestrator.repository;
+
+import io.applova.orchestrator.model.SentEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface SentEmailRepository extends JpaRepository<SentEmail, String> {
+    /**
+     * Reserve an email key, unless any instance already has.
+     *
+     * @param emailKey the email key
+     * @param sentAt   when the email is sent
+     * @return 1 if this caller reserved the key, 0 if it was already taken
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO sent_emails (email_key, sent_at) VALUES (:emailKey, :sentAt) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int reserve(@Param("emailKey") String emailKey, @Param("sentAt") Instant sentAt);
+}
@@ -0,0 +1,9 @@
+package io.applova.orchestrator.repository;
+
+import io.applova.orchestrator.model.SyncCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncCursorRepository extends JpaRepository<SyncCursor, String> {
+}
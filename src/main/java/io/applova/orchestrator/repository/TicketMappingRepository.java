@@ -2,19 +2,53 @@ package io.applova.orchestrator.repository;
 
 import io.applova.orchestrator.model.TicketMapping;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Ticket mappings, whether in {@code ticket_mappings} or moved to the archive. Lookups that
+ * miss restore any archived mappings that match and look again.
+ */
 @Repository
-public interface TicketMappingRepository extends JpaRepository<TicketMapping, Long> {
+public interface TicketMappingRepository extends JpaRepository<TicketMapping, Long>, ArchivedTicketMappings {
     /**
      * Find a ticket mapping by its Jira key.
      * 
      * @param jiraKey the unique Jira ticket key
      * @return Optional containing the TicketMapping if found
      */
-    Optional<TicketMapping> findByJiraKey(String jiraKey);
+    default Optional<TicketMapping> findByJiraKey(String jiraKey) {
+        Optional<TicketMapping> mapping = findCurrentByJiraKey(jiraKey);
+        if (mapping.isEmpty() && restoreByJiraKeys(List.of(jiraKey)) > 0) {
+            mapping = findCurrentByJiraKey(jiraKey);
+        }
+        return mapping;
+    }
+
+    /**
+     * Find the ticket mappings for several Jira keys at once.
+     *
+     * @param jiraKeys the Jira ticket keys
+     * @return the mappings found
+     */
+    default List<TicketMapping> findByJiraKeyIn(Collection<String> jiraKeys) {
+        List<TicketMapping> mappings = findCurrentByJiraKeyIn(jiraKeys);
+        if (mappings.size() < jiraKeys.size()) {
+            Set<String> missing = new HashSet<>(jiraKeys);
+            mappings.forEach(mapping -> missing.remove(mapping.getJiraKey()));
+            if (!missing.isEmpty() && restoreByJiraKeys(missing) > 0) {
+                mappings = findCurrentByJiraKeyIn(jiraKeys);
+            }
+        }
+        return mappings;
+    }
 
     /**
      * Find a ticket mapping by its Zoho record ID.
@@ -22,5 +56,37 @@ public interface TicketMappingRepository extends JpaRepository<TicketMapping, Lo
      * @param zohoRecordId the Zoho record identifier
      * @return Optional containing the TicketMapping if found
      */
-    Optional<TicketMapping> findByZohoRecordId(String zohoRecordId);
+    default Optional<TicketMapping> findByZohoRecordId(String zohoRecordId) {
+        Optional<TicketMapping> mapping = findCurrentByZohoRecordId(zohoRecordId);
+        if (mapping.isEmpty() && restoreByZohoRecordId(zohoRecordId) > 0) {
+            mapping = findCurrentByZohoRecordId(zohoRecordId);
+        }
+        return mapping;
+    }
+
+    /**
+     * Find the ticket mappings whose email thread starts with one of several messages.
+     *
+     * @param emailMessageIds the Message-IDs
+     * @return the mappings found
+     */
+    default List<TicketMapping> findByEmailMessageIdIn(Collection<String> emailMessageIds) {
+        List<TicketMapping> mappings = findCurrentByEmailMessageIdIn(emailMessageIds);
+        if (mappings.isEmpty() && restoreByEmailMessageIds(emailMessageIds) > 0) {
+            mappings = findCurrentByEmailMessageIdIn(emailMessageIds);
+        }
+        return mappings;
+    }
+
+    @Query("SELECT m FROM TicketMapping m WHERE m.jiraKey = :jiraKey")
+    Optional<TicketMapping> findCurrentByJiraKey(@Param("jiraKey") String jiraKey);
+
+    @Query("SELECT m FROM TicketMapping m WHERE m.jiraKey IN :jiraKeys")
+    List<TicketMapping> findCurrentByJiraKeyIn(@Param("jiraKeys") Collection<String> jiraKeys);
+
+    @Query("SELECT m FROM TicketMapping m WHERE m.emailMessageId IN :emailMessageIds")
+    List<TicketMapping> findCurrentByEmailMessageIdIn(@Param("emailMessageIds") Collection<String> emailMessageIds);
+
+    @Query("SELECT m FROM TicketMapping m WHERE m.zohoRecordId = :zohoRecordId")
+    Optional<TicketMapping> findCurrentByZohoRecordId(@Param("zohoRecordId") String zohoRecordId);
 }
@@ -0,0 +1,112 @@
+package io.applova.orchestrator.repository;
+
+import io.applova.orchestrator.model.WebhookJob;
+import io.applova.orchestrator.model.enums.PipelineStep;
+import io.applova.orchestrator.model.enums.WebhookJobStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface WebhookJobRepository extends JpaRepository<WebhookJob, Long> {
+    /**
+     * Lock the oldest jobs that can be claimed: pending jobs that are due, and running jobs
+     * whose lease has expired. Rows already locked by another instance's claim are skipped
+     * ({@code FOR UPDATE SKIP LOCKED}) rather than waited for. Must run in a transaction.
+     *
+     * @param now  the current time
+     * @param page how many jobs to lock
+     * @return the locked jobs, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM WebhookJob j"
+            + " WHERE (j.status = io.applova.orchestrator.model.enums.WebhookJobStatus.PENDING AND j.availableAt <= :now)"
+            + " OR (j.status = io.applova.orchestrator.model.enums.WebhookJobStatus.RUNNING AND j.leaseExpiresAt < :now)"
+            + " ORDER BY j.id")
+    List<WebhookJob> lockClaimable(@Param("now") Instant now, Pageable page);
+
+    /**
+     * Take the transaction-scoped advisory lock for an issue without waiting. Held until the
+     * claiming transaction ends, it serialises the claims of different instances for the same
+     * issue. PostgreSQL only.
+     *
+     * @param namespace the lock namespace, keeping these locks apart from other advisory locks
+     * @param issueKey  the Zoho ticket number or Jira issue key
+     * @return true if the lock was taken, false if another transaction holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:namespace, hashtext(:issueKey))", nativeQuery = true)
+    boolean tryLockIssue(@Param("namespace") int namespace, @Param("issueKey") String issueKey);
+
+    /**
+     * Check whether a job has to wait for another job for the same issue: an older one that
+     * has not finished, or one whose lease is still live.
+     *
+     * @param id       the job to check
+     * @param issueKey the job's issue key
+     * @param now      the current time
+     * @return true if the job must not be claimed yet
+     */
+    @Query("SELECT COUNT(o) > 0 FROM WebhookJob o"
+            + " WHERE o.issueKey = :issueKey AND o.id <> :id"
+            + " AND ((o.id < :id AND o.status <> io.applova.orchestrator.model.enums.WebhookJobStatus.FAILED)"
+            + " OR (o.status = io.applova.orchestrator.model.enums.WebhookJobStatus.RUNNING AND o.leaseExpiresAt >= :now))")
+    boolean isBlocked(@Param("id") Long id, @Param("issueKey") String issueKey, @Param("now") Instant now);
+
+    /**
+     * Extend the lease on a job and record the progress of its pipeline.
+     *
+     * @return 1 if the lease was extended, 0 if the owner no longer holds the job
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookJob j SET j.leaseExpiresAt = :leaseExpiresAt, j.step = :step,"
+            + " j.emailMessageId = :emailMessageId, j.jiraKey = :jiraKey, j.updatedAt = :now"
+            + " WHERE j.id = :id AND j.leaseOwner = :owner"
+            + " AND j.status = io.applova.orchestrator.model.enums.WebhookJobStatus.RUNNING")
+    int heartbeat(@Param("id") Long id, @Param("owner") String owner, @Param("leaseExpiresAt") Instant leaseExpiresAt,
+                  @Param("step") PipelineStep step, @Param("emailMessageId") String emailMessageId,
+                  @Param("jiraKey") String jiraKey, @Param("now") Instant now);
+
+    /**
+     * Delete a completed job.
+     *
+     * @return 1 if deleted, 0 if the owner no longer holds the job
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM WebhookJob j WHERE j.id = :id AND j.leaseOwner = :owner")
+    int complete(@Param("id") Long id, @Param("owner") String owner);
+
+    /**
+     * Give up the lease on a job, leaving it in {@code status} with its latest progress.
+     *
+     * @return 1 if released, 0 if the owner no longer holds the job
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookJob j SET j.status = :status, j.availableAt = :availableAt,"
+            + " j.leaseOwner = null, j.leaseExpiresAt = null, j.step = :step, j.emailMessageId = :emailMessageId,"
+            + " j.jiraKey = :jiraKey, j.lastError = :lastError, j.updatedAt = :now"
+            + " WHERE j.id = :id AND j.leaseOwner = :owner")
+    int release(@Param("id") Long id, @Param("owner") String owner, @Param("status") WebhookJobStatus status,
+                @Param("availableAt") Instant availableAt, @Param("step") PipelineStep step,
+                @Param("emailMessageId") String emailMessageId, @Param("jiraKey") String jiraKey,
+                @Param("lastError") String lastError, @Param("now") Instant now);
+
+    /**
+     * @return the number of jobs in a status
+     */
+    long countByStatus(WebhookJobStatus status);
+}
@@ -0,0 +1,155 @@
+package io.applova.orchestrator.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Hedges calls to a slow-tailed dependency: when a call has not answered by a percentile of
+ * the operation's recent latency, a second attempt starts, and whichever answers first wins
+ * while the other is cancelled. A call that fails before its hedge is due fails straight
+ * away, without a hedge: only slow calls are hedged, not failed ones.
+ * <p>
+ * Hedges are paid for from a budget that grows by {@code budgetRatio} with every call, so they
+ * add at most that fraction of extra load however slow the dependency gets; a ratio of 0
+ * disables hedging. Latency is taken from the last {@value #WINDOW} attempts; an attempt
+ * cancelled because the other one won counts with the time it had run, a lower bound on its
+ * latency.
+ */
+@Slf4j
+public class RequestHedger {
+
+    private static final int WINDOW = 256;
+    private static final int MIN_SAMPLES = 20;
+
+    private final String operation;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration initialDelay;
+    private final double budgetRatio;
+    private final double maxBudget;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter hedgesDenied;
+
+    /** Guarded by this. */
+    private final long[] latencies = new long[WINDOW];
+    private int samples;
+    private int nextSample;
+    private double budget;
+
+    /**
+     * @param operation     name of the hedged operation, used in metrics and logs
+     * @param percentile    latency percentile after which to hedge, e.g. 0.95
+     * @param minDelay      the earliest a hedge may start
+     * @param initialDelay  hedge delay until enough latencies have been seen
+     * @param budgetRatio   hedges allowed per call, e.g. 0.1 for at most 10% extra calls
+     * @param meterRegistry registry for the hedge counters
+     */
+    public RequestHedger(String operation, double percentile, Duration minDelay, Duration initialDelay,
+                         double budgetRatio, MeterRegistry meterRegistry) {
+        this.operation = operation;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.initialDelay = initialDelay;
+        this.budgetRatio = budgetRatio;
+        // Allows a short burst of hedges after a quiet period, but not a sustained one
+        this.maxBudget = Math.max(1, budgetRatio * WINDOW);
+        this.hedgesSent = hedges(meterRegistry, "sent");
+        this.hedgesWon = hedges(meterRegistry, "won");
+        this.hedgesDenied = hedges(meterRegistry, "denied");
+    }
+
+    /**
+     * Run a hedged call.
+     *
+     * @param attempt creates attempt 0 (the primary) or attempt 1 (the hedge); only subscribed
+     *                attempts are sent
+     * @return the first successful result; the primary's error if it fails before the hedge
+     *         starts, or if both attempts fail
+     */
+    public <T> Mono<T> execute(IntFunction<Mono<T>> attempt) {
+        if (budgetRatio <= 0) {
+            return attempt.apply(0);
+        }
+        return Mono.defer(() -> {
+            Duration delay = hedgeDelay();
+            // Only slow calls are hedged: a primary failing before its hedge is due fails the call
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            Mono<T> primary = timed(attempt.apply(0))
+                    .doOnError(ex -> primaryFailed.tryEmitValue(Boolean.TRUE));
+            Mono<T> hedge = Mono.delay(delay)
+                    .takeUntilOther(primaryFailed.asMono())
+                    .filter(tick -> tryTakeBudget())
+                    .flatMap(tick -> {
+                        log.debug("Hedging {} after {} ms", operation, delay.toMillis());
+                        hedgesSent.increment();
+                        return timed(attempt.apply(1)).doOnNext(result -> hedgesWon.increment());
+                    });
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(NoSuchElementException.class, RequestHedger::firstFailure);
+        });
+    }
+
+    /**
+     * Add this call's share to the hedge budget and work out when its hedge is due.
+     */
+    private synchronized Duration hedgeDelay() {
+        budget = Math.min(maxBudget, budget + budgetRatio);
+        if (samples < MIN_SAMPLES) {
+            return initialDelay;
+        }
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        int index = Math.min(samples - 1, (int) Math.ceil(percentile * samples) - 1);
+        Duration delay = Duration.ofNanos(sorted[Math.max(0, index)]);
+        return delay.compareTo(minDelay) < 0 ? minDelay : delay;
+    }
+
+    private <T> Mono<T> timed(Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnNext(result -> record(System.nanoTime() - start))
+                    .doOnCancel(() -> record(System.nanoTime() - start));
+        });
+    }
+
+    private synchronized void record(long latencyNanos) {
+        latencies[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % WINDOW;
+        samples = Math.min(WINDOW, samples + 1);
+    }
+
+    private synchronized boolean tryTakeBudget() {
+        if (budget < 1) {
+            hedgesDenied.increment();
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private Counter hedges(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("orchestrator.hedge.requests")
+                .description("Hedged attempts sent, winning, or denied by the hedge budget")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Throwable firstFailure(NoSuchElementException ex) {
+        // Neither attempt produced a value: report the primary's error rather than Reactor's wrapper
+        List<Throwable> failures = Exceptions.unwrapMultiple(ex.getCause());
+        return failures.isEmpty() || failures.get(0) == null ? ex : failures.get(0);
+    }
+}
@@ -0,0 +1,113 @@
+package io.applova.orchestrator.retention;
+
+import io.applova.orchestrator.admission.AdmissionControl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves ticket mappings that have been in one of the {@code app.ticket.archive.statuses} for
+ * longer than {@code app.ticket.archive.after} from {@code ticket_mappings} to
+ * {@code ticket_mappings_archive}, every {@code app.ticket.archive.interval}.
+ * <p>
+ * Each batch of {@code app.ticket.archive.batch-size} rows is moved by a single statement, so
+ * a mapping is always in exactly one of the tables, and rows locked by a concurrent update are
+ * skipped until the next run. At most {@code app.ticket.archive.max-batches} batches are moved
+ * per run. Lookups through the ticket mapping repository restore archived mappings they find,
+ * so a reopened ticket carries on where it left off.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ticket.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TicketMappingArchiver {
+
+    private static final String COLUMNS =
+            "id, zoho_record_id, jira_key, email_message_id, initial_subject, status, created_at, status_updated_at";
+
+    private static final String ARCHIVE_BATCH_SQL =
+            "WITH archived AS ("
+            + " DELETE FROM " + TicketMappingPartitions.TABLE + " m USING ("
+            + "  SELECT id, created_at FROM " + TicketMappingPartitions.TABLE
+            + "  WHERE status IN (:statuses) AND status_updated_at < :cutoff"
+            + "  ORDER BY status_updated_at LIMIT :limit FOR UPDATE SKIP LOCKED) batch"
+            + " WHERE m.id = batch.id AND m.created_at = batch.created_at"
+            + " RETURNING m.id, m.zoho_record_id, m.jira_key, m.email_message_id, m.initial_subject, m.status,"
+            + " m.created_at, m.status_updated_at)"
+            + " INSERT INTO " + TicketMappingPartitions.ARCHIVE_TABLE + " (" + COLUMNS + ")"
+            + " SELECT " + COLUMNS + " FROM archived";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TicketMappingPartitions partitions;
+    private final AdmissionControl admissionControl;
+    private final Counter archived;
+
+    @Value("${app.ticket.archive.statuses:Done,Closed,Resolved}")
+    private List<String> statuses;
+
+    @Value("${app.ticket.archive.after:P90D}")
+    private Duration after;
+
+    @Value("${app.ticket.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.ticket.archive.max-batches:100}")
+    private int maxBatches;
+
+    public TicketMappingArchiver(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        TicketMappingPartitions partitions,
+        AdmissionControl admissionControl,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitions = partitions;
+        this.admissionControl = admissionControl;
+        this.archived = Counter.builder("orchestrator.ticket-mappings.archived")
+                .description("Ticket mappings moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ticket.archive.interval:PT1H}",
+            initialDelayString = "${app.ticket.archive.initial-delay:PT5M}")
+    public void archive() {
+        if (!partitions.isActive() || statuses.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("statuses", statuses)
+                .addValue("cutoff", Timestamp.from(Instant.now().minus(after)))
+                .addValue("limit", batchSize);
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                if (!admissionControl.isAdmitting()) {
+                    log.debug("Stopping ticket mapping archival during shutdown");
+                    break;
+                }
+                int moved = jdbcTemplate.update(ARCHIVE_BATCH_SQL, parameters);
+                total += moved;
+                archived.increment(moved);
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // Every batch is complete or not at all; the next run carries on
+            log.warn("Ticket mapping archival failed after {} mappings: {}", total, e.getMessage());
+        }
+        if (total > 0) {
+            log.info("Archived {} ticket mappings in a terminal status since before {}", total, parameters.getValue("cutoff"));
+        }
+    }
+}
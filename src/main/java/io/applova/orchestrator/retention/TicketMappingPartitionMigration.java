@@ -0,0 +1,137 @@
+package io.applova.orchestrator.retention;
+
+import io.applova.orchestrator.migration.SchemaMigration;
+import io.applova.orchestrator.model.TicketMapping;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static io.applova.orchestrator.retention.TicketMappingPartitions.COLUMNS;
+import static io.applova.orchestrator.retention.TicketMappingPartitions.TABLE;
+
+/**
+ * Converts a plain {@code ticket_mappings} table into the monthly partitioned table kept up by
+ * {@link TicketMappingPartitions}: its rows are copied into partitions covering every month
+ * since the oldest mapping, and the table replaced. The table is locked exclusively while the
+ * rows are copied, so this runs as part of the {@code migrate} command, not at startup.
+ * <p>
+ * On the partitioned table the Jira key constraint has to include {@code created_at}; the
+ * uniqueness of Jira keys alone is kept by a trigger, which serialises inserts of the same key
+ * with an advisory lock and rejects one already mapped with the error the constraint would
+ * raise. Mappings moved to the archive are not checked.
+ */
+@Slf4j
+@Component
+@Order(2)
+public class TicketMappingPartitionMigration implements SchemaMigration {
+
+    private static final List<String> JIRA_KEY_TRIGGER = List.of(
+            """
+            CREATE OR REPLACE FUNCTION orchestrator_ticket_mapping_unique_jira_key() RETURNS trigger AS $$
+            BEGIN
+                PERFORM pg_advisory_xact_lock(hashtext('ticket_mappings.jira_key'), hashtext(NEW.jira_key));
+                IF EXISTS (SELECT 1 FROM ticket_mappings WHERE jira_key = NEW.jira_key AND id <> NEW.id) THEN
+                    RAISE EXCEPTION 'duplicate key value violates unique constraint "%"', TG_ARGV[0]
+                        USING ERRCODE = 'unique_violation', DETAIL = format('Key (jira_key)=(%s) already exists.', NEW.jira_key);
+                END IF;
+                RETURN NEW;
+            END $$ LANGUAGE plpgsql""",
+            """
+            DO $$ BEGIN
+                IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'ticket_mappings_unique_jira_key') THEN
+                    CREATE TRIGGER ticket_mappings_unique_jira_key BEFORE INSERT OR UPDATE OF jira_key ON ticket_mappings
+                        FOR EACH ROW EXECUTE FUNCTION orchestrator_ticket_mapping_unique_jira_key('%s');
+                END IF;
+            END $$""".formatted(TicketMapping.JIRA_KEY_CONSTRAINT));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final boolean postgres;
+    private final int monthsAhead;
+
+    public TicketMappingPartitionMigration(
+        JdbcTemplate jdbcTemplate,
+        @Value("${app.ticket.partitions.enabled:true}") boolean enabled,
+        @Value("${spring.datasource.url}") String url,
+        @Value("${app.ticket.partitions.months-ahead:3}") int monthsAhead
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.postgres = url.startsWith("jdbc:postgresql:");
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Override
+    public String name() {
+        return "ticket-mappings-partitioning";
+    }
+
+    @Override
+    public boolean isRequired() {
+        return false;
+    }
+
+    @Override
+    public boolean isPending() {
+        if (!enabled || !postgres) {
+            return false;
+        }
+        String kind = TicketMappingPartitions.relationKind(jdbcTemplate);
+        return kind != null && (!"p".equals(kind) || !hasJiraKeyConstraint());
+    }
+
+    @Override
+    public void apply() {
+        TicketMappingPartitions.lock(jdbcTemplate);
+        if (!"p".equals(TicketMappingPartitions.relationKind(jdbcTemplate))) {
+            convert();
+        }
+        if (!hasJiraKeyConstraint()) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TicketMapping.JIRA_KEY_CONSTRAINT
+                    + " UNIQUE (jira_key, created_at)");
+        }
+        JIRA_KEY_TRIGGER.forEach(jdbcTemplate::execute);
+    }
+
+    private void convert() {
+        log.info("Converting {} to a partitioned table", TABLE);
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + "_partitioned (LIKE " + TABLE + " INCLUDING DEFAULTS,"
+                + " PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + "_default PARTITION OF " + TABLE + "_partitioned DEFAULT");
+
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(created_at) FROM " + TABLE, Timestamp.class);
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth last = current.plusMonths(monthsAhead);
+        YearMonth month = oldest == null ? current : YearMonth.from(oldest.toInstant().atOffset(ZoneOffset.UTC));
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            TicketMappingPartitions.createPartition(jdbcTemplate, TABLE + "_partitioned", month);
+        }
+
+        // The time of each mapping's last status change is not known; counting from now
+        // keeps existing terminal mappings from all being archived at once
+        int copied = jdbcTemplate.update("INSERT INTO " + TABLE + "_partitioned (" + COLUMNS + ", status_updated_at)"
+                + " SELECT " + COLUMNS + ", now() FROM " + TABLE);
+        jdbcTemplate.execute("DROP TABLE " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + "_partitioned RENAME TO " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME CONSTRAINT " + TABLE + "_partitioned_pkey TO " + TABLE + "_pkey");
+        jdbcTemplate.execute("CREATE INDEX idx_" + TABLE + "_jira_key ON " + TABLE + " (jira_key)");
+        jdbcTemplate.execute("CREATE INDEX idx_" + TABLE + "_zoho_record_id ON " + TABLE + " (zoho_record_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_" + TABLE + "_email_message_id ON " + TABLE + " (email_message_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_" + TABLE + "_status_updated_at ON " + TABLE + " (status, status_updated_at)");
+        log.info("Converted {} to a partitioned table, copying {} mappings", TABLE, copied);
+    }
+
+    private boolean hasJiraKeyConstraint() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = to_regclass(?) AND conname = ?)",
+                Boolean.class, TABLE, TicketMapping.JIRA_KEY_CONSTRAINT));
+    }
+}
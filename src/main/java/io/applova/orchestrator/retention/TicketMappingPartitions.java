@@ -0,0 +1,279 @@
+package io.applova.orchestrator.retention;
+
+import io.applova.orchestrator.model.TicketMapping;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps {@code ticket_mappings} range-partitioned by month of {@code created_at} on
+ * PostgreSQL, so the mappings still in use stay in a few small partitions.
+ * <p>
+ A plain {@code ticket_mappings} table is converted by the
+ * {@code migrate} command ({@link TicketMappingPartitionMigration}); until then it is left as it
+ * is and nothing is archived. Once it is partitioned, startup only sets up what goes with it:
+ * the database maintains {@code status_updated_at} on every status change, and the
+ * {@code ticket_mappings_archive} table receives mappings moved out by the
+ * {@link TicketMappingArchiver}. Every {@code app.ticket.partitions.maintenance-interval},
+ * partitions are created {@code app.ticket.partitions.months-ahead} months ahead and partitions
+ * left empty by archival are dropped once older than {@code app.ticket.archive.after}. Rows
+ * outside every partition, such as old mappings restored from the archive after their
+ * partition was dropped, land in the default partition.
+ * <p>
+ * While the table is plain, its Jira keys are constrained to be unique at startup; once it is
+ * partitioned, that is up to {@link TicketMappingPartitionMigration}. Schema changes are
+ * serialised across instances by an advisory lock. On databases other than PostgreSQL the table
+ * is left as Hibernate created it, and nothing is archived.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class TicketMappingPartitions implements InitializingBean {
+
+    static final String TABLE = "ticket_mappings";
+    static final String ARCHIVE_TABLE = "ticket_mappings_archive";
+
+    static final String COLUMNS =
+            "id, zoho_record_id, jira_key, email_message_id, initial_subject, status, created_at";
+
+    private static final String RESTORE_SQL =
+            "WITH restored AS (DELETE FROM " + ARCHIVE_TABLE + " WHERE %s RETURNING " + COLUMNS + ")"
+            + " INSERT INTO " + TABLE + " (" + COLUMNS + ", status_updated_at)"
+            + " SELECT " + COLUMNS + ", now() FROM restored";
+
+    /**
+     * Move the archived mappings for the Jira keys bound to {@code :jiraKeys} back into
+     * {@code ticket_mappings}, as one statement. Their status counts as changed now, so they
+     * stay out of the archive for another {@code app.ticket.archive.after}.
+     */
+    public static final String RESTORE_BY_JIRA_KEYS = RESTORE_SQL.formatted("jira_key IN (:jiraKeys)");
+
+    /**
+     * Move the archived mappings for the Zoho record ID bound to {@code :zohoRecordId} back into
+     * {@code ticket_mappings}, as {@link #RESTORE_BY_JIRA_KEYS} does.
+     */
+    public static final String RESTORE_BY_ZOHO_RECORD_ID = RESTORE_SQL.formatted("zoho_record_id = :zohoRecordId");
+
+    /**
+     * Move the archived mappings for the Message-IDs bound to {@code :emailMessageIds} back
+     * into {@code ticket_mappings}, as {@link #RESTORE_BY_JIRA_KEYS} does.
+     */
+    public static final String RESTORE_BY_EMAIL_MESSAGE_IDS = RESTORE_SQL.formatted("email_message_id IN (:emailMessageIds)");
+
+    /** Serialises partition maintenance across instances ("TMPT"). */
+    private static final long MAINTENANCE_LOCK = 0x544D5054L;
+
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final List<String> STATUS_TRIGGER = List.of(
+            """
+            CREATE OR REPLACE FUNCTION orchestrator_ticket_mapping_status_updated() RETURNS trigger AS $$
+            BEGIN
+                NEW.status_updated_at := now();
+                RETURN NEW;
+            END $$ LANGUAGE plpgsql""",
+            """
+            DO $$ BEGIN
+                IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'ticket_mappings_status_updated') THEN
+                    CREATE TRIGGER ticket_mappings_status_updated BEFORE UPDATE OF status ON ticket_mappings
+                        FOR EACH ROW WHEN (NEW.status IS DISTINCT FROM OLD.status)
+                        EXECUTE FUNCTION orchestrator_ticket_mapping_status_updated();
+                END IF;
+            END $$""");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean postgres;
+    private final int monthsAhead;
+    private final Duration archiveAfter;
+    private volatile boolean active;
+
+    public TicketMappingPartitions(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.ticket.partitions.enabled:true}") boolean enabled,
+        @Value("${spring.datasource.url}") String url,
+        @Value("${app.ticket.partitions.months-ahead:3}") int monthsAhead,
+        @Value("${app.ticket.archive.after:P90D}") Duration archiveAfter
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.postgres = url.startsWith("jdbc:postgresql:");
+        this.monthsAhead = monthsAhead;
+        this.archiveAfter = archiveAfter;
+    }
+
+    /**
+     * @return whether {@code ticket_mappings} is partitioned and the archive table exists, i.e.
+     *         whether archived mappings have to be restored by lookups that miss
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!postgres) {
+            log.info("Ticket mapping partitioning needs PostgreSQL; leaving {} unpartitioned", TABLE);
+            return;
+        }
+        Boolean partitioned = transactionTemplate.execute(status -> {
+            lock(jdbcTemplate);
+            if (!"p".equals(relationKind(jdbcTemplate))) {
+                addJiraKeyConstraint();
+                return false;
+            }
+            if (!enabled) {
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN status_updated_at SET DEFAULT now()");
+            STATUS_TRIGGER.forEach(jdbcTemplate::execute);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE
+                    + " (LIKE " + TABLE + " INCLUDING DEFAULTS, archived_at timestamp(6) with time zone NOT NULL DEFAULT now(),"
+                    + " PRIMARY KEY (id))");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + ARCHIVE_TABLE + "_jira_key ON " + ARCHIVE_TABLE + " (jira_key)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + ARCHIVE_TABLE + "_zoho_record_id ON " + ARCHIVE_TABLE + " (zoho_record_id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + ARCHIVE_TABLE + "_email_message_id ON " + ARCHIVE_TABLE + " (email_message_id)");
+            createPartitions(YearMonth.now(ZoneOffset.UTC));
+            return true;
+        });
+        if (!Boolean.TRUE.equals(partitioned)) {
+            if (enabled) {
+                log.info("{} is not partitioned yet; mappings are not archived until the 'migrate' command converts it", TABLE);
+            }
+            return;
+        }
+        active = true;
+    }
+
+    /**
+     * Create upcoming partitions and drop old ones emptied by archival.
+     */
+    @Scheduled(fixedDelayString = "${app.ticket.partitions.maintenance-interval:PT6H}",
+            initialDelayString = "${app.ticket.partitions.maintenance-interval:PT6H}")
+    public void maintain() {
+        if (!active) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock(jdbcTemplate);
+                createPartitions(YearMonth.now(ZoneOffset.UTC));
+            });
+            dropEmptiedPartitions();
+        } catch (Exception e) {
+            log.warn("Ticket mapping partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Constrain the Jira keys of a plain {@code ticket_mappings} table to be unique, unless a
+     * constraint on them alone exists already, as on tables Hibernate created with one.
+     */
+    private void addJiraKeyConstraint() {
+        Boolean constrained = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint c JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]"
+                        + " WHERE c.conrelid = to_regclass(?) AND c.contype = 'u' AND cardinality(c.conkey) = 1 AND a.attname = 'jira_key')",
+                Boolean.class, TABLE);
+        if (!Boolean.TRUE.equals(constrained)) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TicketMapping.JIRA_KEY_CONSTRAINT + " UNIQUE (jira_key)");
+            log.info("Added unique constraint {} to {}", TicketMapping.JIRA_KEY_CONSTRAINT, TABLE);
+        }
+    }
+
+    private void createPartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(jdbcTemplate, TABLE, current.plusMonths(i));
+        }
+    }
+
+    static void createPartition(JdbcTemplate jdbcTemplate, String table, YearMonth month) {
+        String name = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + table
+                + " FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00') TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+        log.info("Created ticket mapping partition {}", name);
+    }
+
+    /**
+     * Drop the monthly partitions that ended more than {@code app.ticket.archive.after} ago
+     * and have no rows left, one transaction each. The table is locked before the final
+     * check, so no row can be written to the partition in between.
+     */
+    private void dropEmptiedPartitions() {
+        YearMonth cutoff = YearMonth.from(Instant.now().minus(archiveAfter).atOffset(ZoneOffset.UTC));
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, TABLE);
+        for (String partition : partitions) {
+            YearMonth month = partitionMonth(partition);
+            // Checked without the lock first, to leave partitions still in use alone cheaply
+            if (month == null || !month.isBefore(cutoff) || hasRows(partition)) {
+                continue;
+            }
+            Boolean dropped = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+                if (hasRows(partition)) {
+                    return false;
+                }
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                return true;
+            });
+            if (Boolean.TRUE.equals(dropped)) {
+                log.info("Dropped emptied ticket mapping partition {}", partition);
+            }
+        }
+    }
+
+    private boolean hasRows(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class));
+    }
+
+    static void lock(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + MAINTENANCE_LOCK + ")");
+    }
+
+    /**
+     * @return the {@code pg_class.relkind} of {@code ticket_mappings}, {@code p} once it is
+     *         partitioned, or null if it does not exist
+     */
+    static String relationKind(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT (SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?))", String.class, TABLE);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(month);
+    }
+
+    private static YearMonth partitionMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
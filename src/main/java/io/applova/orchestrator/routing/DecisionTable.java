@@ -0,0 +1,239 @@
+package io.applova.orchestrator.routing;
+
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.model.enums.TicketTag;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A {@link RoutingRuleSet} compiled for evaluation.
+ * <p>
+ * Rules are numbered in order and represented as bits. Each condition maps every value named
+ * by some rule, and null, to the bits of the rules naming it, and keeps the bits of the rules
+ * without that condition. A webhook's matching rules are the AND of one such set per condition,
+ * further ANDed with the rules setting the outcome asked for; the lowest bit left is the
+ * deciding rule. Evaluation allocates nothing.
+ */
+final class DecisionTable {
+
+    /** The outcomes a rule can set. */
+    enum Decision {
+        TAG("tag"),
+        JIRA_ISSUE_TYPE("jira-issue-type"),
+        JIRA_PRIORITY("jira-priority");
+
+        private final String meterTag;
+
+        Decision(String meterTag) {
+            this.meterTag = meterTag;
+        }
+    }
+
+    static final String DEFAULT_RULE = "default";
+
+    private final int size;
+    private final int words;
+    private final Condition issueTypes;
+    private final Condition severities;
+    private final Condition products;
+    private final Condition revenueClasses;
+    private final Condition businessIds;
+    /** Per decision, the rules setting it. */
+    private final long[][] decides;
+    /** Per rule, then the defaults at index {@code size}. */
+    private final TicketTag[] tags;
+    private final String[] jiraIssueTypes;
+    private final String[] jiraPriorities;
+    /** Per decision, per rule, then the defaults at index {@code size}. */
+    private final Counter[][] hits;
+
+    DecisionTable(RoutingRuleSet ruleSet, MeterRegistry meterRegistry) {
+        if (ruleSet.defaultTag() == null || isBlank(ruleSet.defaultJiraIssueType()) || isBlank(ruleSet.defaultJiraPriority())) {
+            throw new IllegalArgumentException("defaultTag, defaultJiraIssueType and defaultJiraPriority are required");
+        }
+        List<RoutingRule> rules = ruleSet.rules() != null ? ruleSet.rules() : List.of();
+        this.size = rules.size();
+        this.words = (size + 63) >>> 6;
+        this.issueTypes = new Condition(words);
+        this.severities = new Condition(words);
+        this.products = new Condition(words);
+        this.revenueClasses = new Condition(words);
+        this.businessIds = new Condition(words);
+        this.decides = new long[Decision.values().length][words];
+        this.tags = new TicketTag[size + 1];
+        this.jiraIssueTypes = new String[size + 1];
+        this.jiraPriorities = new String[size + 1];
+        this.hits = new Counter[Decision.values().length][size + 1];
+
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            RoutingRule rule = rules.get(i);
+            if (isBlank(rule.name()) || DEFAULT_RULE.equals(rule.name()) || !names.add(rule.name())) {
+                throw new IllegalArgumentException("Rule " + (i + 1) + " needs a unique name other than '"
+                        + DEFAULT_RULE + "', found '" + rule.name() + "'");
+            }
+            if (rule.tag() == null && isBlank(rule.jiraIssueType()) && isBlank(rule.jiraPriority())) {
+                throw new IllegalArgumentException("Rule '" + rule.name() + "' sets neither tag, jiraIssueType nor jiraPriority");
+            }
+            issueTypes.add(i, rule.issueTypes());
+            severities.add(i, rule.severities());
+            products.add(i, rule.products());
+            revenueClasses.add(i, rule.revenueClasses());
+            businessIds.add(i, rule.businessIds());
+            define(i, Decision.TAG, rule.tag() != null);
+            define(i, Decision.JIRA_ISSUE_TYPE, !isBlank(rule.jiraIssueType()));
+            define(i, Decision.JIRA_PRIORITY, !isBlank(rule.jiraPriority()));
+            tags[i] = rule.tag();
+            jiraIssueTypes[i] = rule.jiraIssueType();
+            jiraPriorities[i] = rule.jiraPriority();
+            registerHits(i, rule.name(), meterRegistry);
+        }
+        for (Condition condition : List.of(issueTypes, severities, products, revenueClasses, businessIds)) {
+            condition.complete();
+        }
+        tags[size] = ruleSet.defaultTag();
+        jiraIssueTypes[size] = ruleSet.defaultJiraIssueType();
+        jiraPriorities[size] = ruleSet.defaultJiraPriority();
+        registerHits(size, DEFAULT_RULE, meterRegistry);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of the first rule matching the payload and setting the decision, or
+     *         {@link #size()} if none does
+     */
+    int match(Decision decision, ZohoWebhookPayload payload) {
+        long[] deciding = decides[decision.ordinal()];
+        long[] issueType = issueTypes.matching(payload.getIssueType());
+        long[] severity = severities.matching(payload.getIssueSeverity());
+        long[] revenueClass = revenueClasses.matching(payload.getBusinessRevenueClass());
+        long[] businessId = businessIds.matching(payload.getBusinessId());
+        List<String> issueProducts = payload.getIssueProducts();
+        for (int w = 0; w < words; w++) {
+            long matching = deciding[w] & issueType[w] & severity[w] & revenueClass[w] & businessId[w];
+            if (matching != 0) {
+                matching &= products.matching(issueProducts, w);
+            }
+            if (matching != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(matching);
+            }
+        }
+        return size;
+    }
+
+    TicketTag tag(int rule) {
+        return tags[rule];
+    }
+
+    String jiraIssueType(int rule) {
+        return jiraIssueTypes[rule];
+    }
+
+    String jiraPriority(int rule) {
+        return jiraPriorities[rule];
+    }
+
+    void hit(Decision decision, int rule) {
+        hits[decision.ordinal()][rule].increment();
+    }
+
+    private void define(int rule, Decision decision, boolean sets) {
+        if (sets) {
+            set(decides[decision.ordinal()], rule);
+        }
+    }
+
+    private void registerHits(int rule, String name, MeterRegistry meterRegistry) {
+        for (Decision decision : Decision.values()) {
+            hits[decision.ordinal()][rule] = Counter.builder("orchestrator.routing.rule-hits")
+                    .description("Routing decisions made by each rule")
+                    .tag("rule", name)
+                    .tag("decision", decision.meterTag)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static void set(long[] bits, int rule) {
+        bits[rule >>> 6] |= 1L << rule;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * The rules matching each value of one field, ignoring case, or its absence.
+     */
+    private static final class Condition {
+
+        private final int words;
+        /** Rules without this condition, which match any value. */
+        private final long[] any;
+        /** Rules naming null, plus those in {@link #any} once complete. */
+        private final long[] missing;
+        /** Per value, the rules naming it, plus those in {@link #any} once complete. */
+        private final TreeMap<String, long[]> byValue = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        Condition(int words) {
+            this.words = words;
+            this.any = new long[words];
+            this.missing = new long[words];
+        }
+
+        void add(int rule, List<String> values) {
+            if (values == null || values.isEmpty()) {
+                set(any, rule);
+                return;
+            }
+            for (String value : values) {
+                set(value != null ? byValue.computeIfAbsent(value, key -> new long[words]) : missing, rule);
+            }
+        }
+
+        /** Called once all rules are added. */
+        void complete() {
+            for (long[] bits : byValue.values()) {
+                for (int w = 0; w < words; w++) {
+                    bits[w] |= any[w];
+                }
+            }
+            for (int w = 0; w < words; w++) {
+                missing[w] |= any[w];
+            }
+        }
+
+        /**
+         * @return the rules matching the value; not to be modified
+         */
+        long[] matching(String value) {
+            if (value == null) {
+                return missing;
+            }
+            long[] bits = byValue.get(value);
+            return bits != null ? bits : any;
+        }
+
+        /**
+         * @return word {@code w} of the rules matching any of the values, or their absence if
+         *         there are none
+         */
+        long matching(List<String> values, int w) {
+            if (values == null || values.isEmpty()) {
+                return missing[w];
+            }
+            long word = any[w];
+            for (int i = 0; i < values.size(); i++) {
+                word |= matching(values.get(i))[w];
+            }
+            return word;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.applova.orchestrator.routing;
+
+import io.applova.orchestrator.model.enums.TicketTag;
+
+import java.util.List;
+
+/**
+ * One routing rule, as read from the rules file.
+ * <p>
+ * A rule matches a webhook when every condition it has matches; a missing or empty condition
+ * matches anything. Values are compared ignoring case, and a null value matches a webhook
+ * without the field. A rule decides the outcomes it sets,
+ * for webhooks not matched by an earlier rule setting the same outcome.
+ *
+ * @param name           unique name, used as the {@code rule} tag of the hit counter
+ * @param issueTypes     Zoho issue types ({@code iType}) matched
+ * @param severities     Zoho issue severities ({@code iSev}) matched
+ * @param products       issue products ({@code iProds}) matched; any one of them is enough
+ * @param revenueClasses business revenue classes ({@code bizRevClass}) matched
+ * @param businessIds    business IDs ({@code bizId}) matched
+ * @param tag            how the ticket is processed
+ * @param jiraIssueType  the Jira issue type name
+ * @param jiraPriority   the Jira priority name
+ */
+public record RoutingRule(
+    String name,
+    List<String> issueTypes,
+    List<String> severities,
+    List<String> products,
+    List<String> revenueClasses,
+    List<String> businessIds,
+    TicketTag tag,
+    String jiraIssueType,
+    String jiraPriority
+) {
+}
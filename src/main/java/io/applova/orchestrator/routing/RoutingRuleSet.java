@@ -0,0 +1,17 @@
+package io.applova.orchestrator.routing;
+
+import io.applova.orchestrator.model.enums.TicketTag;
+
+import java.util.List;
+
+/**
+ * The contents of the rules file: rules in order of precedence, and the outcomes of webhooks
+ * that no rule decides.
+ */
+public record RoutingRuleSet(
+    TicketTag defaultTag,
+    String defaultJiraIssueType,
+    String defaultJiraPriority,
+    List<RoutingRule> rules
+) {
+}
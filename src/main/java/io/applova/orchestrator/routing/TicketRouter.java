@@ -0,0 +1,154 @@
+package io.applova.orchestrator.routing;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.model.enums.TicketTag;
+import io.applova.orchestrator.routing.DecisionTable.Decision;
+import io.applova.orchestrator.warmup.WarmUpTask;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Decides how a Zoho webhook is processed and how its Jira ticket is classified, from the
+ * rules in {@code app.routing.rules}.
+ * <p>
+ * The rules file is checked for changes every {@code app.routing.reload-interval} and
+ * recompiled when it has changed; an invalid file is logged and the previous rules stay in
+ * use. An invalid file at startup prevents startup. Every decision is counted on
+ * {@code orchestrator.routing.rule-hits}, by the rule that made it, or {@code default}.
+ */
+@Slf4j
+@Component
+public class TicketRouter implements WarmUpTask {
+
+    private final Resource location;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private volatile DecisionTable table;
+    private long lastModified;
+
+    @Value("${app.warmup.payload.iterations:5000}")
+    private int warmUpIterations;
+
+    public TicketRouter(
+        @Value("${app.routing.rules:classpath:routing-rules.json}") Resource location,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) throws IOException {
+        this.location = location;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.lastModified = lastModified();
+        this.table = load();
+    }
+
+    /**
+     * @return how the webhook is processed
+     */
+    public TicketTag tag(ZohoWebhookPayload payload) {
+        DecisionTable current = table;
+        int rule = current.match(Decision.TAG, payload);
+        current.hit(Decision.TAG, rule);
+        return current.tag(rule);
+    }
+
+    /**
+     * @return the name of the Jira issue type to create
+     */
+    public String jiraIssueType(ZohoWebhookPayload payload) {
+        DecisionTable current = table;
+        int rule = current.match(Decision.JIRA_ISSUE_TYPE, payload);
+        current.hit(Decision.JIRA_ISSUE_TYPE, rule);
+        return current.jiraIssueType(rule);
+    }
+
+    /**
+     * @return the name of the Jira priority to create the issue with
+     */
+    public String jiraPriority(ZohoWebhookPayload payload) {
+        DecisionTable current = table;
+        int rule = current.match(Decision.JIRA_PRIORITY, payload);
+        current.hit(Decision.JIRA_PRIORITY, rule);
+        return current.jiraPriority(rule);
+    }
+
+    @Scheduled(fixedDelayString = "${app.routing.reload-interval:PT30S}",
+            initialDelayString = "${app.routing.reload-interval:PT30S}")
+    public void reload() {
+        long modified = lastModified();
+        if (modified == lastModified) {
+            return;
+        }
+        // Also when invalid, so that the failure is logged once per change
+        lastModified = modified;
+        try {
+            table = load();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not reload routing rules from {}, keeping the previous rules: {}", location, e.getMessage());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "routing";
+    }
+
+    /**
+     * Evaluate the rules without counting, so that they are JIT-compiled before real traffic
+     * arrives.
+     */
+    @Override
+    public Mono<Void> warmUp() {
+        return Mono.<Void>fromRunnable(() -> {
+            ZohoWebhookPayload payload = ZohoWebhookPayload.builder()
+                    .issueType("Bug")
+                    .issueSeverity("High")
+                    .issueProducts(List.of("POS"))
+                    .businessRevenueClass("Gold")
+                    .businessId("BIZ-0")
+                    .build();
+            DecisionTable current = table;
+            for (int i = 0; i < warmUpIterations; i++) {
+                for (Decision decision : Decision.values()) {
+                    current.match(decision, payload);
+                }
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private DecisionTable load() throws IOException {
+        RoutingRuleSet ruleSet;
+        try (InputStream in = location.getInputStream()) {
+            // A misspelt condition would otherwise match everything
+            ruleSet = objectMapper.readerFor(RoutingRuleSet.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(in);
+        }
+        DecisionTable compiled = new DecisionTable(ruleSet, meterRegistry);
+        log.info("Loaded {} routing rules from {}", compiled.size(), location);
+        return compiled;
+    }
+
+    /**
+     * @return when the rules file was last modified, or 0 if that cannot be told, in which
+     *         case it is never reloaded
+     */
+    private long lastModified() {
+        try {
+            return location.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.applova.orchestrator.service;
+
+import io.applova.orchestrator.model.dto.JiraReplayReport;
+
+import java.io.InputStream;
+
+public interface JiraEventReplayService {
+    /**
+     * Replay a stream of newline-delimited Jira webhook events through
+     * {@link JiraWebhookService}, reading it incrementally so that memory use does not
+     * depend on the stream's length. Blocks until every dispatched event has finished.
+     *
+     * @param events the NDJSON stream, one webhook body per line
+     * @return the replay's outcome
+     */
+    JiraReplayReport replay(InputStream events);
+}
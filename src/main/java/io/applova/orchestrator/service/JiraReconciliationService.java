@@ -0,0 +1,17 @@
+package io.applova.orchestrator.service;
+
+import io.applova.orchestrator.model.dto.JiraReconciliationResult;
+import reactor.core.publisher.Mono;
+
+/**
+ * Brings ticket mapping statuses back in line with Jira when webhooks were missed.
+ */
+public interface JiraReconciliationService {
+    /**
+     * Check the issues updated in Jira since the previous run and correct the status of every
+     * mapping that disagrees, notifying the customer as a status webhook would have.
+     *
+     * @return A Mono containing the outcome of the run
+     */
+    Mono<JiraReconciliationResult> reconcile();
+}
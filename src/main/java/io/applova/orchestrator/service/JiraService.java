@@ -1,8 +1,11 @@
 package io.applova.orchestrator.service;
 
+import io.applova.orchestrator.model.dto.JiraSearchPage;
 import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Service for interacting with Jira API to create and manage tickets.
  */
@@ -23,4 +26,24 @@ public interface JiraService {
      * @return A Mono indicating the completion of the update
      */
     Mono<Void> updateTicketStatus(String ticketKey, String newStatus);
+
+    /**
+     * Add a comment to an existing Jira ticket.
+     *
+     * @param ticketKey The unique key of the Jira ticket
+     * @param body      The comment text, in Jira wiki markup
+     * @return A Mono indicating the completion of the comment
+     */
+    Mono<Void> addComment(String ticketKey, String body);
+
+    /**
+     * Search issues with JQL, fetching one page of results.
+     *
+     * @param jql        The JQL query, including its {@code ORDER BY}
+     * @param fields     The issue fields to return; only status and updated time are read
+     * @param startAt    Index of the first result to return
+     * @param maxResults Maximum number of results on the page
+     * @return A Mono containing the page of issues
+     */
+    Mono<JiraSearchPage> searchIssues(String jql, List<String> fields, int startAt, int maxResults);
 }
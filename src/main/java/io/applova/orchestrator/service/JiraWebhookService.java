@@ -0,0 +1,19 @@
+package io.applova.orchestrator.service;
+
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies Jira webhook events: new issues get an initial email thread and a ticket mapping,
+ * status changes update the mapping and notify the thread.
+ */
+public interface JiraWebhookService {
+    /**
+     * Apply one Jira event.
+     *
+     * @param details the event's extracted details; must be {@link JiraWebhookDetails#isValid() valid}
+     * @return Mono emitting a short description of what was done, or failing with
+     *         {@link io.applova.orchestrator.exception.JiraEventProcessingException}
+     */
+    Mono<String> process(JiraWebhookDetails details);
+}
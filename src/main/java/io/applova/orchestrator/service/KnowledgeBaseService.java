@@ -1,5 +1,6 @@
 package io.applova.orchestrator.service;
 
+import io.applova.orchestrator.model.enums.TicketTag;
 import reactor.core.publisher.Mono;
 
 /**
@@ -11,8 +12,9 @@ public interface KnowledgeBaseService {
      *
      * @param subject     The subject of the query
      * @param description Detailed description or context for the query
+     * @param tag         The ticket's tag, which together with the prompt size selects the model
      * @return A Mono containing the generated response from the GPT API
      */
-    Mono<String> queryGpt(String subject, String description);
+    Mono<String> queryGpt(String subject, String description, TicketTag tag);
 }
 
@@ -1,8 +1,11 @@
 package io.applova.orchestrator.service;
 
 import io.applova.orchestrator.model.TicketMapping;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * Service for managing ticket mappings across different systems.
  */
@@ -18,6 +21,15 @@ public interface TicketService {
      */
     Mono<TicketMapping> saveMapping(String zohoRecordId, String jiraKey, String emailMessageId, String subject);
 
+    /**
+     * Save a stream of ticket mappings, flushing them to the database in batches.
+     * Mappings without a status or creation time are defaulted as in {@link #saveMapping}.
+     *
+     * @param mappings The mappings to persist
+     * @return A Flux emitting each saved TicketMapping, in batch order
+     */
+    Flux<TicketMapping> saveMappings(Flux<TicketMapping> mappings);
+
     /**
      * Find a ticket mapping by Jira key.
      *
@@ -26,6 +38,24 @@ public interface TicketService {
      */
     Mono<TicketMapping> findByJiraKey(String jiraKey);
 
+    /**
+     * Find the ticket mappings for a set of Jira keys with a single query.
+     * Keys without a mapping are skipped.
+     *
+     * @param jiraKeys The Jira ticket keys
+     * @return A Flux emitting the mappings found, in no particular order
+     */
+    Flux<TicketMapping> findByJiraKeys(Collection<String> jiraKeys);
+
+    /**
+     * Find the ticket mappings whose email thread was started by one of the given messages,
+     * e.g. the messages an inbound reply refers to.
+     *
+     * @param emailMessageIds Message-IDs, as stored with the mappings
+     * @return A Flux emitting the mappings found, in no particular order
+     */
+    Flux<TicketMapping> findByEmailMessageIds(Collection<String> emailMessageIds);
+
     /**
      * Find a ticket mapping by its Zoho record ID.
      *
@@ -0,0 +1,26 @@
+package io.applova.orchestrator.service;
+
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import reactor.core.publisher.Mono;
+
+public interface ZohoTicketPipeline {
+    /**
+     * Process a Zoho ticket: route it by type and severity, send a GPT auto-reply where
+     * applicable, create the Jira ticket and save the ticket mapping.
+     *
+     * @param payload Zoho webhook payload
+     * @return Mono completing when the ticket is fully processed, or failing with
+     *         {@link io.applova.orchestrator.exception.PipelineSuspendedException} if it was
+     *         checkpointed by shutdown
+     */
+    Mono<Void> process(ZohoWebhookPayload payload);
+
+    /**
+     * Resume an interrupted execution after its last completed step.
+     *
+     * @param progress the execution's recorded progress
+     * @return Mono completing when the ticket is fully processed
+     */
+    Mono<Void> resume(ZohoPipelineProgress progress);
+}
@@ -0,0 +1,18 @@
+package io.applova.orchestrator.service;
+
+import io.applova.orchestrator.model.dto.ZohoBatchResponse;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ZohoWebhookBatchService {
+    /**
+     * Validate, deduplicate and process a batch of Zoho tickets through the ticket pipeline,
+     * with bounded parallelism.
+     *
+     * @param payloads the delivered tickets
+     * @return Mono emitting a result for every item, in delivery order
+     */
+    Mono<ZohoBatchResponse> process(List<ZohoWebhookPayload> payloads);
+}
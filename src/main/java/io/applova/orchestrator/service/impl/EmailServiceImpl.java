@@ -1,6 +1,9 @@
 package io.applova.orchestrator.service.impl;
 
+import io.applova.orchestrator.bulkhead.Bulkheads;
 import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.repository.SentEmailRepository;
 import io.applova.orchestrator.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,13 +12,10 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import jakarta.mail.internet.MimeMessage;
+import java.time.Instant;
 import java.util.UUID;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.Collections;
 
 @Slf4j
 @Service
@@ -23,24 +23,28 @@ import java.util.Collections;
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final PipelineObservations observations;
+    // Tracks sent initial emails across all instances
+    private final SentEmailRepository sentEmailRepository;
+    private final Bulkheads bulkheads;
 
     @Value("${spring.mail.username}")
     private String senderEmail;
 
-    // Add a simple cache to track sent initial emails
-    private final Set<String> sentInitialEmails = Collections.synchronizedSet(new HashSet<>());
-
     @Override
     public Mono<String> sendAutoReply(ZohoWebhookPayload payload, String kbResponse) {
-        return Mono.fromCallable(() -> {
+        return observations.stage("email.auto-reply", bulkheads.smtp().call(() -> {
             try {
                 // Generate a unique message ID
-                String messageId = UUID.randomUUID().toString();
+                String messageId = generateMessageId();
 
                 // Create a MIME message
                 MimeMessage message = mailSender.createMimeMessage();
                 MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
+                // Set Message-ID header, so that customer replies can be traced back to the ticket
+                message.setHeader("Message-ID", messageId);
+
                 // Set email details
                 helper.setFrom(senderEmail);
                 helper.setTo(payload.getContactEmail());
@@ -51,7 +55,7 @@ public class EmailServiceImpl implements EmailService {
                 helper.setText(emailBody, true); // true indicates HTML content
 
                 // Send the email
-                mailSender.send(message);
+                sendMessage(message);
 
                 log.info("Sent auto-reply email to {}", payload.getContactEmail());
                 return messageId;
@@ -59,12 +63,12 @@ public class EmailServiceImpl implements EmailService {
                 log.error("Error sending auto-reply email: {}", e.getMessage(), e);
                 throw new RuntimeException("Failed to send email", e);
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        }));
     }
 
     @Override
     public Mono<Void> sendStatusUpdate(String emailMessageId, String jiraKey, String newStatus) {
-        return Mono.fromCallable(() -> {
+        return observations.stage("email.status-update", bulkheads.smtp().call(() -> {
             try {
                 // Create a MIME message for status update
                 MimeMessage message = mailSender.createMimeMessage();
@@ -91,7 +95,7 @@ public class EmailServiceImpl implements EmailService {
                 helper.setText(emailBody, true);
 
                 // Send the email
-                mailSender.send(message);
+                sendMessage(message);
 
                 log.info("Sent status update email for ticket {} in thread {}", jiraKey, normalizedMessageId);
                 return null;
@@ -99,63 +103,79 @@ public class EmailServiceImpl implements EmailService {
                 log.error("Error sending status update email: {}", e.getMessage(), e);
                 throw new RuntimeException("Failed to send status update email", e);
             }
-        }).subscribeOn(Schedulers.boundedElastic()).then();
+        }).then());
     }
 
     @Override
     public Mono<String> createInitialTicketEmail(String zohoRecordId, String jiraKey, String status) {
-        return Mono.fromCallable(() -> {
-            // Check if an initial email for this ticket has already been sent
-            String emailKey = jiraKey + "_" + status;
-            if (sentInitialEmails.contains(emailKey)) {
-                log.info("Initial email for ticket {} with status {} already sent. Skipping.", jiraKey, status);
-                return null;
-            }
+        // Check if an initial email for this ticket has already been sent; the reservation and
+        // its rollback are database calls and run on the jpa bulkhead, only the send on smtp
+        String emailKey = jiraKey + "_" + status;
+        return observations.stage("email.initial-ticket", bulkheads.jpa().call(() -> sentEmailRepository.reserve(emailKey, Instant.now()))
+                .flatMap(reserved -> {
+                    if (reserved == 0) {
+                        log.info("Initial email for ticket {} with status {} already sent. Skipping.", jiraKey, status);
+                        return Mono.empty();
+                    }
+                    return bulkheads.smtp().call(() -> sendInitialTicketEmail(zohoRecordId, jiraKey, status))
+                            // Release the reservation so a retry can send it
+                            .onErrorResume(ex -> bulkheads.jpa().run(() -> sentEmailRepository.deleteById(emailKey))
+                                    .onErrorResume(rollbackEx -> {
+                                        log.error("Could not release initial email reservation {}: {}", emailKey, rollbackEx.getMessage());
+                                        return Mono.empty();
+                                    })
+                                    .then(Mono.error(ex)));
+                }));
+    }
 
-            try {
-                // Generate a unique message ID
-                String emailMessageId = generateMessageId();
-                
-                // Prepare the email message
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true);
-                
-                // Set Message-ID header
-                message.setHeader("Message-ID", emailMessageId);
-                
-                // Set basic email details
-                helper.setFrom(senderEmail);
-                helper.setTo(senderEmail); // You might want to fetch the actual recipient dynamically
-                helper.setSubject("Ticket " + jiraKey + " - Initial Status: " + status);
-                
-                // Compose email body
-                String emailBody = String.format(
-                    "Ticket Details:\n" +
-                    "Zoho Record ID: %s\n" +
-                    "Jira Key: %s\n" +
-                    "Current Status: %s\n\n" +
-                    "This is an initial email thread created for tracking purposes.",
-                    zohoRecordId, jiraKey, status
-                );
-                
-                helper.setText(emailBody);
-                
-                // Send the email
-                mailSender.send(message);
-                
-                // Mark this email as sent to prevent duplicates
-                sentInitialEmails.add(emailKey);
-                
-                log.info("Created initial email thread for Jira ticket: {}", jiraKey);
-                return emailMessageId;
-            } catch (Exception e) {
-                log.error("Error creating initial ticket email: {}", e.getMessage(), e);
-                throw new RuntimeException("Failed to create initial ticket email", e);
-            }
-        }).publishOn(Schedulers.boundedElastic());
+    private String sendInitialTicketEmail(String zohoRecordId, String jiraKey, String status) {
+        try {
+            // Generate a unique message ID
+            String emailMessageId = generateMessageId();
+            
+            // Prepare the email message
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            
+            // Set Message-ID header
+            message.setHeader("Message-ID", emailMessageId);
+            
+            // Set basic email details
+            helper.setFrom(senderEmail);
+            helper.setTo(senderEmail); // You might want to fetch the actual recipient dynamically
+            helper.setSubject("Ticket " + jiraKey + " - Initial Status: " + status);
+            
+            // Compose email body
+            String emailBody = String.format(
+                "Ticket Details:\n" +
+                "Zoho Record ID: %s\n" +
+                "Jira Key: %s\n" +
+                "Current Status: %s\n\n" +
+                "This is an initial email thread created for tracking purposes.",
+                zohoRecordId, jiraKey, status
+            );
+            
+            helper.setText(emailBody);
+            
+            // Send the email
+            sendMessage(message);
+            
+            log.info("Created initial email thread for Jira ticket: {}", jiraKey);
+            return emailMessageId;
+        } catch (Exception e) {
+            log.error("Error creating initial ticket email: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to create initial ticket email", e);
+        }
+    }
+
+    private void sendMessage(MimeMessage message) {
+        observations.stage("smtp.send", () -> {
+            mailSender.send(message);
+            return null;
+        });
     }
 
-    private String buildEmailBody(ZohoWebhookPayload payload, String kbResponse) {
+    static String buildEmailBody(ZohoWebhookPayload payload, String kbResponse) {
         return String.format(
             "<html><body>" +
             "<h2>Auto-Reply for: %s</h2>" +
@@ -170,7 +190,7 @@ public class EmailServiceImpl implements EmailService {
         );
     }
 
-    private String buildStatusUpdateBody(String emailMessageId, String jiraKey, String newStatus) {
+    static String buildStatusUpdateBody(String emailMessageId, String jiraKey, String newStatus) {
         // Determine if the status indicates a functionality problem
         boolean isProblemStatus = isProblemStatus(newStatus);
         
@@ -199,7 +219,7 @@ public class EmailServiceImpl implements EmailService {
      * @param status The current ticket status
      * @return true if the status suggests functionality issues, false otherwise
      */
-    private boolean isProblemStatus(String status) {
+    static boolean isProblemStatus(String status) {
         // Expanded list of statuses that might indicate functionality problems
         String[] problemStatuses = {
             "blocked", 
@@ -220,12 +240,12 @@ public class EmailServiceImpl implements EmailService {
         for (String problemStatus : problemStatuses) {
             if (lowercaseStatus.equals(problemStatus) || 
                 lowercaseStatus.contains(problemStatus)) {
-                log.info("Detected problem status: {} matches {}", lowercaseStatus, problemStatus);
+                log.debug("Detected problem status: {} matches {}", lowercaseStatus, problemStatus);
                 return true;
             }
         }
         
-        log.info("Status '{}' not considered a problem status", lowercaseStatus);
+        log.debug("Status '{}' not considered a problem status", lowercaseStatus);
         return false;
     }
 
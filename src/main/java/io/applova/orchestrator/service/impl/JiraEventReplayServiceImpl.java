@@ -0,0 +1,221 @@
+package io.applova.orchestrator.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.admission.AdmissionControl;
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.deadletter.DeadLetterStore;
+import io.applova.orchestrator.exception.TicketMappingNotFoundException;
+import io.applova.orchestrator.model.dto.JiraReplayReport;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.queue.WebhookJobQueue;
+import io.applova.orchestrator.service.JiraEventReplayService;
+import io.applova.orchestrator.service.JiraWebhookService;
+import io.applova.orchestrator.webhook.JiraWebhookFieldExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays NDJSON streams of Jira events with at most {@code app.jira.replay.concurrency}
+ * events in flight.
+ * <p>
+ * Events are parsed one at a time from the stream with {@link JiraWebhookFieldExtractor},
+ * and the next one is read only once a slot is free, so the stream is consumed at the pace
+ * events are processed and never buffered. Each event counts as an in-flight Jira pipeline,
+ * so shutdown drains it; reading stops once shutdown begins. With {@code app.queue.enabled},
+ * events are queued as webhooks are, and run in order with other events for their issue.
+ * Otherwise events that fail are recorded in the {@link DeadLetterStore}, as failed webhooks
+ * are; the report lists only the first {@code app.jira.replay.max-reported-failures}.
+ * Malformed JSON stops the replay, since the position of the next event can no longer be
+ * trusted.
+ */
+@Slf4j
+@Service
+public class JiraEventReplayServiceImpl implements JiraEventReplayService {
+
+    private final JsonFactory jsonFactory;
+    private final JiraWebhookFieldExtractor fieldExtractor;
+    private final JiraWebhookService jiraWebhookService;
+    private final PipelineObservations observations;
+    private final AdmissionControl admissionControl;
+    private final WebhookJobQueue jobQueue;
+    private final Bulkheads bulkheads;
+    private final DeadLetterStore deadLetters;
+
+    @Value("${app.jira.replay.concurrency:8}")
+    private int concurrency;
+
+    @Value("${app.jira.replay.progress-interval:1000}")
+    private int progressInterval;
+
+    @Value("${app.jira.replay.max-reported-failures:100}")
+    private int maxReportedFailures;
+
+    public JiraEventReplayServiceImpl(
+        ObjectMapper objectMapper,
+        JiraWebhookFieldExtractor fieldExtractor,
+        JiraWebhookService jiraWebhookService,
+        PipelineObservations observations,
+        AdmissionControl admissionControl,
+        WebhookJobQueue jobQueue,
+        Bulkheads bulkheads,
+        DeadLetterStore deadLetters
+    ) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.fieldExtractor = fieldExtractor;
+        this.jiraWebhookService = jiraWebhookService;
+        this.observations = observations;
+        this.admissionControl = admissionControl;
+        this.jobQueue = jobQueue;
+        this.bulkheads = bulkheads;
+        this.deadLetters = deadLetters;
+    }
+
+    @Override
+    public JiraReplayReport replay(InputStream events) {
+        Replay replay = new Replay();
+        Semaphore slots = new Semaphore(concurrency);
+        String stopReason = null;
+        int line = 0;
+
+        try (JsonParser parser = jsonFactory.createParser(events)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                line = parser.currentLocation().getLineNr();
+                if (!admissionControl.isAdmitting()) {
+                    stopReason = "Service is shutting down";
+                    break;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    replay.invalid(line, null, "Not a JSON object");
+                    continue;
+                }
+
+                JiraWebhookDetails details = fieldExtractor.extract(parser);
+                if (!details.isValid()) {
+                    replay.invalid(line, details.getIssueKey(), "Invalid payload structure");
+                    continue;
+                }
+
+                slots.acquire();
+                replay.dispatch(line, details, slots);
+            }
+        } catch (JsonProcessingException e) {
+            stopReason = "Malformed JSON at line " + e.getLocation().getLineNr() + ": " + e.getOriginalMessage();
+        } catch (IOException e) {
+            stopReason = "Error reading events: " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopReason = "Interrupted";
+        }
+
+        // Wait for the events still in flight
+        slots.acquireUninterruptibly(concurrency);
+        return replay.report(stopReason, stopReason == null ? null : line);
+    }
+
+    private final class Replay {
+        private final long started = System.nanoTime();
+        private final AtomicInteger events = new AtomicInteger();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger invalid = new AtomicInteger();
+        private final List<JiraReplayReport.Failure> failures = Collections.synchronizedList(new ArrayList<>());
+
+        void dispatch(int line, JiraWebhookDetails details, Semaphore slots) {
+            countEvent();
+            boolean queue = jobQueue.isEnabled();
+            Mono<?> work = queue
+                    ? bulkheads.jpa().call(() -> jobQueue.enqueue(details))
+                    : observations.pipeline("jira", jiraWebhookService.process(details))
+                            // Recorded before the slot is released, so the replay waits for it
+                            .onErrorResume(ex -> bulkheads.jpa().run(() -> deadLetters.record(details, ex))
+                                    .onErrorResume(rejected -> {
+                                        log.error("Could not record failed Jira event {} for replay: {}",
+                                                details.getIssueKey(), rejected.getMessage());
+                                        return Mono.empty();
+                                    })
+                                    .then(Mono.error(ex)));
+            // Subscribed off the request thread, which goes on reading the stream
+            work.subscribeOn(Schedulers.boundedElastic())
+                    .doFinally(signal -> slots.release())
+                    .subscribe(
+                            result -> (queue ? queued : processed).incrementAndGet(),
+                            ex -> {
+                                if (ex instanceof TicketMappingNotFoundException) {
+                                    skipped.incrementAndGet();
+                                    return;
+                                }
+                                failed.incrementAndGet();
+                                recordFailure(line, details.getIssueKey(), ex.getMessage());
+                            });
+        }
+
+        void invalid(int line, String issueKey, String message) {
+            countEvent();
+            invalid.incrementAndGet();
+            recordFailure(line, issueKey, message);
+        }
+
+        private void countEvent() {
+            int count = events.incrementAndGet();
+            if (progressInterval > 0 && count % progressInterval == 0) {
+                log.info("Jira replay progress: {} events read, {} processed, {} failed, {} invalid",
+                        count, processed.get(), failed.get(), invalid.get());
+            }
+        }
+
+        private void recordFailure(int line, String issueKey, String message) {
+            synchronized (failures) {
+                if (failures.size() < maxReportedFailures) {
+                    failures.add(JiraReplayReport.Failure.builder()
+                            .line(line)
+                            .issueKey(issueKey)
+                            .message(message)
+                            .build());
+                }
+            }
+        }
+
+        JiraReplayReport report(String stopReason, Integer resumeFromLine) {
+            long durationMs = (System.nanoTime() - started) / 1_000_000;
+            JiraReplayReport report = JiraReplayReport.builder()
+                    .completed(stopReason == null)
+                    .stopReason(stopReason)
+                    .resumeFromLine(resumeFromLine)
+                    .events(events.get())
+                    .processed(processed.get())
+                    .queued(queued.get())
+                    .failed(failed.get())
+                    .skipped(skipped.get())
+                    .invalid(invalid.get())
+                    .durationMs(durationMs)
+                    .eventsPerSecond(durationMs == 0 ? 0 : events.get() * 1000.0 / durationMs)
+                    .failures(new ArrayList<>(failures))
+                    .build();
+            log.info("Jira replay {}: {} events, {} processed, {} queued, {} failed, {} skipped, {} invalid in {} ms",
+                    report.isCompleted() ? "completed" : "stopped (" + stopReason + ")", report.getEvents(),
+                    report.getProcessed(), report.getQueued(), report.getFailed(), report.getSkipped(),
+                    report.getInvalid(), durationMs);
+            return report;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package io.applova.orchestrator.service.impl;
+
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.model.SyncCursor;
+import io.applova.orchestrator.model.TicketMapping;
+import io.applova.orchestrator.model.dto.JiraIssueStatus;
+import io.applova.orchestrator.model.dto.JiraReconciliationResult;
+import io.applova.orchestrator.model.dto.JiraSearchPage;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.queue.WebhookJobQueue;
+import io.applova.orchestrator.repository.SyncCursorRepository;
+import io.applova.orchestrator.service.JiraReconciliationService;
+import io.applova.orchestrator.service.JiraService;
+import io.applova.orchestrator.service.JiraWebhookService;
+import io.applova.orchestrator.service.TicketService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Reconciles ticket mapping statuses against a JQL search for the project's issues updated
+ * since a persisted cursor.
+ * <p>
+ * Results are paged in update order with only the status and updated fields, and each page is
+ * matched against {@code ticket_mappings} with one query. Each page is searched from the update
+ * time of the last issue seen rather than at an offset, since issues updated during the run
+ * move to the end of the results and would shift later pages; issues seen again at the same
+ * update time are dropped. Only a page entirely within one minute is followed by an offset. A mismatch is handled like a missed
+ * {@code jira:issue_updated} webhook, and queued like one with {@code app.queue.enabled};
+ * mappings still at their initial status are corrected without notifying, since the customer
+ * already received the initial ticket email.
+ * <p>
+ * The cursor advances to the latest update seen, or stays at the earliest failed issue so that
+ * it is retried. Each run searches from {@code app.jira.reconcile.overlap} before the cursor,
+ * as JQL dates only have minute precision; re-checking an issue is harmless because matching
+ * statuses are left alone.
+ */
+@Slf4j
+@Service
+public class JiraReconciliationServiceImpl implements JiraReconciliationService {
+
+    static final String CURSOR_NAME = "jira-reconciliation";
+
+    /** Status given to new mappings before any Jira status has been seen. */
+    private static final String INITIAL_STATUS = "OPEN";
+
+    private static final List<String> SEARCH_FIELDS = List.of("status", "updated");
+    private static final DateTimeFormatter JQL_DATE_TIME = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    private final JiraService jiraService;
+    private final TicketService ticketService;
+    private final JiraWebhookService jiraWebhookService;
+    private final SyncCursorRepository cursorRepository;
+    private final PipelineObservations observations;
+    private final WebhookJobQueue jobQueue;
+    private final Bulkheads bulkheads;
+    private final Counter correctedCounter;
+    private final Counter failedCounter;
+
+    @Value("${api.jira.project-key}")
+    private String projectKey;
+
+    @Value("${app.jira.reconcile.page-size:100}")
+    private int pageSize;
+
+    @Value("${app.jira.reconcile.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.jira.reconcile.initial-lookback:P1D}")
+    private Duration initialLookback;
+
+    @Value("${app.jira.reconcile.overlap:PT5M}")
+    private Duration overlap;
+
+    /** Time zone of the Jira user the orchestrator authenticates as, in which JQL dates are read. */
+    @Value("${app.jira.reconcile.time-zone:UTC}")
+    private ZoneId timeZone;
+
+    public JiraReconciliationServiceImpl(
+        JiraService jiraService,
+        TicketService ticketService,
+        JiraWebhookService jiraWebhookService,
+        SyncCursorRepository cursorRepository,
+        PipelineObservations observations,
+        WebhookJobQueue jobQueue,
+        Bulkheads bulkheads,
+        MeterRegistry meterRegistry
+    ) {
+        this.jiraService = jiraService;
+        this.ticketService = ticketService;
+        this.jiraWebhookService = jiraWebhookService;
+        this.cursorRepository = cursorRepository;
+        this.observations = observations;
+        this.jobQueue = jobQueue;
+        this.bulkheads = bulkheads;
+        this.correctedCounter = corrections(meterRegistry, "corrected");
+        this.failedCounter = corrections(meterRegistry, "failed");
+    }
+
+    @Override
+    public Mono<JiraReconciliationResult> reconcile() {
+        return bulkheads.jpa().call(this::loadCursor)
+                .flatMap(cursor -> {
+                    Instant since = cursor.getPosition() != null
+                            ? cursor.getPosition().minus(overlap)
+                            : Instant.now().minus(initialLookback);
+                    Search search = new Search(jqlDate(since));
+                    log.info("Reconciling Jira issues: {}", search.jql());
+
+                    Run run = new Run(cursor.getPosition());
+                    return search.next()
+                            .expand(page -> search.hasMore() ? search.next() : Mono.empty())
+                            .filter(page -> !page.getIssues().isEmpty())
+                            .concatMap(page -> reconcilePage(page.getIssues(), run))
+                            .then(bulkheads.jpa().run(() -> saveCursor(cursor, run.nextCursor())))
+                            .then(Mono.fromSupplier(run::result));
+                })
+                .doOnSuccess(result -> log.info("Jira reconciliation finished: {} issues checked, {} mapped, {} corrected, {} failed; cursor {}",
+                        result.getChecked(), result.getMapped(), result.getCorrected(), result.getFailed(), result.getCursor()))
+                .doOnError(ex -> log.error("Jira reconciliation failed: {}", ex.getMessage()));
+    }
+
+    private Mono<Void> reconcilePage(List<JiraIssueStatus> issues, Run run) {
+        List<String> keys = issues.stream().map(JiraIssueStatus::getKey).filter(Objects::nonNull).toList();
+        return ticketService.findByJiraKeys(keys)
+                .collectMap(TicketMapping::getJiraKey, Function.identity())
+                .flatMapMany(mappings -> Flux.fromIterable(issues)
+                        .filter(issue -> run.check(issue, mappings.get(issue.getKey())))
+                        .flatMap(issue -> correct(mappings.get(issue.getKey()), issue, run), concurrency))
+                .then();
+    }
+
+    private Mono<Void> correct(TicketMapping mapping, JiraIssueStatus issue, Run run) {
+        log.info("Correcting status of {} from {} to {}", issue.getKey(), mapping.getStatus(), issue.getStatus());
+
+        Mono<?> correction;
+        if (INITIAL_STATUS.equals(mapping.getStatus())) {
+            correction = observations.pipeline("jira", ticketService.updateTicketStatus(issue.getKey(), issue.getStatus()));
+        } else {
+            JiraWebhookDetails details = JiraWebhookDetails.builder()
+                    .webhookEvent("jira:issue_updated")
+                    .issueKey(issue.getKey())
+                    .status(issue.getStatus())
+                    .zohoRecordId(mapping.getZohoRecordId())
+                    .build();
+            correction = jobQueue.isEnabled()
+                    // Processed by whichever instance claims the job, in order with webhooks for the issue
+                    ? bulkheads.jpa().call(() -> jobQueue.enqueue(details))
+                    : observations.pipeline("jira", jiraWebhookService.process(details));
+        }
+
+        return correction
+                .doOnSuccess(result -> {
+                    run.corrected.incrementAndGet();
+                    correctedCounter.increment();
+                })
+                .onErrorResume(ex -> {
+                    log.warn("Could not correct status of {}: {}", issue.getKey(), ex.getMessage());
+                    run.failed(issue);
+                    failedCounter.increment();
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private SyncCursor loadCursor() {
+        return cursorRepository.findById(CURSOR_NAME)
+                .orElseGet(() -> SyncCursor.builder().name(CURSOR_NAME).build());
+    }
+
+    private void saveCursor(SyncCursor cursor, Instant position) {
+        cursor.setPosition(position);
+        cursor.setUpdatedAt(Instant.now());
+        cursorRepository.save(cursor);
+    }
+
+    private String jqlDate(Instant instant) {
+        return JQL_DATE_TIME.format(instant.atZone(timeZone));
+    }
+
+    private static Counter corrections(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("orchestrator.jira.reconcile.corrections")
+                .description("Ticket mapping statuses found out of date with Jira")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Position of a run in the search results: the JQL lower bound, taken from the update time
+     * of the last issue seen, and the offset among issues updated in that minute.
+     */
+    private final class Search {
+        /** Update time of each issue seen, to drop it when a later search returns it again. */
+        private final Map<String, Instant> seen = new HashMap<>();
+        private String since;
+        private int startAt;
+        private boolean more = true;
+
+        private Search(String since) {
+            this.since = since;
+        }
+
+        String jql() {
+            return "project = \"" + projectKey + "\" AND updated >= \"" + since + "\" ORDER BY updated ASC, key ASC";
+        }
+
+        boolean hasMore() {
+            return more;
+        }
+
+        /**
+         * Search the next page.
+         *
+         * @return the issues on it not already seen at their current update time
+         */
+        Mono<JiraSearchPage> next() {
+            return jiraService.searchIssues(jql(), SEARCH_FIELDS, startAt, pageSize).map(this::advance);
+        }
+
+        private JiraSearchPage advance(JiraSearchPage page) {
+            List<JiraIssueStatus> issues = page.getIssues();
+            List<JiraIssueStatus> unseen = new ArrayList<>();
+            for (JiraIssueStatus issue : issues) {
+                boolean repeated = seen.containsKey(issue.getKey())
+                        && Objects.equals(seen.get(issue.getKey()), issue.getUpdated());
+                if (!repeated) {
+                    seen.put(issue.getKey(), issue.getUpdated());
+                    unseen.add(issue);
+                }
+            }
+
+            Instant last = issues.isEmpty() ? null : issues.get(issues.size() - 1).getUpdated();
+            String next = last == null ? since : jqlDate(last);
+            if (page.nextStartAt() < 0) {
+                more = false;
+            } else if (next.equals(since)) {
+                // The whole page was updated in the minute searched from, so only an offset moves past it
+                startAt = page.nextStartAt();
+            } else {
+                since = next;
+                startAt = 0;
+                seen.values().removeIf(updated -> updated == null || jqlDate(updated).compareTo(since) < 0);
+                log.debug("Continuing Jira reconciliation: {}", jql());
+            }
+            return JiraSearchPage.builder()
+                    .startAt(page.getStartAt())
+                    .total(page.getTotal())
+                    .issues(unseen)
+                    .build();
+        }
+    }
+
+    /**
+     * Counters and cursor bookkeeping for a single run.
+     */
+    private static final class Run {
+        private final AtomicInteger checked = new AtomicInteger();
+        private final AtomicInteger mapped = new AtomicInteger();
+        private final AtomicInteger corrected = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicReference<Instant> latestUpdate;
+        private final AtomicReference<Instant> earliestFailure = new AtomicReference<>();
+
+        private Run(Instant cursor) {
+            this.latestUpdate = new AtomicReference<>(cursor);
+        }
+
+        /**
+         * Record an issue returned by the search.
+         *
+         * @return whether its mapping needs correcting
+         */
+        boolean check(JiraIssueStatus issue, TicketMapping mapping) {
+            checked.incrementAndGet();
+            latestUpdate.accumulateAndGet(issue.getUpdated(), Run::later);
+            if (mapping == null) {
+                return false;
+            }
+            mapped.incrementAndGet();
+            return issue.getStatus() != null && !issue.getStatus().equals(mapping.getStatus());
+        }
+
+        void failed(JiraIssueStatus issue) {
+            failed.incrementAndGet();
+            earliestFailure.accumulateAndGet(issue.getUpdated(), Run::earlier);
+        }
+
+        Instant nextCursor() {
+            Instant failure = earliestFailure.get();
+            return failure != null ? failure : latestUpdate.get();
+        }
+
+        JiraReconciliationResult result() {
+            return JiraReconciliationResult.builder()
+                    .checked(checked.get())
+                    .mapped(mapped.get())
+                    .corrected(corrected.get())
+                    .failed(failed.get())
+                    .cursor(nextCursor())
+                    .build();
+        }
+
+        private static Instant later(Instant a, Instant b) {
+            return a == null ? b : b == null || a.isAfter(b) ? a : b;
+        }
+
+        private static Instant earlier(Instant a, Instant b) {
+            return a == null ? b : b == null || a.isBefore(b) ? a : b;
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package io.applova.orchestrator.service.impl;
 
+import io.applova.orchestrator.model.dto.JiraCreatedIssue;
+import io.applova.orchestrator.model.dto.JiraIssueStatus;
+import io.applova.orchestrator.model.dto.JiraSearchPage;
+import io.applova.orchestrator.model.dto.JiraSearchResponse;
 import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.routing.TicketRouter;
 import io.applova.orchestrator.service.JiraService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,7 +15,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -17,7 +26,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class JiraServiceImpl implements JiraService {
 
+    /** Format of date-time fields in Jira REST responses, e.g. {@code 2024-10-21T09:15:02.000+0000}. */
+    private static final DateTimeFormatter JIRA_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
     private final WebClient jiraWebClient;
+    private final PipelineObservations observations;
+    private final TicketRouter ticketRouter;
 
     @Value("${api.jira.project-key}")
     private String projectKey;
@@ -37,31 +51,31 @@ public class JiraServiceImpl implements JiraService {
         fields.put("summary", payload.getIssueTitle());
         fields.put("description", buildTicketDescription(payload));
 
-        // Set issue type based on payload
+        // Set issue type based on the routing rules
         Map<String, String> issueType = new HashMap<>();
-        issueType.put("name", payload.mapIssueTypeToJiraIssueType());
+        issueType.put("name", ticketRouter.jiraIssueType(payload));
         fields.put("issuetype", issueType);
 
-        // Set priority based on severity
+        // Set priority based on the routing rules
         Map<String, String> priority = new HashMap<>();
-        priority.put("name", payload.mapSeverityToJiraPriority());
+        priority.put("name", ticketRouter.jiraPriority(payload));
         fields.put("priority", priority);
 
         issuePayload.put("fields", fields);
 
         // Send POST request to Jira API
-        return jiraWebClient.post()
+        return observations.stage("jira.create-ticket", jiraWebClient.post()
                 .uri("/issue")
                 .bodyValue(issuePayload)
                 .retrieve()
-                .bodyToMono(Map.class)
+                .bodyToMono(JiraCreatedIssue.class)
                 .map(response -> {
                     // Extract and return the Jira ticket key
-                    String key = (String) response.get("key");
+                    String key = response.key();
                     log.info("Created Jira ticket: {}", key);
                     return key;
                 })
-                .doOnError(ex -> log.error("Error creating Jira ticket: {}", ex.getMessage()));
+                .doOnError(ex -> log.error("Error creating Jira ticket: {}", ex.getMessage())));
     }
 
     @Override
@@ -73,13 +87,62 @@ public class JiraServiceImpl implements JiraService {
         statusPayload.put("transition", transition);
 
         // Send POST request to Jira API for status transition
-        return jiraWebClient.post()
+        return observations.stage("jira.update-status", jiraWebClient.post()
                 .uri("/issue/{ticketKey}/transitions", ticketKey)
                 .bodyValue(statusPayload)
                 .retrieve()
                 .bodyToMono(Void.class)
                 .doOnSuccess(v -> log.info("Updated Jira ticket {} status to {}", ticketKey, newStatus))
-                .doOnError(ex -> log.error("Error updating Jira ticket status: {}", ex.getMessage()));
+                .doOnError(ex -> log.error("Error updating Jira ticket status: {}", ex.getMessage())));
+    }
+
+    @Override
+    public Mono<Void> addComment(String ticketKey, String body) {
+        return observations.stage("jira.add-comment", jiraWebClient.post()
+                .uri("/issue/{ticketKey}/comment", ticketKey)
+                .bodyValue(Map.of("body", body))
+                .retrieve()
+                .toBodilessEntity()
+                .then()
+                .doOnSuccess(v -> log.info("Added comment to Jira ticket {}", ticketKey))
+                .doOnError(ex -> log.error("Error adding comment to Jira ticket {}: {}", ticketKey, ex.getMessage())));
+    }
+
+    @Override
+    public Mono<JiraSearchPage> searchIssues(String jql, List<String> fields, int startAt, int maxResults) {
+        return observations.stage("jira.search", jiraWebClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/search")
+                        .queryParam("jql", "{jql}")
+                        .queryParam("fields", String.join(",", fields))
+                        .queryParam("startAt", startAt)
+                        .queryParam("maxResults", maxResults)
+                        .build(jql))
+                .retrieve()
+                .bodyToMono(JiraSearchResponse.class)
+                .map(response -> toSearchPage(response, startAt))
+                .doOnSuccess(page -> log.debug("Jira search returned {} of {} issues from {}",
+                        page.getIssues().size(), page.getTotal(), startAt))
+                .doOnError(ex -> log.error("Error searching Jira issues: {}", ex.getMessage())));
+    }
+
+    private static JiraSearchPage toSearchPage(JiraSearchResponse response, int startAt) {
+        List<JiraSearchResponse.Issue> issues = response.issues() != null ? response.issues() : List.of();
+        return JiraSearchPage.builder()
+                .startAt(response.startAt() != null ? response.startAt() : startAt)
+                .total(response.total() != null ? response.total() : issues.size())
+                .issues(issues.stream().map(JiraServiceImpl::toIssueStatus).toList())
+                .build();
+    }
+
+    private static JiraIssueStatus toIssueStatus(JiraSearchResponse.Issue issue) {
+        JiraSearchResponse.Fields fields = issue.fields();
+        String status = fields != null && fields.status() != null ? fields.status().name() : null;
+        String updated = fields != null ? fields.updated() : null;
+        return JiraIssueStatus.builder()
+                .key(issue.key())
+                .status(status)
+                .updated(updated == null ? null : OffsetDateTime.parse(updated, JIRA_DATE_TIME).toInstant())
+                .build();
     }
 
     /**
@@ -88,7 +151,7 @@ public class JiraServiceImpl implements JiraService {
      * @param payload Zoho webhook payload
      * @return Formatted description string
      */
-    private String buildTicketDescription(ZohoWebhookPayload payload) {
+    static String buildTicketDescription(ZohoWebhookPayload payload) {
         StringBuilder description = new StringBuilder();
         description.append("*Ticket Details from Zoho CRM*\n\n");
         description.append("*Issue Title:* ").append(payload.getIssueTitle()).append("\n");
@@ -0,0 +1,101 @@
+package io.applova.orchestrator.service.impl;
+
+import io.applova.orchestrator.exception.JiraEventProcessingException;
+import io.applova.orchestrator.exception.TicketMappingNotFoundException;
+import io.applova.orchestrator.model.TicketMapping;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import io.applova.orchestrator.service.EmailService;
+import io.applova.orchestrator.service.JiraWebhookService;
+import io.applova.orchestrator.service.TicketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JiraWebhookServiceImpl implements JiraWebhookService {
+
+    private static final String UNKNOWN_ZOHO_RECORD = "UNKNOWN_ZOHO_RECORD";
+
+    private final TicketService ticketService;
+    private final EmailService emailService;
+
+    @Override
+    public Mono<String> process(JiraWebhookDetails details) {
+        return Mono.defer(() -> {
+            log.info("Processing Webhook - Issue: {}, Status: {}, Event: {}",
+                details.getIssueKey(), details.getStatus(), details.getWebhookEvent());
+
+            // Handle ticket creation event
+            if ("jira:issue_created".equals(details.getWebhookEvent())) {
+                return handleTicketCreation(details);
+            }
+
+            // Check if this is a status change event
+            if ("jira:issue_updated".equals(details.getWebhookEvent())) {
+                return handleStatusChange(details);
+            }
+
+            return Mono.just("Webhook processed successfully");
+        });
+    }
+
+    private Mono<String> handleTicketCreation(JiraWebhookDetails details) {
+        // Use the Jira key as a fallback if no Zoho record ID is available
+        String zohoRecordId = details.getZohoRecordId() != null ? details.getZohoRecordId() : details.getIssueKey();
+
+        return emailService.createInitialTicketEmail(zohoRecordId, details.getIssueKey(), details.getStatus())
+            // Save ticket mapping with the new email message ID
+            .flatMap(emailMessageId -> ticketService.saveMapping(zohoRecordId, details.getIssueKey(), emailMessageId, "Initial Ticket"))
+            .thenReturn("Ticket created with initial email thread")
+            .onErrorMap(ex -> {
+                log.error("Error creating initial ticket email for {}: {}", details.getIssueKey(), ex.getMessage());
+                return new JiraEventProcessingException("Failed to create initial ticket email: " + ex.getMessage(), ex);
+            });
+    }
+
+    private Mono<String> handleStatusChange(JiraWebhookDetails details) {
+        // Find the existing ticket mapping, then update its status
+        return ticketService.findByJiraKey(details.getIssueKey())
+            .flatMap(ticketMapping -> ticketService.updateTicketStatus(details.getIssueKey(), details.getStatus()))
+            // An issue this service did not create stays unwrapped, to be skipped by the caller
+            .onErrorMap(ex -> !(ex instanceof TicketMappingNotFoundException), ex -> {
+                log.error("Error processing webhook for issue {}: {}", details.getIssueKey(), ex.getMessage());
+                return new JiraEventProcessingException("Processing error: " + ex.getMessage(), ex);
+            })
+            // Always attempt to send status update email
+            .flatMap(updatedMapping -> sendStatusUpdateEmail(updatedMapping, details));
+    }
+
+    private Mono<String> sendStatusUpdateEmail(TicketMapping updatedMapping, JiraWebhookDetails details) {
+        // Always attempt to send status update email, creating one if no email message ID exists
+        Mono<Void> emailSendingMono;
+        if (updatedMapping.getEmailMessageId() != null) {
+            // Use existing email message ID
+            emailSendingMono = emailService.sendStatusUpdate(
+                updatedMapping.getEmailMessageId(),
+                details.getIssueKey(),
+                details.getStatus()
+            );
+        } else {
+            // Create a new email thread if no existing message ID
+            String zohoRecordId = updatedMapping.getZohoRecordId() != null ? updatedMapping.getZohoRecordId() : UNKNOWN_ZOHO_RECORD;
+            emailSendingMono = emailService.createInitialTicketEmail(zohoRecordId, details.getIssueKey(), details.getStatus())
+                .flatMap(newEmailMessageId -> {
+                    // Update the existing ticket mapping with the new email message ID
+                    updatedMapping.setEmailMessageId(newEmailMessageId);
+                    return ticketService.saveMappings(Flux.just(updatedMapping)).then();
+                });
+        }
+
+        return emailSendingMono
+            .thenReturn("Webhook processed with email notification")
+            .onErrorMap(ex -> {
+                log.error("Error sending status update email for {}: {}", details.getIssueKey(), ex.getMessage());
+                return new JiraEventProcessingException("Failed to send status update email: " + ex.getMessage(), ex);
+            });
+    }
+}
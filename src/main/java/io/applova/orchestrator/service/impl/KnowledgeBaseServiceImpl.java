@@ -1,7 +1,11 @@
 package io.applova.orchestrator.service.impl;
 
+import io.applova.orchestrator.model.dto.GptChatCompletion;
+import io.applova.orchestrator.model.enums.TicketTag;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.resilience.RequestHedger;
 import io.applova.orchestrator.service.KnowledgeBaseService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,11 +13,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Collections;
-import org.springframework.stereotype.Component;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -21,31 +25,69 @@ public class KnowledgeBaseServiceImpl implements KnowledgeBaseService {
 
     private final WebClient gptWebClient;
     private final WebClient knowledgeBaseWebClient; // New WebClient for knowledge base
+    private final PipelineObservations observations;
+    private final RequestHedger kbSearchHedger;
+    private final RequestHedger completionHedger;
 
     @Value("${api.gpt.model}")
     private String gptModel;
 
+    // Model routing: long prompts need a larger context window, short prompts for simple
+    // ticket types are answered well enough by a faster model
+    @Value("${api.gpt.routing.large-model:${api.gpt.model}}")
+    private String largeModel;
+
+    @Value("${api.gpt.routing.large-prompt-chars:12000}")
+    private int largePromptChars;
+
+    @Value("${api.gpt.routing.fast-model:${api.gpt.model}}")
+    private String fastModel;
+
+    @Value("${api.gpt.routing.fast-prompt-chars:6000}")
+    private int fastPromptChars;
+
+    @Value("${api.gpt.routing.fast-tags:CLARIFICATION}")
+    private Set<TicketTag> fastTags;
+
+    // Model for hedged completions; a faster model makes the hedge more likely to win
+    @Value("${api.gpt.hedge.model:${api.gpt.routing.fast-model:${api.gpt.model}}}")
+    private String hedgeModel;
+
     @Value("${knowledgebase.url}")
     private String knowledgeBaseUrl;
 
     // Constructor with @Qualifier for knowledgeBaseWebClient
     public KnowledgeBaseServiceImpl(
         WebClient gptWebClient, 
-        @Qualifier("knowledgeBaseWebClient") WebClient knowledgeBaseWebClient
+        @Qualifier("knowledgeBaseWebClient") WebClient knowledgeBaseWebClient,
+        PipelineObservations observations,
+        MeterRegistry meterRegistry,
+        @Value("${app.hedge.percentile:0.95}") double hedgePercentile,
+        @Value("${app.hedge.budget-ratio:0.1}") double hedgeBudgetRatio,
+        @Value("${app.hedge.kb.min-delay:100ms}") Duration kbMinDelay,
+        @Value("${app.hedge.kb.initial-delay:1s}") Duration kbInitialDelay,
+        @Value("${app.hedge.gpt.min-delay:2s}") Duration gptMinDelay,
+        @Value("${app.hedge.gpt.initial-delay:15s}") Duration gptInitialDelay
     ) {
         this.gptWebClient = gptWebClient;
         this.knowledgeBaseWebClient = knowledgeBaseWebClient;
+        this.observations = observations;
+        this.kbSearchHedger = new RequestHedger("kb.search", hedgePercentile,
+                kbMinDelay, kbInitialDelay, hedgeBudgetRatio, meterRegistry);
+        this.completionHedger = new RequestHedger("gpt.completion", hedgePercentile,
+                gptMinDelay, gptInitialDelay, hedgeBudgetRatio, meterRegistry);
     }
 
     // New method to fetch knowledge base content
     private Mono<String> fetchKnowledgeBaseContent(String subject) {
-        return knowledgeBaseWebClient.get()
+        // A slow search is hedged with the same request
+        return observations.stage("kb.search", kbSearchHedger.execute(attempt -> knowledgeBaseWebClient.get()
             .uri(uriBuilder -> uriBuilder
                 .path("/search")
                 .queryParam("query", subject)
                 .build())
             .retrieve()
-            .bodyToMono(String.class)
+            .bodyToMono(String.class)))
             .onErrorResume(ex -> {
                 log.error("Error fetching knowledge base content: {}", ex.getMessage());
                 return Mono.just("No relevant knowledge base content found.");
@@ -53,14 +95,12 @@ public class KnowledgeBaseServiceImpl implements KnowledgeBaseService {
     }
 
     @Override
-    public Mono<String> queryGpt(String subject, String description) {
+    public Mono<String> queryGpt(String subject, String description, TicketTag tag) {
         // First, fetch relevant knowledge base content
-        return fetchKnowledgeBaseContent(subject)
+        return observations.stage("gpt.query", fetchKnowledgeBaseContent(subject)
             .flatMap(knowledgeBaseContent -> {
-                // Construct GPT API request payload
-                Map<String, Object> requestPayload = new HashMap<>();
-                requestPayload.put("model", gptModel);
-                requestPayload.put("messages", List.of(
+                // Construct GPT API request messages
+                List<Map<String, String>> messages = List.of(
                     Map.of(
                         "role", "system", 
                         "content", "You are a helpful and knowledgeable chatbot assistant for merchants using the Applova SaaS platform. " +
@@ -85,30 +125,61 @@ public class KnowledgeBaseServiceImpl implements KnowledgeBaseService {
                         "Please carefully review the provided knowledge base content and provide a precise, documentation-based response " +
                         "addressing the merchant's inquiry. If the information is not available, clearly state that.", subject, description)
                     )
-                ));
-                requestPayload.put("max_tokens", 4096);
-                requestPayload.put("temperature", 0.7);
-
-                // Send POST request to GPT API
-                return gptWebClient.post()
-                    .uri("/chat/completions")
-                    .bodyValue(requestPayload)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .map(response -> {
-                        // Extract the generated response
-                        List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
-                        if (choices != null && !choices.isEmpty()) {
-                            Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                            String generatedResponse = (String) message.get("content");
-                            log.info("Generated GPT response for subject: {}", subject);
-                            return generatedResponse.trim();
-                        }
-                        log.warn("No response generated for subject: {}", subject);
-                        return "Unable to generate a response at this time.";
-                    })
-                    .doOnError(ex -> log.error("Error querying GPT API: {}", ex.getMessage()));
-            });
+                );
+                int promptChars = messages.stream().mapToInt(message -> message.get("content").length()).sum();
+                String model = selectModel(tag, promptChars);
+
+                // A slow completion is hedged with the hedge model, unless the prompt needs the large model
+                String fallbackModel = promptChars > largePromptChars ? model : hedgeModel;
+                return observations.stage("gpt.completion", completionHedger.execute(attempt ->
+                    requestCompletion(attempt == 0 ? model : fallbackModel, messages, subject)));
+            }));
+    }
+
+    /**
+     * Choose the completion model for a prompt.
+     *
+     * @param tag         the ticket's tag
+     * @param promptChars total length of the prompt messages
+     * @return the model name
+     */
+    private String selectModel(TicketTag tag, int promptChars) {
+        if (promptChars > largePromptChars) {
+            return largeModel;
+        }
+        if (fastTags.contains(tag) && promptChars <= fastPromptChars) {
+            return fastModel;
+        }
+        return gptModel;
+    }
+
+    private Mono<String> requestCompletion(String model, List<Map<String, String>> messages, String subject) {
+        // Construct GPT API request payload
+        Map<String, Object> requestPayload = new HashMap<>();
+        requestPayload.put("model", model);
+        requestPayload.put("messages", messages);
+        requestPayload.put("max_tokens", 4096);
+        requestPayload.put("temperature", 0.7);
+
+        log.debug("Requesting completion for subject {} from {}", subject, model);
+
+        // Send POST request to GPT API
+        return gptWebClient.post()
+            .uri("/chat/completions")
+            .bodyValue(requestPayload)
+            .retrieve()
+            .bodyToMono(GptChatCompletion.class)
+            .map(response -> {
+                // Extract the generated response
+                String generatedResponse = response.firstContent();
+                if (generatedResponse != null) {
+                    log.info("Generated GPT response for subject: {}", subject);
+                    return generatedResponse.trim();
+                }
+                log.warn("No response generated for subject: {}", subject);
+                return "Unable to generate a response at this time.";
+            })
+            .doOnError(ex -> log.error("Error querying GPT API: {}", ex.getMessage()));
     }
 }
 
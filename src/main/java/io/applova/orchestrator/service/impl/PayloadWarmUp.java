@@ -0,0 +1,84 @@
+package io.applova.orchestrator.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.warmup.WarmUpTask;
+import io.applova.orchestrator.webhook.JiraWebhookFieldExtractor;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Runs synthetic webhooks through the request parsing, validation and rendering code
+ * so that it is JIT-compiled before real traffic arrives. Nothing is persisted or sent.
+ * <p>
+ * Lives next to the services to reach their package-private rendering helpers.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayloadWarmUp implements WarmUpTask {
+
+    private static final byte[] JIRA_PAYLOAD = ("{\"webhookEvent\":\"jira:issue_updated\","
+            + "\"changelog\":{\"items\":[{\"field\":\"status\",\"fromString\":\"To Do\",\"toString\":\"In Progress\"}]},"
+            + "\"issue\":{\"key\":\"WARM-1\",\"fields\":{\"summary\":\"Warm-up\",\"status\":{\"name\":\"In Progress\"}}},"
+            + "\"zoho_record_id\":\"ZT-warm-up\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JiraWebhookFieldExtractor fieldExtractor;
+
+    @Value("${app.warmup.payload.iterations:5000}")
+    private int iterations;
+
+    @Override
+    public String name() {
+        return "payloads";
+    }
+
+    @Override
+    public Mono<Void> warmUp() {
+        return Mono.<Void>fromRunnable(this::exercise)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void exercise() {
+        try {
+            byte[] zohoPayload = objectMapper.writeValueAsBytes(samplePayload());
+            for (int i = 0; i < iterations; i++) {
+                ZohoWebhookPayload payload = objectMapper.readValue(zohoPayload, ZohoWebhookPayload.class);
+                validator.validate(payload);
+                JiraServiceImpl.buildTicketDescription(payload);
+                EmailServiceImpl.buildEmailBody(payload, "Warm-up answer");
+
+                String status = fieldExtractor.extract(JIRA_PAYLOAD).getStatus();
+                EmailServiceImpl.buildStatusUpdateBody("<warm-up@orchestrator>", "WARM-1", status);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Payload warm-up failed", e);
+        }
+    }
+
+    private static ZohoWebhookPayload samplePayload() {
+        return ZohoWebhookPayload.builder()
+                .issueTitle("Card payments fail at checkout")
+                .issueDescription("Card payments fail intermittently with error code 502 after the latest firmware update.")
+                .estimatedTimeOfArrival("2024-10-21")
+                .businessProducts(List.of("POS", "Online Ordering"))
+                .businessName("Warm-up Merchant")
+                .businessRevenueClass("Gold")
+                .businessId("BIZ-0")
+                .issueProducts(List.of("POS"))
+                .issueSeverity("High")
+                .submittingUser("agent@orchestrator.local")
+                .issueType("Bug")
+                .zohoTicketNumber("ZT-warm-up")
+                .contactEmail("merchant@orchestrator.local")
+                .build();
+    }
+}
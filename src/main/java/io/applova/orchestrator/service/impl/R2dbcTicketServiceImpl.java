@@ -0,0 +1,323 @@
+package io.applova.orchestrator.service.impl;
+
+import io.applova.orchestrator.cache.TicketMappingCache;
+import io.applova.orchestrator.exception.TicketMappingNotFoundException;
+import io.applova.orchestrator.model.TicketMapping;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.retention.TicketMappingPartitions;
+import io.applova.orchestrator.service.TicketService;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Non-blocking {@link TicketService} backed by R2DBC, enabled with {@code app.ticket.store=r2dbc}.
+ * <p>
+ * Works against the same {@code ticket_mappings} table and {@code ticket_mappings_seq} sequence
+ * as the JPA implementation. Identifiers follow Hibernate's pooled optimizer semantics: a
+ * sequence value {@code hi} reserves the block {@code (hi - allocationSize, hi]}, so both
+ * implementations can write to the table side by side without colliding. Lookups that miss
+ * restore matching archived mappings and look again, as {@code TicketMappingRepository} does.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.ticket.store", havingValue = "r2dbc")
+public class R2dbcTicketServiceImpl implements TicketService {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, zoho_record_id, jira_key, email_message_id, initial_subject, status, created_at, " +
+            "status_updated_at FROM ticket_mappings ";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ticket_mappings " +
+            "(id, zoho_record_id, jira_key, email_message_id, initial_subject, status, created_at) " +
+            "VALUES ($1, $2, $3, $4, $5, $6, $7)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE ticket_mappings SET zoho_record_id = $2, jira_key = $3, email_message_id = $4, " +
+            "initial_subject = $5, status = $6, created_at = $7 WHERE id = $1";
+
+    private final DatabaseClient databaseClient;
+    private final PipelineObservations observations;
+    private final TicketMappingCache mappingCache;
+    private final TicketMappingPartitions partitions;
+
+    @Value("${app.ticket.batch-size:50}")
+    private int batchSize;
+
+    public R2dbcTicketServiceImpl(
+        @Qualifier("ticketDatabaseClient") DatabaseClient databaseClient,
+        PipelineObservations observations,
+        TicketMappingCache mappingCache,
+        TicketMappingPartitions partitions
+    ) {
+        this.databaseClient = databaseClient;
+        this.observations = observations;
+        this.mappingCache = mappingCache;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public Mono<TicketMapping> saveMapping(String zohoRecordId, String jiraKey, String emailMessageId, String subject) {
+        TicketMapping ticketMapping = TicketMapping.builder()
+                .zohoRecordId(zohoRecordId)
+                .jiraKey(jiraKey)
+                .emailMessageId(emailMessageId)
+                .initialSubject(subject)
+                .status("OPEN")
+                .createdAt(Instant.now())
+                .build();
+
+        return observations.stage("ticket.save-mapping", saveMappings(Flux.just(ticketMapping))
+                .single()
+                .doOnSuccess(savedMapping -> log.info("Saved ticket mapping for Jira key: {}", jiraKey))
+                .doOnError(ex -> log.error("Error saving ticket mapping: {}", ex.getMessage())));
+    }
+
+    @Override
+    public Flux<TicketMapping> saveMappings(Flux<TicketMapping> mappings) {
+        return mappings
+                .map(this::applyDefaults)
+                .buffer(batchSize)
+                .concatMap(batch -> observations.stage("ticket.save-mappings", saveBatch(batch)
+                        .doOnSuccess(saved -> log.info("Saved batch of {} ticket mappings", batch.size()))
+                        .doOnError(ex -> log.error("Error saving ticket mapping batch: {}", ex.getMessage()))))
+                .flatMapIterable(saved -> saved)
+                // Updates of existing mappings leave cached copies stale
+                .doOnNext(saved -> mappingCache.invalidate(saved.getJiraKey()));
+    }
+
+    @Override
+    public Mono<TicketMapping> findByJiraKey(String jiraKey) {
+        Mono<TicketMapping> lookup = databaseClient.sql(SELECT_COLUMNS + "WHERE jira_key = :jiraKey")
+                .bind("jiraKey", jiraKey)
+                .map(this::toTicketMapping)
+                .one();
+        return observations.stage("ticket.find-by-jira-key", mappingCache.get(jiraKey, lookup
+                .switchIfEmpty(restore(TicketMappingPartitions.RESTORE_BY_JIRA_KEYS, "jiraKeys", List.of(jiraKey), lookup)))
+                .switchIfEmpty(Mono.error(() -> new TicketMappingNotFoundException(jiraKey)))
+                .doOnSuccess(mapping -> log.info("Found ticket mapping for Jira key: {}", jiraKey))
+                .doOnError(ex -> log.error("Error finding ticket mapping: {}", ex.getMessage())));
+    }
+
+    @Override
+    public Flux<TicketMapping> findByJiraKeys(Collection<String> jiraKeys) {
+        if (jiraKeys.isEmpty()) {
+            return Flux.empty();
+        }
+        // The collection is expanded into one bind marker per key
+        Mono<List<TicketMapping>> lookup = databaseClient.sql(SELECT_COLUMNS + "WHERE jira_key IN (:jiraKeys)")
+                .bind("jiraKeys", jiraKeys)
+                .map(this::toTicketMapping)
+                .all()
+                .collectList();
+        return observations.stage("ticket.find-by-jira-keys", lookup
+                .flatMap(mappings -> {
+                    if (mappings.size() >= jiraKeys.size()) {
+                        return Mono.just(mappings);
+                    }
+                    Set<String> missing = new HashSet<>(jiraKeys);
+                    mappings.forEach(mapping -> missing.remove(mapping.getJiraKey()));
+                    return restore(TicketMappingPartitions.RESTORE_BY_JIRA_KEYS, "jiraKeys", missing, lookup)
+                            .defaultIfEmpty(mappings);
+                })
+                .doOnSuccess(mappings -> log.debug("Found {} ticket mappings for {} Jira keys", mappings.size(), jiraKeys.size()))
+                .doOnError(ex -> log.error("Error finding ticket mappings: {}", ex.getMessage())))
+                .flatMapIterable(mappings -> mappings);
+    }
+
+    @Override
+    public Flux<TicketMapping> findByEmailMessageIds(Collection<String> emailMessageIds) {
+        if (emailMessageIds.isEmpty()) {
+            return Flux.empty();
+        }
+        Mono<List<TicketMapping>> lookup = databaseClient.sql(SELECT_COLUMNS + "WHERE email_message_id IN (:emailMessageIds)")
+                .bind("emailMessageIds", emailMessageIds)
+                .map(this::toTicketMapping)
+                .all()
+                .collectList();
+        return observations.stage("ticket.find-by-email-message-ids", lookup
+                .flatMap(mappings -> mappings.isEmpty()
+                        ? restore(TicketMappingPartitions.RESTORE_BY_EMAIL_MESSAGE_IDS, "emailMessageIds", emailMessageIds, lookup)
+                                .defaultIfEmpty(mappings)
+                        : Mono.just(mappings))
+                .doOnSuccess(mappings -> log.debug("Found {} ticket mappings for {} Message-IDs", mappings.size(), emailMessageIds.size()))
+                .doOnError(ex -> log.error("Error finding ticket mappings by Message-ID: {}", ex.getMessage())))
+                .flatMapIterable(mappings -> mappings);
+    }
+
+    @Override
+    public Mono<TicketMapping> findByZohoRecordId(String zohoRecordId) {
+        Mono<TicketMapping> lookup = databaseClient.sql(SELECT_COLUMNS + "WHERE zoho_record_id = :zohoRecordId LIMIT 1")
+                .bind("zohoRecordId", zohoRecordId)
+                .map(this::toTicketMapping)
+                .one();
+        return observations.stage("ticket.find-by-zoho-record", lookup
+                .switchIfEmpty(restore(TicketMappingPartitions.RESTORE_BY_ZOHO_RECORD_ID, "zohoRecordId", zohoRecordId, lookup))
+                .doOnSuccess(mapping -> {
+                    if (mapping != null) {
+                        log.info("Found ticket mapping for Zoho record ID: {}", zohoRecordId);
+                    } else {
+                        log.info("No ticket mapping found for Zoho record ID: {}", zohoRecordId);
+                    }
+                }));
+    }
+
+    @Override
+    public Mono<TicketMapping> updateTicketStatus(String jiraKey, String newStatus) {
+        return observations.stage("ticket.update-status", databaseClient.sql("UPDATE ticket_mappings SET status = :status WHERE jira_key = :jiraKey " +
+                        "RETURNING id, zoho_record_id, jira_key, email_message_id, initial_subject, status, created_at, status_updated_at")
+                .bind("status", newStatus)
+                .bind("jiraKey", jiraKey)
+                .map(this::toTicketMapping)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new TicketMappingNotFoundException(jiraKey)))
+                .doOnSuccess(updatedMapping -> {
+                    mappingCache.invalidate(jiraKey);
+                    log.info("Successfully updated ticket mapping status for Jira key: {} to {}", jiraKey, newStatus);
+                })
+                .doOnError(ex -> log.error("Error updating ticket mapping status: {}", ex.getMessage(), ex)));
+    }
+
+    /**
+     * Restore archived mappings bound to {@code name}, then repeat the lookup if any were.
+     *
+     * @return the repeated lookup's result, or empty if nothing was restored
+     */
+    private <T> Mono<T> restore(String sql, String name, Object value, Mono<T> lookup) {
+        if (!partitions.isActive()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(sql)
+                .bind(name, value)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(restored -> {
+                    if (restored == 0) {
+                        return Mono.empty();
+                    }
+                    log.info("Restored {} archived ticket mappings for {}", restored, value);
+                    return lookup;
+                });
+    }
+
+    /**
+     * Persist one batch in a single transaction, binding all rows to one statement per
+     * operation so the driver pipelines them in a single round trip.
+     */
+    private Mono<List<TicketMapping>> saveBatch(List<TicketMapping> batch) {
+        List<TicketMapping> inserts = new ArrayList<>();
+        List<TicketMapping> updates = new ArrayList<>();
+        for (TicketMapping mapping : batch) {
+            (mapping.getId() == null ? inserts : updates).add(mapping);
+        }
+
+        return reserveIds(inserts)
+                .then(databaseClient.inConnection(connection ->
+                        Mono.from(connection.beginTransaction())
+                                .then(execute(connection, INSERT_SQL, inserts))
+                                .then(execute(connection, UPDATE_SQL, updates))
+                                .then(Mono.from(connection.commitTransaction()))
+                                .onErrorResume(ex -> Mono.from(connection.rollbackTransaction())
+                                        .then(Mono.error(ex)))))
+                .thenReturn(batch);
+    }
+
+    private Mono<Void> execute(Connection connection, String sql, List<TicketMapping> mappings) {
+        if (mappings.isEmpty()) {
+            return Mono.empty();
+        }
+
+        Statement statement = connection.createStatement(sql);
+        for (int i = 0; i < mappings.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            TicketMapping mapping = mappings.get(i);
+            statement.bind(0, mapping.getId());
+            bindNullable(statement, 1, mapping.getZohoRecordId());
+            bindNullable(statement, 2, mapping.getJiraKey());
+            bindNullable(statement, 3, mapping.getEmailMessageId());
+            bindNullable(statement, 4, mapping.getInitialSubject());
+            bindNullable(statement, 5, mapping.getStatus());
+            statement.bind(6, mapping.getCreatedAt());
+        }
+
+        return Flux.from(statement.execute())
+                .flatMap(Result::getRowsUpdated)
+                .then();
+    }
+
+    /**
+     * Assign identifiers to new mappings, using one sequence call per block of
+     * {@link TicketMapping#ID_ALLOCATION_SIZE} rows where possible.
+     */
+    private Mono<Void> reserveIds(List<TicketMapping> mappings) {
+        if (mappings.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return nextSequenceValue()
+                .flatMap(hi -> {
+                    long low = Math.max(1, hi - TicketMapping.ID_ALLOCATION_SIZE + 1);
+                    int assigned = (int) Math.min(mappings.size(), hi - low + 1);
+                    for (int i = 0; i < assigned; i++) {
+                        mappings.get(i).setId(low + i);
+                    }
+                    return reserveIds(mappings.subList(assigned, mappings.size()));
+                });
+    }
+
+    private Mono<Long> nextSequenceValue() {
+        return databaseClient.sql("SELECT nextval('ticket_mappings_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private TicketMapping applyDefaults(TicketMapping mapping) {
+        if (mapping.getStatus() == null) {
+            mapping.setStatus("OPEN");
+        }
+        if (mapping.getCreatedAt() == null) {
+            mapping.setCreatedAt(Instant.now());
+        }
+        return mapping;
+    }
+
+    private static void bindNullable(Statement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index, String.class);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+
+    private TicketMapping toTicketMapping(Readable row) {
+        return TicketMapping.builder()
+                .id(row.get("id", Long.class))
+                .zohoRecordId(row.get("zoho_record_id", String.class))
+                .jiraKey(row.get("jira_key", String.class))
+                .emailMessageId(row.get("email_message_id", String.class))
+                .initialSubject(row.get("initial_subject", String.class))
+                .status(row.get("status", String.class))
+                .createdAt(row.get("created_at", Instant.class))
+                .statusUpdatedAt(row.get("status_updated_at", Instant.class))
+                .build();
+    }
+}
@@ -1,22 +1,36 @@
 package io.applova.orchestrator.service.impl;
 
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.cache.TicketMappingCache;
+import io.applova.orchestrator.exception.TicketMappingNotFoundException;
 import io.applova.orchestrator.model.TicketMapping;
+import io.applova.orchestrator.observability.PipelineObservations;
 import io.applova.orchestrator.repository.TicketMappingRepository;
 import io.applova.orchestrator.service.TicketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.time.Instant;
+import java.util.Collection;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.ticket.store", havingValue = "jpa", matchIfMissing = true)
 public class TicketServiceImpl implements TicketService {
 
     private final TicketMappingRepository ticketMappingRepository;
+    private final PipelineObservations observations;
+    private final TicketMappingCache mappingCache;
+    private final Bulkheads bulkheads;
+
+    @Value("${app.ticket.batch-size:50}")
+    private int batchSize;
 
     @Override
     public Mono<TicketMapping> saveMapping(String zohoRecordId, String jiraKey, String emailMessageId, String subject) {
@@ -31,60 +45,105 @@ public class TicketServiceImpl implements TicketService {
                 .build();
 
         // Save the mapping asynchronously
-        return Mono.fromCallable(() -> ticketMappingRepository.save(ticketMapping))
-                .publishOn(Schedulers.boundedElastic())
+        return observations.stage("ticket.save-mapping", bulkheads.jpa().call(() -> ticketMappingRepository.save(ticketMapping))
                 .doOnSuccess(savedMapping -> log.info("Saved ticket mapping for Jira key: {}", jiraKey))
-                .doOnError(ex -> log.error("Error saving ticket mapping: {}", ex.getMessage()));
+                .doOnError(ex -> log.error("Error saving ticket mapping: {}", ex.getMessage())));
+    }
+
+    @Override
+    public Flux<TicketMapping> saveMappings(Flux<TicketMapping> mappings) {
+        // Each buffer is persisted by a single saveAll call, i.e. one transaction whose flush
+        // is sent to the database as JDBC batches
+        return mappings
+                .map(this::applyDefaults)
+                .buffer(batchSize)
+                .concatMap(batch -> observations.stage("ticket.save-mappings", bulkheads.jpa().call(() -> ticketMappingRepository.saveAll(batch))
+                        .doOnSuccess(saved -> log.info("Saved batch of {} ticket mappings", batch.size()))
+                        .doOnError(ex -> log.error("Error saving ticket mapping batch: {}", ex.getMessage()))))
+                .flatMapIterable(saved -> saved)
+                // Updates of existing mappings leave cached copies stale
+                .doOnNext(saved -> mappingCache.invalidate(saved.getJiraKey()));
+    }
+
+    private TicketMapping applyDefaults(TicketMapping mapping) {
+        if (mapping.getStatus() == null) {
+            mapping.setStatus("OPEN");
+        }
+        if (mapping.getCreatedAt() == null) {
+            mapping.setCreatedAt(Instant.now());
+        }
+        return mapping;
     }
 
     @Override
     public Mono<TicketMapping> findByJiraKey(String jiraKey) {
         // Find ticket mapping by Jira key
-        return Mono.fromCallable(() -> ticketMappingRepository.findByJiraKey(jiraKey)
-                .orElseThrow(() -> new RuntimeException("No ticket mapping found for Jira key: " + jiraKey)))
-                .publishOn(Schedulers.boundedElastic())
+        return observations.stage("ticket.find-by-jira-key", mappingCache.get(jiraKey, bulkheads.jpa().call(() -> ticketMappingRepository.findByJiraKey(jiraKey)
+                .orElseThrow(() -> new TicketMappingNotFoundException(jiraKey))))
                 .doOnSuccess(mapping -> log.info("Found ticket mapping for Jira key: {}", jiraKey))
-                .doOnError(ex -> log.error("Error finding ticket mapping: {}", ex.getMessage()));
+                .doOnError(ex -> log.error("Error finding ticket mapping: {}", ex.getMessage())));
+    }
+
+    @Override
+    public Flux<TicketMapping> findByJiraKeys(Collection<String> jiraKeys) {
+        if (jiraKeys.isEmpty()) {
+            return Flux.empty();
+        }
+        return observations.stage("ticket.find-by-jira-keys", bulkheads.jpa().call(() -> ticketMappingRepository.findByJiraKeyIn(jiraKeys))
+                .doOnSuccess(mappings -> log.debug("Found {} ticket mappings for {} Jira keys", mappings.size(), jiraKeys.size()))
+                .doOnError(ex -> log.error("Error finding ticket mappings: {}", ex.getMessage())))
+                .flatMapIterable(mappings -> mappings);
+    }
+
+    @Override
+    public Flux<TicketMapping> findByEmailMessageIds(Collection<String> emailMessageIds) {
+        if (emailMessageIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return observations.stage("ticket.find-by-email-message-ids", bulkheads.jpa().call(() -> ticketMappingRepository.findByEmailMessageIdIn(emailMessageIds))
+                .doOnSuccess(mappings -> log.debug("Found {} ticket mappings for {} Message-IDs", mappings.size(), emailMessageIds.size()))
+                .doOnError(ex -> log.error("Error finding ticket mappings by Message-ID: {}", ex.getMessage())))
+                .flatMapIterable(mappings -> mappings);
     }
 
     @Override
     public Mono<TicketMapping> updateTicketStatus(String jiraKey, String newStatus) {
         // Find and update ticket mapping status
-        return Mono.fromCallable(() -> {
-            log.info("Attempting to update ticket status for Jira key: {} to new status: {}", jiraKey, newStatus);
+        return observations.stage("ticket.update-status", bulkheads.jpa().call(() -> {
+            log.debug("Attempting to update ticket status for Jira key: {} to new status: {}", jiraKey, newStatus);
             
             TicketMapping ticketMapping = ticketMappingRepository.findByJiraKey(jiraKey)
                     .orElseThrow(() -> {
                         log.error("No ticket mapping found for Jira key: {}", jiraKey);
-                        return new RuntimeException("No ticket mapping found for Jira key: " + jiraKey);
+                        return new TicketMappingNotFoundException(jiraKey);
                     });
             
-            log.info("Current ticket mapping details before update: {}", ticketMapping);
+            log.debug("Ticket mapping {} for Jira key {} has status {} before update",
+                    ticketMapping.getId(), jiraKey, ticketMapping.getStatus());
             
             ticketMapping.setStatus(newStatus);
-            TicketMapping updatedMapping = ticketMappingRepository.save(ticketMapping);
-            
-            log.info("Updated ticket mapping details: {}", updatedMapping);
-            return updatedMapping;
+            return ticketMappingRepository.save(ticketMapping);
+        })
+        .doOnSuccess(updatedMapping -> {
+            mappingCache.invalidate(jiraKey);
+            log.info("Successfully updated ticket mapping status for Jira key: {} to {}", jiraKey, newStatus);
         })
-        .publishOn(Schedulers.boundedElastic())
-        .doOnSuccess(updatedMapping -> log.info("Successfully updated ticket mapping status for Jira key: {} to {}", jiraKey, newStatus))
-        .doOnError(ex -> log.error("Error updating ticket mapping status: {}", ex.getMessage(), ex));
+        .doOnError(ex -> log.error("Error updating ticket mapping status: {}", ex.getMessage(), ex)));
     }
 
     @Override
     public Mono<TicketMapping> findByZohoRecordId(String zohoRecordId) {
         // Find ticket mapping by Zoho record ID
-        return Mono.fromCallable(() -> 
+        return observations.stage("ticket.find-by-zoho-record", bulkheads.jpa().call(() -> 
             ticketMappingRepository.findByZohoRecordId(zohoRecordId)
                 .orElse(null)
-        ).publishOn(Schedulers.boundedElastic())
+        )
         .doOnSuccess(mapping -> {
             if (mapping != null) {
                 log.info("Found ticket mapping for Zoho record ID: {}", zohoRecordId);
             } else {
                 log.info("No ticket mapping found for Zoho record ID: {}", zohoRecordId);
             }
-        });
+        }));
     }
 }
@@ -0,0 +1,167 @@
+package io.applova.orchestrator.service.impl;
+
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.deadletter.DeadLetterStore;
+import io.applova.orchestrator.exception.PipelineSuspendedException;
+import io.applova.orchestrator.lifecycle.InFlightPipelines;
+import io.applova.orchestrator.model.dto.ZohoPipelineProgress;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.model.enums.PipelineStep;
+import io.applova.orchestrator.model.enums.TicketPriority;
+import io.applova.orchestrator.model.enums.TicketTag;
+import io.applova.orchestrator.priority.PriorityLaneScheduler;
+import io.applova.orchestrator.routing.TicketRouter;
+import io.applova.orchestrator.service.EmailService;
+import io.applova.orchestrator.service.JiraService;
+import io.applova.orchestrator.service.KnowledgeBaseService;
+import io.applova.orchestrator.service.TicketService;
+import io.applova.orchestrator.service.ZohoTicketPipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ZohoTicketPipelineImpl implements ZohoTicketPipeline {
+
+    private final JiraService jiraService;
+    private final EmailService emailService;
+    private final KnowledgeBaseService knowledgeBaseService;
+    private final TicketService ticketService;
+    private final InFlightPipelines inFlightPipelines;
+    private final PriorityLaneScheduler priorityLanes;
+    private final TicketRouter ticketRouter;
+    private final DeadLetterStore deadLetters;
+    private final Bulkheads bulkheads;
+
+    @Override
+    public Mono<Void> process(ZohoWebhookPayload payload) {
+        return inFlightPipelines.track(ZohoPipelineProgress.builder().payload(payload).build(), this::run);
+    }
+
+    @Override
+    public Mono<Void> resume(ZohoPipelineProgress progress) {
+        return inFlightPipelines.track(progress, this::run);
+    }
+
+    private Mono<Void> run(ZohoPipelineProgress progress) {
+        TicketTag tag = ticketRouter.tag(progress.getPayload());
+        Mono<Void> execution = priorityLanes.schedule(determinePriority(progress, tag), Mono.defer(() -> runSteps(progress, tag)));
+        if (progress.isQueued()) {
+            // Retried by the work queue, or recorded by the dead-letter or checkpoint replay running it
+            return execution;
+        }
+        return execution.onErrorResume(ex -> !(ex instanceof PipelineSuspendedException),
+            ex -> bulkheads.jpa().run(() -> deadLetters.record(progress, ex))
+                .onErrorResume(rejected -> {
+                    log.error("Could not record failed Zoho webhook {} for replay: {}",
+                        progress.getPayload().getZohoTicketNumber(), rejected.getMessage());
+                    return Mono.empty();
+                })
+                .then(Mono.error(ex)));
+    }
+
+    private Mono<Void> runSteps(ZohoPipelineProgress progress, TicketTag tag) {
+        if (progress.getStep() != PipelineStep.RECEIVED) {
+            // Routing was decided and the duplicate check passed before the interruption
+            return progress.getEmailMessageId() != null
+                ? processIntelligentTicket(progress, tag)
+                : processStandardTicket(progress);
+        }
+        return processWebhookByTag(progress, tag);
+    }
+
+    private Mono<Void> processWebhookByTag(ZohoPipelineProgress progress, TicketTag tag) {
+        ZohoWebhookPayload payload = progress.getPayload();
+
+        // Check if a ticket for this Zoho record already exists
+        return ticketService.findByZohoRecordId(payload.getZohoTicketNumber())
+            // If a ticket already exists, log and return without creating a new one
+            .doOnNext(existingMapping -> log.warn("Ticket for Zoho record {} already exists with Jira key {}",
+                payload.getZohoTicketNumber(), existingMapping.getJiraKey()))
+            .hasElement()
+            .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.defer(() -> {
+                switch (tag) {
+                    case FEATURE:
+                    case CLARIFICATION:
+                        return processIntelligentTicket(progress, tag);
+                    case SUPPORT:
+                    case BUG:
+                        return processStandardTicket(progress);
+                    default:
+                        log.warn("Received webhook with unknown tag: {}", tag);
+                        return Mono.empty();
+                }
+            }))
+            .then(); // Ensure the method returns Mono<Void>
+    }
+
+    static TicketPriority determinePriority(ZohoPipelineProgress progress, TicketTag tag) {
+        if (progress.getEmailMessageId() != null) {
+            // Resumed after the auto-reply: only the Jira ticket and the mapping remain
+            return TicketPriority.STANDARD;
+        }
+        switch (tag) {
+            case BUG:
+                return TicketPriority.URGENT;
+            case FEATURE:
+            case CLARIFICATION:
+                return TicketPriority.ASSISTED;
+            default:
+                return TicketPriority.STANDARD;
+        }
+    }
+
+    private Mono<Void> processIntelligentTicket(ZohoPipelineProgress progress, TicketTag tag) {
+        ZohoWebhookPayload payload = progress.getPayload();
+
+        return sendAutoReply(progress, tag)
+            .flatMap(emailMessageId -> 
+                createJiraTicket(progress)
+                    .flatMap(jiraKey -> 
+                        ticketService.saveMapping(
+                            payload.getZohoTicketNumber(), 
+                            jiraKey, 
+                            emailMessageId, 
+                            payload.getIssueTitle()
+                        )
+                    )
+            )
+            .then();
+    }
+
+    private Mono<Void> processStandardTicket(ZohoPipelineProgress progress) {
+        ZohoWebhookPayload payload = progress.getPayload();
+
+        return createJiraTicket(progress)
+            .flatMap(jiraKey -> 
+                ticketService.saveMapping(
+                    payload.getZohoTicketNumber(), 
+                    jiraKey, 
+                    null, 
+                    payload.getIssueTitle()
+                )
+            )
+            .then();
+    }
+
+    private Mono<String> sendAutoReply(ZohoPipelineProgress progress, TicketTag tag) {
+        if (progress.getEmailMessageId() != null) {
+            return Mono.just(progress.getEmailMessageId());
+        }
+        ZohoWebhookPayload payload = progress.getPayload();
+        return knowledgeBaseService.queryGpt(payload.getIssueTitle(), payload.getIssueDescription(), tag)
+            .flatMap(gptResponse -> emailService.sendAutoReply(payload, gptResponse))
+            .doOnNext(progress::autoReplySent);
+    }
+
+    private Mono<String> createJiraTicket(ZohoPipelineProgress progress) {
+        if (progress.getJiraKey() != null) {
+            return Mono.just(progress.getJiraKey());
+        }
+        return jiraService.createTicket(progress.getPayload())
+            .doOnNext(progress::jiraTicketCreated);
+    }
+}
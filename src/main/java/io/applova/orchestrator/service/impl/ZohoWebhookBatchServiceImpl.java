@@ -0,0 +1,159 @@
+package io.applova.orchestrator.service.impl;
+
+import io.applova.orchestrator.admission.AdmissionControl;
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.exception.PipelineSuspendedException;
+import io.applova.orchestrator.model.dto.ZohoBatchItemResult;
+import io.applova.orchestrator.model.dto.ZohoBatchResponse;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.model.enums.BatchItemStatus;
+import io.applova.orchestrator.observability.PipelineObservations;
+import io.applova.orchestrator.queue.WebhookJobQueue;
+import io.applova.orchestrator.service.ZohoTicketPipeline;
+import io.applova.orchestrator.service.ZohoWebhookBatchService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Processes batch Zoho deliveries item by item through the same {@link ZohoTicketPipeline}
+ * as single webhooks, so every item is tracked, drained and checkpointed on shutdown exactly
+ * like a single delivery. With {@code app.queue.enabled}, items are queued as single
+ * deliveries are, instead of being processed by this request.
+ * <p>
+ * Invalid items and repeated ticket numbers are answered without being processed; at most
+ * {@code app.zoho.batch.parallelism} of the remaining items run at once. Items not yet
+ * started when shutdown begins are reported as rejected, so Zoho redelivers them.
+ */
+@Slf4j
+@Service
+public class ZohoWebhookBatchServiceImpl implements ZohoWebhookBatchService {
+
+    private final ZohoTicketPipeline ticketPipeline;
+    private final PipelineObservations observations;
+    private final AdmissionControl admissionControl;
+    private final WebhookJobQueue jobQueue;
+    private final Bulkheads bulkheads;
+    private final Validator validator;
+
+    @Value("${app.zoho.batch.parallelism:8}")
+    private int parallelism;
+
+    public ZohoWebhookBatchServiceImpl(
+        ZohoTicketPipeline ticketPipeline,
+        PipelineObservations observations,
+        AdmissionControl admissionControl,
+        WebhookJobQueue jobQueue,
+        Bulkheads bulkheads,
+        Validator validator
+    ) {
+        this.ticketPipeline = ticketPipeline;
+        this.observations = observations;
+        this.admissionControl = admissionControl;
+        this.jobQueue = jobQueue;
+        this.bulkheads = bulkheads;
+        this.validator = validator;
+    }
+
+    @Override
+    public Mono<ZohoBatchResponse> process(List<ZohoWebhookPayload> payloads) {
+        ZohoBatchItemResult[] results = new ZohoBatchItemResult[payloads.size()];
+        List<Integer> accepted = new ArrayList<>(payloads.size());
+        Map<String, Integer> firstIndexByTicket = new HashMap<>();
+
+        for (int i = 0; i < payloads.size(); i++) {
+            ZohoWebhookPayload payload = payloads.get(i);
+            String invalid = validate(payload);
+            if (invalid != null) {
+                results[i] = result(i, payload, BatchItemStatus.INVALID, invalid);
+                continue;
+            }
+            String ticketNumber = payload.getZohoTicketNumber();
+            Integer first = ticketNumber == null ? null : firstIndexByTicket.putIfAbsent(ticketNumber, i);
+            if (first != null) {
+                results[i] = result(i, payload, BatchItemStatus.DUPLICATE, "Same ticket number as item " + first);
+                continue;
+            }
+            accepted.add(i);
+        }
+
+        log.info("Processing Zoho batch of {} items ({} accepted) with parallelism {}",
+                payloads.size(), accepted.size(), parallelism);
+
+        return Flux.fromIterable(accepted)
+                .flatMap(index -> processItem(index, payloads.get(index)), parallelism)
+                .doOnNext(result -> results[result.getIndex()] = result)
+                .then(Mono.fromSupplier(() -> toResponse(results)));
+    }
+
+    private Mono<ZohoBatchItemResult> processItem(int index, ZohoWebhookPayload payload) {
+        if (!admissionControl.isAdmitting()) {
+            return Mono.just(result(index, payload, BatchItemStatus.REJECTED, "Service is shutting down"));
+        }
+        if (jobQueue.isEnabled()) {
+            // Processed by whichever instance claims the job
+            return bulkheads.jpa().call(() -> jobQueue.enqueue(payload))
+                    .thenReturn(result(index, payload, BatchItemStatus.QUEUED, null))
+                    .onErrorResume(ex -> {
+                        log.error("Could not queue Zoho batch item {} ({}): {}", index, payload.getZohoTicketNumber(), ex.getMessage());
+                        return Mono.just(result(index, payload, BatchItemStatus.FAILED, ex.getMessage()));
+                    });
+        }
+        return observations.pipeline("zoho", ticketPipeline.process(payload))
+                .thenReturn(result(index, payload, BatchItemStatus.PROCESSED, null))
+                .onErrorResume(PipelineSuspendedException.class,
+                        ex -> Mono.just(result(index, payload, BatchItemStatus.SUSPENDED, "Processing will resume")))
+                .onErrorResume(ex -> {
+                    log.error("Zoho batch item {} ({}) failed", index, payload.getZohoTicketNumber(), ex);
+                    return Mono.just(result(index, payload, BatchItemStatus.FAILED, ex.getMessage()));
+                });
+    }
+
+    private String validate(ZohoWebhookPayload payload) {
+        if (payload == null) {
+            return "Item is null";
+        }
+        Set<ConstraintViolation<ZohoWebhookPayload>> violations = validator.validate(payload);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static ZohoBatchItemResult result(int index, ZohoWebhookPayload payload, BatchItemStatus status, String message) {
+        return ZohoBatchItemResult.builder()
+                .index(index)
+                .zohoTicketNumber(payload == null ? null : payload.getZohoTicketNumber())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static ZohoBatchResponse toResponse(ZohoBatchItemResult[] results) {
+        Map<BatchItemStatus, Integer> counts = new EnumMap<>(BatchItemStatus.class);
+        for (ZohoBatchItemResult result : results) {
+            counts.merge(result.getStatus(), 1, Integer::sum);
+        }
+        return ZohoBatchResponse.builder()
+                .received(results.length)
+                .counts(counts)
+                .results(Arrays.asList(results))
+                .build();
+    }
+}
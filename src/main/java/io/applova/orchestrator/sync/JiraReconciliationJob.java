@@ -0,0 +1,120 @@
+package io.applova.orchestrator.sync;
+
+import io.applova.orchestrator.admission.AdmissionControl;
+import io.applova.orchestrator.service.JiraReconciliationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Runs {@link JiraReconciliationService} every {@code app.jira.reconcile.interval}, measured
+ * from the end of the previous run so that runs never overlap within an instance. Runs are
+ * skipped once shutdown has begun.
+ * <p>
+ * On PostgreSQL only one instance reconciles at a time: the one holding a session advisory
+ * lock, on a connection of its own, for the length of its run. A run on any other instance is
+ * skipped, so each correction is made, and its status email sent, once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jira.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class JiraReconciliationJob {
+
+    /** Held by the instance reconciling ("JREC"). */
+    private static final long RECONCILER_LOCK = 0x4A524543L;
+
+    private final JiraReconciliationService reconciliationService;
+    private final AdmissionControl admissionControl;
+
+    @Value("${app.jira.reconcile.timeout:PT10M}")
+    private Duration timeout;
+
+    @Value("${spring.datasource.url}")
+    private String databaseUrl;
+
+    @Value("${spring.datasource.username}")
+    private String databaseUsername;
+
+    @Value("${spring.datasource.password}")
+    private String databasePassword;
+
+    public JiraReconciliationJob(JiraReconciliationService reconciliationService, AdmissionControl admissionControl) {
+        this.reconciliationService = reconciliationService;
+        this.admissionControl = admissionControl;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jira.reconcile.interval:PT5M}",
+            initialDelayString = "${app.jira.reconcile.initial-delay:PT1M}")
+    public void reconcile() {
+        if (!admissionControl.isAdmitting()) {
+            log.debug("Skipping Jira reconciliation during shutdown");
+            return;
+        }
+        Connection lock;
+        try {
+            lock = acquireReconcilerLock();
+        } catch (SQLException e) {
+            log.warn("Skipping Jira reconciliation: could not take the reconciler lock: {}", e.getMessage());
+            return;
+        }
+        if (lock == null && isPostgres()) {
+            log.debug("Another instance is reconciling Jira");
+            return;
+        }
+        try {
+            reconciliationService.reconcile().block(timeout);
+        } catch (Exception e) {
+            // Already logged by the service; the next run starts from the saved cursor
+            log.debug("Jira reconciliation run failed", e);
+        } finally {
+            close(lock);
+        }
+    }
+
+    /**
+     * @return a connection holding the reconciler lock, or null if another instance holds it
+     *         or the database is not PostgreSQL
+     */
+    private Connection acquireReconcilerLock() throws SQLException {
+        if (!isPostgres()) {
+            return null;
+        }
+        Connection connection = DriverManager.getConnection(databaseUrl, databaseUsername, databasePassword);
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT pg_try_advisory_lock(" + RECONCILER_LOCK + ")")) {
+            if (result.next() && result.getBoolean(1)) {
+                return connection;
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connection.close();
+        return null;
+    }
+
+    private boolean isPostgres() {
+        return databaseUrl.startsWith("jdbc:postgresql:");
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            // Ending the session releases the lock
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Could not release the reconciler lock: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.applova.orchestrator.warmup;
+
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import io.applova.orchestrator.model.TicketMapping;
+import io.applova.orchestrator.repository.TicketMappingRepository;
+import io.applova.orchestrator.service.TicketService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Instant;
+
+/**
+ * Fills the JDBC connection pool, runs a ticket mapping lookup through the configured
+ * {@link TicketService} (warming the R2DBC pool too when that store is used) and writes a
+ * ticket mapping in a transaction that is rolled back, preparing the insert path.
+ * <p>
+ * The pool is filled by holding {@code app.warmup.database.connections} connections at once;
+ * borrowing them one after another would reuse the same connection. The rolled-back write
+ * leaves nothing behind but a gap in the identifier sequence.
+ */
+@Component
+public class DatabaseWarmUp implements WarmUpTask {
+
+    private static final String WARM_UP_RECORD_ID = "__warm-up__";
+
+    private final DataSource dataSource;
+    private final TicketService ticketService;
+    private final TicketMappingRepository ticketMappingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Bulkheads bulkheads;
+
+    @Value("${app.warmup.database.connections:10}")
+    private int connections;
+
+    public DatabaseWarmUp(
+        DataSource dataSource,
+        TicketService ticketService,
+        TicketMappingRepository ticketMappingRepository,
+        PlatformTransactionManager transactionManager,
+        Bulkheads bulkheads
+    ) {
+        this.dataSource = dataSource;
+        this.ticketService = ticketService;
+        this.ticketMappingRepository = ticketMappingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public String name() {
+        return "database";
+    }
+
+    @Override
+    public Mono<Void> warmUp() {
+        return bulkheads.jpa().run(() -> {
+                    fillPool();
+                    rolledBackWrite();
+                })
+                .then(ticketService.findByZohoRecordId(WARM_UP_RECORD_ID))
+                .then();
+    }
+
+    private void rolledBackWrite() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketMappingRepository.saveAndFlush(TicketMapping.builder()
+                    .zohoRecordId(WARM_UP_RECORD_ID)
+                    .jiraKey(WARM_UP_RECORD_ID)
+                    .initialSubject(WARM_UP_RECORD_ID)
+                    .status("OPEN")
+                    .createdAt(Instant.now())
+                    .build());
+            status.setRollbackOnly();
+        });
+    }
+
+    private void fillPool() {
+        Connection[] held = new Connection[connections];
+        try {
+            for (int i = 0; i < connections; i++) {
+                held[i] = dataSource.getConnection();
+                held[i].isValid(1);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not open database connections", e);
+        } finally {
+            for (Connection connection : held) {
+                close(connection);
+            }
+        }
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (Exception ignored) {
+            // Returned to the pool either way
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.applova.orchestrator.warmup;
+
+import io.applova.orchestrator.model.dto.JiraSearchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Opens pooled connections to the base URL of every {@link WebClient} bean (Jira, GPT and the
+ * knowledge base), paying for DNS lookups and TLS handshakes up front.
+ * <p>
+ * Each connection is opened with a cheap read-only request, decoded as the application
+ * decodes it: a Jira search returning no issues, and a knowledge base search. GPT, where every
+ * completion is billed, gets a {@code HEAD} request to its base URL. Any response, including
+ * an error status, leaves a kept-alive connection in the shared Reactor Netty pool.
+ */
+@Slf4j
+@Component
+public class HttpClientWarmUp implements WarmUpTask {
+
+    private final Map<String, WebClient> webClients;
+
+    @Value("${app.warmup.http.connections-per-host:4}")
+    private int connectionsPerHost;
+
+    public HttpClientWarmUp(Map<String, WebClient> webClients) {
+        this.webClients = webClients;
+    }
+
+    @Override
+    public String name() {
+        return "http-connections";
+    }
+
+    @Override
+    public Mono<Void> warmUp() {
+        return Flux.fromIterable(webClients.entrySet())
+                .flatMap(client -> Flux.range(0, connectionsPerHost)
+                        .flatMap(i -> request(client.getKey(), client.getValue()))
+                        .then()
+                        .doOnSuccess(v -> log.debug("Opened {} connections for {}", connectionsPerHost, client.getKey()))
+                        .onErrorResume(ex -> {
+                            log.warn("Could not open connections for {}: {}", client.getKey(), ex.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Mono<?> request(String name, WebClient client) {
+        return switch (name) {
+            case "jiraWebClient" -> client.get()
+                    .uri(uriBuilder -> uriBuilder.path("/search")
+                            .queryParam("fields", "status")
+                            .queryParam("maxResults", 0)
+                            .build())
+                    .exchangeToMono(response -> response.bodyToMono(JiraSearchResponse.class));
+            case "knowledgeBaseWebClient" -> client.get()
+                    .uri(uriBuilder -> uriBuilder.path("/search")
+                            .queryParam("query", "warm-up")
+                            .build())
+                    .exchangeToMono(response -> response.bodyToMono(String.class));
+            default -> client.head().uri("")
+                    .exchangeToMono(ClientResponse::releaseBody);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package io.applova.orchestrator.warmup;
+
+import io.applova.orchestrator.bulkhead.Bulkheads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Connects and authenticates to the SMTP server once, resolving its address and loading the
+ * mail transport, TLS and authentication classes before the first auto-reply is sent.
+ */
+@Component
+@RequiredArgsConstructor
+public class MailWarmUp implements WarmUpTask {
+
+    private final JavaMailSender mailSender;
+    private final Bulkheads bulkheads;
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public Mono<Void> warmUp() {
+        if (!(mailSender instanceof JavaMailSenderImpl javaMailSender)) {
+            return Mono.empty();
+        }
+        return bulkheads.smtp().run(() -> {
+            try {
+                javaMailSender.testConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException("SMTP connection test failed", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package io.applova.orchestrator.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs every {@link WarmUpTask} before the application is reported ready, so the first
+ * webhooks after a deploy do not pay for connection setup, lazy initialization and cold JIT.
+ * <p>
+ * Spring Boot moves the readiness state to {@code ACCEPTING_TRAFFIC} only after all
+ * application runners have completed, so load balancers and Kubernetes readiness probes
+ * ({@code /actuator/health/readiness}) hold traffic back until warm-up is done.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupWarmUp implements ApplicationRunner {
+
+    private final List<WarmUpTask> tasks;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.timeout:30s}")
+    private Duration timeout;
+
+    public StartupWarmUp(List<WarmUpTask> tasks) {
+        this.tasks = tasks;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || tasks.isEmpty()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        Flux.fromIterable(tasks)
+                .flatMap(this::runTask)
+                .then()
+                .block();
+        log.info("Warm-up completed in {} ms", Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private Mono<Void> runTask(WarmUpTask task) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return task.warmUp()
+                    .timeout(timeout)
+                    .doOnSuccess(v -> log.info("Warm-up task {} completed in {} ms", task.name(),
+                            Duration.ofNanos(System.nanoTime() - started).toMillis()))
+                    .onErrorResume(ex -> {
+                        log.warn("Warm-up task {} failed: {}", task.name(), ex.toString());
+                        return Mono.empty();
+                    });
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package io.applova.orchestrator.warmup;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * One step of the startup warm-up run by {@link StartupWarmUp} before the application reports
+ * itself ready. Tasks run concurrently; a task that fails or times out is logged and skipped,
+ * it never prevents startup.
+ */
+public interface WarmUpTask {
+
+    /**
+     * @return a short name used in logs
+     */
+    String name();
+
+    /**
+     * @return the warm-up work, started on subscription
+     */
+    Mono<Void> warmUp();
+}
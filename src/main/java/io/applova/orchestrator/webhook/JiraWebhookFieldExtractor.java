@@ -0,0 +1,189 @@
+package io.applova.orchestrator.webhook;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Extracts {@link JiraWebhookDetails} from a Jira webhook body in a single streaming pass.
+ * <p>
+ * The candidate paths for each field are compiled once into a trie keyed by field name.
+ * While parsing, any subtree that no candidate path descends into is skipped without being
+ * materialized, so large payloads (changelogs, comments, rendered fields) cost little more
+ * than tokenizing them. Earlier candidates take precedence over later ones, and only textual
+ * values match, exactly as with the previous tree-based lookup.
+ */
+@Component
+public class JiraWebhookFieldExtractor {
+
+    private static final int ISSUE_KEY = 0;
+    private static final int STATUS = 1;
+    private static final int WEBHOOK_EVENT = 2;
+    private static final int ZOHO_RECORD_ID = 3;
+
+    private static final String[][] CANDIDATE_PATHS = {
+        {"issue_key", "issue.key", "issue.fields.key", "key"},
+        {"issue.fields.status.name", "issue.status.name", "status.name", "fields.status.name"},
+        {"webhookEvent", "webhook_event", "event"},
+        {"zoho_record_id", "zohoRecordId", "zoho.record_id"}
+    };
+
+    private final JsonFactory jsonFactory;
+    private final PathNode root = new PathNode();
+
+    public JiraWebhookFieldExtractor(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        for (int field = 0; field < CANDIDATE_PATHS.length; field++) {
+            for (int rank = 0; rank < CANDIDATE_PATHS[field].length; rank++) {
+                root.compile(CANDIDATE_PATHS[field][rank].split("\\."), 0, field, rank);
+            }
+        }
+    }
+
+    /**
+     * Extract webhook details from a complete JSON document.
+     *
+     * @param payload the raw webhook body
+     * @return the extracted details; fields that could not be found are null
+     * @throws IOException if the payload is not well-formed JSON
+     */
+    public JiraWebhookDetails extract(byte[] payload) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new JiraWebhookDetails();
+            }
+            // Nothing after the wanted fields matters, so stop as soon as they are found
+            return walk(parser, false);
+        }
+    }
+
+    /**
+     * Extract webhook details from the object the parser is currently positioned on.
+     * The parser is left on the object's closing token, ready to read the next document
+     * of a multi-document stream.
+     *
+     * @param parser a parser whose current token is {@link JsonToken#START_OBJECT}
+     * @return the extracted details; fields that could not be found are null
+     * @throws IOException if the object is not well-formed JSON
+     */
+    public JiraWebhookDetails extract(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("Parser must be positioned at the start of an object");
+        }
+        return walk(parser, true);
+    }
+
+    private JiraWebhookDetails walk(JsonParser parser, boolean consumeWholeObject) throws IOException {
+        String[] values = new String[CANDIDATE_PATHS.length];
+        int[] ranks = new int[CANDIDATE_PATHS.length];
+        Arrays.fill(ranks, Integer.MAX_VALUE);
+        int unresolved = CANDIDATE_PATHS.length;
+
+        Deque<PathNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        PathNode pending = null;
+
+        JsonToken token;
+        while (!stack.isEmpty() && (token = parser.nextToken()) != null) {
+            switch (token) {
+                case FIELD_NAME:
+                    pending = stack.peek().child(parser.currentName());
+                    if (pending == null) {
+                        parser.nextToken();
+                        parser.skipChildren();
+                    }
+                    break;
+                case START_OBJECT:
+                    stack.push(pending);
+                    break;
+                case START_ARRAY:
+                    parser.skipChildren();
+                    break;
+                case END_OBJECT:
+                    stack.pop();
+                    break;
+                case VALUE_STRING:
+                    for (int i = 0; i < pending.fields.length; i++) {
+                        int field = pending.fields[i];
+                        int rank = pending.ranks[i];
+                        if (rank < ranks[field]) {
+                            if (rank == 0) {
+                                unresolved--;
+                            }
+                            ranks[field] = rank;
+                            values[field] = parser.getText();
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (unresolved == 0) {
+                if (consumeWholeObject) {
+                    skipToEndOfObject(parser, stack.size());
+                }
+                break;
+            }
+        }
+
+        return JiraWebhookDetails.builder()
+                .issueKey(values[ISSUE_KEY])
+                .status(values[STATUS])
+                .webhookEvent(values[WEBHOOK_EVENT])
+                .zohoRecordId(values[ZOHO_RECORD_ID])
+                .build();
+    }
+
+    private static void skipToEndOfObject(JsonParser parser, int openObjects) throws IOException {
+        while (openObjects > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return;
+            }
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            } else if (token == JsonToken.END_OBJECT) {
+                openObjects--;
+            }
+        }
+    }
+
+    /**
+     * A node in the compiled path trie. Terminal nodes record which field, and at which
+     * precedence, a textual value found at that position satisfies.
+     */
+    private static final class PathNode {
+        private static final int[] NONE = new int[0];
+
+        private final Map<String, PathNode> children = new HashMap<>();
+        private int[] fields = NONE;
+        private int[] ranks = NONE;
+
+        PathNode child(String name) {
+            return children.get(name);
+        }
+
+        void compile(String[] path, int depth, int field, int rank) {
+            if (depth == path.length) {
+                fields = Arrays.copyOf(fields, fields.length + 1);
+                ranks = Arrays.copyOf(ranks, ranks.length + 1);
+                fields[fields.length - 1] = field;
+                ranks[ranks.length - 1] = rank;
+                return;
+            }
+            children.computeIfAbsent(path[depth], name -> new PathNode())
+                    .compile(path, depth + 1, field, rank);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.applova.orchestrator.priority;
+
+import io.applova.orchestrator.model.enums.TicketPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks which lane's pipelines start as slots free up. Pipelines complete only when the test
+ * finishes them, and a finished pipeline starts the next one on the same thread, so the order
+ * in which pipelines start is deterministic.
+ */
+class PriorityLaneSchedulerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<String> started;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        started = new ArrayList<>();
+    }
+
+    @Test
+    void reservedSlotsAreKeptForTheirLane() {
+        // One slot reserved for urgent tickets, two shared
+        PriorityLaneScheduler scheduler = scheduler(3, 1, 3, 1, 0, 3, 1, 0, 3, 1);
+
+        schedule(scheduler, TicketPriority.STANDARD, "standard-1");
+        schedule(scheduler, TicketPriority.STANDARD, "standard-2");
+        schedule(scheduler, TicketPriority.STANDARD, "standard-3");
+        assertThat(started).containsExactly("standard-1", "standard-2");
+        assertThat(queued(TicketPriority.STANDARD)).isEqualTo(1);
+
+        schedule(scheduler, TicketPriority.URGENT, "urgent-1");
+        assertThat(started).containsExactly("standard-1", "standard-2", "urgent-1");
+        assertThat(running(TicketPriority.URGENT)).isEqualTo(1);
+    }
+
+    @Test
+    void lanesUseSharedSlotsUpToTheirMaximum() {
+        // Assisted tickets may run at most one at a time
+        PriorityLaneScheduler scheduler = scheduler(4, 0, 4, 1, 0, 4, 1, 0, 1, 1);
+
+        schedule(scheduler, TicketPriority.ASSISTED, "assisted-1");
+        schedule(scheduler, TicketPriority.ASSISTED, "assisted-2");
+        schedule(scheduler, TicketPriority.STANDARD, "standard-1");
+
+        assertThat(started).containsExactly("assisted-1", "standard-1");
+        assertThat(queued(TicketPriority.ASSISTED)).isEqualTo(1);
+    }
+
+    @Test
+    void waitingLanesAreServedInProportionToTheirWeight() {
+        // A single shared slot; urgent tickets weigh three times as much as standard ones
+        PriorityLaneScheduler scheduler = scheduler(1, 0, 1, 3, 0, 1, 1, 0, 1, 1);
+        Pipeline holder = schedule(scheduler, TicketPriority.ASSISTED, "assisted");
+        List<Pipeline> waiting = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            waiting.add(schedule(scheduler, TicketPriority.URGENT, "urgent-" + i));
+        }
+        for (int i = 1; i <= 2; i++) {
+            waiting.add(schedule(scheduler, TicketPriority.STANDARD, "standard-" + i));
+        }
+
+        holder.finish();
+        // Each pipeline finishing starts the next in line
+        for (int i = 0; i < waiting.size(); i++) {
+            String next = started.get(started.size() - 1);
+            waiting.stream().filter(pipeline -> pipeline.name.equals(next)).findFirst().orElseThrow().finish();
+        }
+
+        assertThat(started).containsExactly("assisted",
+                "urgent-1", "standard-1", "urgent-2", "urgent-3",
+                "urgent-4", "standard-2", "urgent-5", "urgent-6");
+    }
+
+    @Test
+    void pipelineCancelledWhileWaitingLeavesTheQueue() {
+        PriorityLaneScheduler scheduler = scheduler(1, 0, 1, 1, 0, 1, 1, 0, 1, 1);
+        Pipeline running = schedule(scheduler, TicketPriority.STANDARD, "standard-1");
+        Pipeline cancelled = schedule(scheduler, TicketPriority.STANDARD, "standard-2");
+        schedule(scheduler, TicketPriority.STANDARD, "standard-3");
+
+        cancelled.subscription.dispose();
+        assertThat(queued(TicketPriority.STANDARD)).isEqualTo(1);
+
+        running.finish();
+        assertThat(running.result).hasValue("standard-1");
+        assertThat(started).containsExactly("standard-1", "standard-3");
+    }
+
+    @Test
+    void cancellingARunningPipelineReleasesItsSlot() {
+        PriorityLaneScheduler scheduler = scheduler(1, 0, 1, 1, 0, 1, 1, 0, 1, 1);
+        Pipeline cancelled = schedule(scheduler, TicketPriority.URGENT, "urgent-1");
+        schedule(scheduler, TicketPriority.STANDARD, "standard-1");
+
+        cancelled.subscription.dispose();
+
+        assertThat(cancelled.cancelled).isTrue();
+        assertThat(started).containsExactly("urgent-1", "standard-1");
+        assertThat(running(TicketPriority.URGENT)).isZero();
+        assertThat(running(TicketPriority.STANDARD)).isEqualTo(1);
+    }
+
+    @Test
+    void reservingMoreSlotsThanAvailableIsRejected() {
+        assertThatThrownBy(() -> scheduler(4, 2, 4, 1, 2, 4, 1, 1, 4, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("reserve 5 slots");
+    }
+
+    private PriorityLaneScheduler scheduler(int maxConcurrent,
+                                            int urgentReserved, int urgentMax, int urgentWeight,
+                                            int standardReserved, int standardMax, int standardWeight,
+                                            int assistedReserved, int assistedMax, int assistedWeight) {
+        return new PriorityLaneScheduler(meterRegistry, maxConcurrent,
+                urgentReserved, urgentMax, urgentWeight,
+                standardReserved, standardMax, standardWeight,
+                assistedReserved, assistedMax, assistedWeight);
+    }
+
+    private Pipeline schedule(PriorityLaneScheduler scheduler, TicketPriority priority, String name) {
+        return new Pipeline(scheduler, priority, name);
+    }
+
+    private double queued(TicketPriority priority) {
+        return gauge("orchestrator.priority.queued", priority);
+    }
+
+    private double running(TicketPriority priority) {
+        return gauge("orchestrator.priority.running", priority);
+    }
+
+    private double gauge(String name, TicketPriority priority) {
+        return meterRegistry.get(name).tag("lane", priority.name().toLowerCase()).gauge().value();
+    }
+
+    /**
+     * A pipeline that records when it starts and runs until finished or cancelled.
+     */
+    private final class Pipeline {
+        private final String name;
+        private final Sinks.One<String> completion = Sinks.one();
+        private final AtomicReference<String> result = new AtomicReference<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final Disposable subscription;
+
+        private Pipeline(PriorityLaneScheduler scheduler, TicketPriority priority, String name) {
+            this.name = name;
+            Mono<String> work = Mono.defer(() -> {
+                started.add(name);
+                return completion.asMono().doOnCancel(() -> cancelled.set(true));
+            });
+            this.subscription = scheduler.schedule(priority, work).subscribe(result::set);
+        }
+
+        void finish() {
+            completion.tryEmitValue(name);
+        }
+    }
+}
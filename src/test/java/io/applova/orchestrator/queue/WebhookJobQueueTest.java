@@ -0,0 +1,209 @@
+package io.applova.orchestrator.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.WebhookJob;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import io.applova.orchestrator.model.enums.WebhookJobStatus;
+import io.applova.orchestrator.repository.WebhookJobRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Claims jobs from the queue against PostgreSQL, whose {@code SKIP LOCKED} row locks and
+ * advisory locks the claims rely on. Each claim runs in its own transaction, as it does when
+ * called through the Spring proxy, and queues with different owners stand in for instances.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WebhookJobQueueTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private WebhookJobRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private WebhookJobQueue instanceA;
+    private WebhookJobQueue instanceB;
+
+    @BeforeEach
+    void emptyQueue() {
+        repository.deleteAll();
+        instanceA = queue("instance-a", Duration.ofMinutes(1));
+        instanceB = queue("instance-b", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void concurrentClaimsSkipJobsLockedByEachOther() throws Exception {
+        WebhookJob first = enqueue("PROJ-1");
+        WebhookJob second = enqueue("PROJ-1");
+        for (int issue = 2; issue <= 8; issue++) {
+            enqueue("PROJ-" + issue);
+        }
+
+        CountDownLatch claimedByA = new CountDownLatch(1);
+        CountDownLatch commitA = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // A keeps its transaction, and the row and issue locks taken in it, open
+            Future<List<WebhookJob>> claimA = executor.submit(() -> new TransactionTemplate(transactionManager)
+                    .execute(status -> {
+                        List<WebhookJob> jobs = instanceA.claim(1);
+                        claimedByA.countDown();
+                        try {
+                            commitA.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return jobs;
+                    }));
+            assertThat(claimedByA.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+
+            // Would block on A's rows without SKIP LOCKED
+            List<WebhookJob> claimedByB = assertTimeoutPreemptively(TIMEOUT, () -> claim(instanceB, 10));
+            commitA.countDown();
+            List<WebhookJob> jobsA = claimA.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+            assertThat(ids(jobsA)).containsExactly(first.getId());
+            assertThat(claimedByB).isNotEmpty()
+                    .extracting(WebhookJob::getId)
+                    .doesNotContain(first.getId(), second.getId());
+            assertThat(claimedByB).allSatisfy(job -> assertThat(job.getLeaseOwner()).isEqualTo("instance-b"));
+        } finally {
+            commitA.countDown();
+            executor.shutdownNow();
+        }
+
+        // Every job but the second for PROJ-1, which waits for the first, was claimed once
+        assertThat(claim(instanceB, 10)).extracting(WebhookJob::getId).doesNotContain(second.getId());
+        assertThat(repository.findAll())
+                .filteredOn(job -> job.getStatus() == WebhookJobStatus.RUNNING)
+                .hasSize(8)
+                .allSatisfy(job -> assertThat(job.getAttempts()).isEqualTo(1));
+    }
+
+    @Test
+    void jobsForAnIssueAreClaimedOneAtATimeInArrivalOrder() {
+        WebhookJob first = enqueue("PROJ-1");
+        enqueue("PROJ-1");
+        WebhookJob other = enqueue("PROJ-2");
+
+        assertThat(ids(claim(instanceA, 10))).containsExactly(first.getId(), other.getId());
+        // The second waits while the first is running on another instance
+        assertThat(claim(instanceB, 10)).isEmpty();
+
+        // and while the first waits to be retried
+        instanceA.release(first, null, Duration.ofMinutes(1), "Jira unavailable");
+        assertThat(claim(instanceB, 10)).isEmpty();
+    }
+
+    @Test
+    void nextJobForAnIssueIsClaimedOnceTheFirstCompletes() {
+        WebhookJob first = enqueue("PROJ-1");
+        WebhookJob second = enqueue("PROJ-1");
+
+        assertThat(ids(claim(instanceA, 10))).containsExactly(first.getId());
+        instanceA.complete(first);
+
+        assertThat(ids(claim(instanceB, 10))).containsExactly(second.getId());
+    }
+
+    @Test
+    void failedJobsDoNotHoldBackLaterOnesForTheirIssue() {
+        WebhookJob first = enqueue("PROJ-1");
+        WebhookJob second = enqueue("PROJ-1");
+
+        assertThat(ids(claim(instanceA, 10))).containsExactly(first.getId());
+        instanceA.fail(first, null, "Gave up");
+
+        assertThat(ids(claim(instanceB, 10))).containsExactly(second.getId());
+    }
+
+    @Test
+    void jobsWhoseLeaseExpiredAreTakenOver() throws InterruptedException {
+        WebhookJobQueue shortLease = queue("instance-c", Duration.ofMillis(200));
+        WebhookJob job = enqueue("PROJ-1");
+
+        assertThat(ids(claim(shortLease, 1))).containsExactly(job.getId());
+        assertThat(claim(instanceB, 1)).isEmpty();
+
+        Thread.sleep(400);
+        assertThat(claim(instanceB, 1)).singleElement().satisfies(takenOver -> {
+            assertThat(takenOver.getId()).isEqualTo(job.getId());
+            assertThat(takenOver.getLeaseOwner()).isEqualTo("instance-b");
+            assertThat(takenOver.getAttempts()).isEqualTo(2);
+        });
+
+        // The previous owner has lost the job
+        assertThat(shortLease.heartbeat(job, null)).isFalse();
+        shortLease.complete(job);
+        assertThat(repository.findById(job.getId())).isPresent();
+    }
+
+    private WebhookJobQueue queue(String owner, Duration leaseDuration) {
+        return new WebhookJobQueue(repository, objectMapper, true, leaseDuration, owner);
+    }
+
+    private WebhookJob enqueue(String issueKey) {
+        return instanceA.enqueue(JiraWebhookDetails.builder()
+                .webhookEvent("jira:issue_updated")
+                .issueKey(issueKey)
+                .status("Done")
+                .build());
+    }
+
+    private List<WebhookJob> claim(WebhookJobQueue queue, int limit) {
+        return new TransactionTemplate(transactionManager).execute(status -> queue.claim(limit));
+    }
+
+    private static List<Long> ids(List<WebhookJob> jobs) {
+        return jobs.stream().map(WebhookJob::getId).toList();
+    }
+
+    @TestConfiguration
+    @EnableJpaRepositories(basePackageClasses = WebhookJobRepository.class, includeFilters = @ComponentScan.Filter(
+            type = FilterType.ASSIGNABLE_TYPE, classes = WebhookJobRepository.class))
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            return postgres.getPostgresDatabase();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.applova.orchestrator.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks which attempt's result or error a hedged call returns, and that hedges are only sent
+ * for slow calls and paid for from the budget. Too few calls are made for the latency
+ * percentile to apply, so every hedge is due after the initial delay.
+ */
+class RequestHedgerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void createRegistry() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() {
+        RequestHedger hedger = hedger(Duration.ofMillis(200), 1);
+        AtomicInteger hedges = new AtomicInteger();
+
+        String result = hedger.execute(attempt -> {
+            if (attempt == 1) {
+                hedges.incrementAndGet();
+            }
+            return Mono.just("attempt " + attempt);
+        }).block(TIMEOUT);
+
+        assertThat(result).isEqualTo("attempt 0");
+        assertThat(hedges).hasValue(0);
+        assertThat(count("sent")).isZero();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndCancelledWhenTheHedgeWins() {
+        RequestHedger hedger = hedger(Duration.ofMillis(20), 1);
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+        String result = hedger.execute(attempt -> attempt == 0
+                ? Mono.<String>never().doOnCancel(() -> primaryCancelled.set(true))
+                : Mono.just("hedge")).block(TIMEOUT);
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(primaryCancelled).isTrue();
+        assertThat(count("sent")).isEqualTo(1);
+        assertThat(count("won")).isEqualTo(1);
+    }
+
+    @Test
+    void primaryFailingBeforeTheHedgeIsDueFailsAtOnce() {
+        RequestHedger hedger = hedger(Duration.ofSeconds(15), 1);
+        AtomicInteger hedges = new AtomicInteger();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> hedger.execute(attempt -> {
+            if (attempt == 1) {
+                hedges.incrementAndGet();
+            }
+            return Mono.<String>error(new IllegalStateException("429 Too Many Requests"));
+        }).block(TIMEOUT)).isInstanceOf(IllegalStateException.class).hasMessage("429 Too Many Requests");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(hedges).hasValue(0);
+        assertThat(count("sent")).isZero();
+        assertThat(count("denied")).isZero();
+    }
+
+    @Test
+    void primaryWinsWhenTheHedgeFails() {
+        RequestHedger hedger = hedger(Duration.ofMillis(20), 1);
+
+        String result = hedger.execute(attempt -> attempt == 0
+                ? Mono.delay(Duration.ofMillis(200)).thenReturn("primary")
+                : Mono.<String>error(new IllegalStateException("hedge failed"))).block(TIMEOUT);
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(count("sent")).isEqualTo(1);
+        assertThat(count("won")).isZero();
+    }
+
+    @Test
+    void primaryErrorIsReportedWhenBothAttemptsFail() {
+        RequestHedger hedger = hedger(Duration.ofMillis(20), 1);
+
+        assertThatThrownBy(() -> hedger.execute(attempt -> attempt == 0
+                ? Mono.delay(Duration.ofMillis(200)).then(Mono.<String>error(new IllegalStateException("primary failed")))
+                : Mono.<String>error(new IllegalArgumentException("hedge failed"))).block(TIMEOUT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("primary failed");
+    }
+
+    @Test
+    void hedgesArePaidForFromTheBudget() {
+        // Half a hedge is earned per call: the first call cannot afford one, the second can
+        RequestHedger hedger = hedger(Duration.ofMillis(20), 0.5);
+
+        for (int call = 0; call < 4; call++) {
+            hedger.execute(attempt -> attempt == 0
+                    ? Mono.delay(Duration.ofMillis(150)).thenReturn("primary")
+                    : Mono.<String>never()).block(TIMEOUT);
+        }
+
+        assertThat(count("sent")).isEqualTo(2);
+        assertThat(count("denied")).isEqualTo(2);
+    }
+
+    @Test
+    void zeroBudgetRatioDisablesHedging() {
+        RequestHedger hedger = hedger(Duration.ofMillis(20), 0);
+        AtomicInteger hedges = new AtomicInteger();
+
+        String result = hedger.execute(attempt -> {
+            if (attempt == 1) {
+                hedges.incrementAndGet();
+            }
+            return Mono.delay(Duration.ofMillis(100)).thenReturn("attempt " + attempt);
+        }).block(TIMEOUT);
+
+        assertThat(result).isEqualTo("attempt 0");
+        assertThat(hedges).hasValue(0);
+        assertThat(count("denied")).isZero();
+    }
+
+    private RequestHedger hedger(Duration initialDelay, double budgetRatio) {
+        return new RequestHedger("test", 0.95, Duration.ofMillis(1), initialDelay, budgetRatio, meterRegistry);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("orchestrator.hedge.requests").tag("outcome", outcome).counter().count();
+    }
+}
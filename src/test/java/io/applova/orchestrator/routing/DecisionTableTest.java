@@ -0,0 +1,91 @@
+package io.applova.orchestrator.routing;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.dto.ZohoWebhookPayload;
+import io.applova.orchestrator.model.enums.TicketTag;
+import io.applova.orchestrator.routing.DecisionTable.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the bundled routing-rules.json against the hard-coded routing it replaced: the tag from
+ * {@code determineTicketTag} and the Jira issue type and priority from the switches on
+ * {@code ZohoWebhookPayload}. An empty Jira column is one the baseline threw on, because the
+ * field was null, and is not compared; the baseline compared Jira names case-sensitively, so
+ * rows in other cases only compare the tag.
+ */
+class DecisionTableTest {
+
+    private static DecisionTable table;
+
+    @BeforeAll
+    static void loadBundledRules() throws IOException {
+        try (InputStream in = DecisionTableTest.class.getResourceAsStream("/routing-rules.json")) {
+            RoutingRuleSet ruleSet = new ObjectMapper().readerFor(RoutingRuleSet.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(in);
+            table = new DecisionTable(ruleSet, new SimpleMeterRegistry());
+        }
+    }
+
+    @ParameterizedTest(name = "{0} / {1} -> {2}, {3}, {4}")
+    @CsvSource({
+        "Bug,           High,     BUG,           Bug,         High",
+        "Bug,           Medium,   SUPPORT,       Bug,         Medium",
+        "Bug,           Low,      SUPPORT,       Bug,         Low",
+        "Bug,           Critical, SUPPORT,       Bug,         Medium",
+        "Bug,           '',       SUPPORT,       Bug,         Medium",
+        "Bug,           ,         UNKNOWN,       Bug,",
+        "Feature,       High,     FEATURE,       New Feature, High",
+        "Feature,       Medium,   FEATURE,       New Feature, Medium",
+        "Feature,       Low,      FEATURE,       New Feature, Low",
+        "Feature,       ,         UNKNOWN,       New Feature,",
+        "Clarification, Medium,   CLARIFICATION, Task,        Medium",
+        "Clarification, ,         UNKNOWN,       Task,",
+        "Question,      High,     UNKNOWN,       Task,        High",
+        "Question,      ,         UNKNOWN,       Task,",
+        ",              Low,      UNKNOWN,       ,            Low",
+        ",              ,         UNKNOWN,       ,",
+    })
+    void matchesBaselineRouting(String issueType, String severity, TicketTag tag, String jiraIssueType, String jiraPriority) {
+        ZohoWebhookPayload payload = payload(issueType, severity);
+
+        assertThat(table.tag(table.match(Decision.TAG, payload))).isEqualTo(tag);
+        if (jiraIssueType != null) {
+            assertThat(table.jiraIssueType(table.match(Decision.JIRA_ISSUE_TYPE, payload))).isEqualTo(jiraIssueType);
+        }
+        if (jiraPriority != null) {
+            assertThat(table.jiraPriority(table.match(Decision.JIRA_PRIORITY, payload))).isEqualTo(jiraPriority);
+        }
+    }
+
+    @ParameterizedTest(name = "{0} / {1} -> {2}")
+    @CsvSource({
+        "bug,           HIGH,   BUG",
+        "BUG,           medium, SUPPORT",
+        "feature,       low,    FEATURE",
+        "CLARIFICATION, High,   CLARIFICATION",
+    })
+    void matchesBaselineTagIgnoringCase(String issueType, String severity, TicketTag tag) {
+        assertThat(table.tag(table.match(Decision.TAG, payload(issueType, severity)))).isEqualTo(tag);
+    }
+
+    private static ZohoWebhookPayload payload(String issueType, String severity) {
+        return ZohoWebhookPayload.builder()
+                .issueType(issueType)
+                .issueSeverity(severity)
+                .issueProducts(List.of("POS"))
+                .businessRevenueClass("Gold")
+                .businessId("BIZ-1")
+                .build();
+    }
+}
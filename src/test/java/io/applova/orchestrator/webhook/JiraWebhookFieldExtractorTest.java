@@ -0,0 +1,161 @@
+package io.applova.orchestrator.webhook;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.applova.orchestrator.model.dto.JiraWebhookDetails;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the streaming extractor against the tree lookup it replaced, which read each field
+ * from the first of its candidate paths holding a textual value.
+ */
+class JiraWebhookFieldExtractorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JiraWebhookFieldExtractor extractor = new JiraWebhookFieldExtractor(objectMapper);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        // A Jira issue_updated webhook, with the arrays and objects around the wanted fields
+        """
+        {"timestamp":1760875200000,"webhookEvent":"jira:issue_updated","issue_event_type_name":"issue_generic",
+         "user":{"accountId":"5b10a2844c20165700ede21g","displayName":"Agent"},
+         "issue":{"id":"10001","key":"SUP-42","fields":{"summary":"Printer offline","labels":["zoho"],
+           "status":{"name":"In Progress","statusCategory":{"key":"indeterminate"}},
+           "comment":{"comments":[{"body":"Looking into it","author":{"key":"agent"}}]}}},
+         "changelog":{"items":[{"field":"status","fromString":"Open","toString":"In Progress"}]},
+         "zoho_record_id":"4876876000001234567"}
+        """,
+        // Fallback paths
+        """
+        {"issue_key":"SUP-1","status":{"name":"Open"},"event":"issue_updated","zoho":{"record_id":"z-1"}}
+        """,
+        // Earlier candidates win wherever they appear in the document
+        """
+        {"key":"SUP-3","issue":{"fields":{"key":"SUP-2","status":{"name":"Open"}},"key":"SUP-1",
+         "status":{"name":"Closed"}},"webhook_event":"second","webhookEvent":"first"}
+        """,
+        // Non-textual and null values do not match, and the next candidate is used
+        """
+        {"issue":{"key":123,"fields":{"status":{"name":null}},"status":{"name":"Done"}},"key":"SUP-4",
+         "webhookEvent":true,"zohoRecordId":"z-4","zoho_record_id":{"id":"z"}}
+        """,
+        // Candidates inside arrays, or under fields no path descends into, are not read
+        """
+        {"issue":[{"key":"SUP-5"}],"user":{"issue":{"key":"SUP-6"}},"key":"SUP-7",
+         "fields":[{"status":{"name":"Done"}}],"changelog":{"items":[{"event":"status"}]}}
+        """,
+        // No fields at all
+        """
+        {"unrelated":{"deeply":{"nested":["value"]}}}
+        """
+    })
+    void extractsTheSameFieldsAsTheTreeLookup(String payload) throws IOException {
+        JiraWebhookDetails details = extractor.extract(payload.getBytes(StandardCharsets.UTF_8));
+        JsonNode tree = objectMapper.readTree(payload);
+
+        assertThat(details.getIssueKey()).isEqualTo(treeLookup(tree, "issue_key", "issue.key", "issue.fields.key", "key"));
+        assertThat(details.getStatus()).isEqualTo(treeLookup(tree,
+                "issue.fields.status.name", "issue.status.name", "status.name", "fields.status.name"));
+        assertThat(details.getWebhookEvent()).isEqualTo(treeLookup(tree, "webhookEvent", "webhook_event", "event"));
+        assertThat(details.getZohoRecordId()).isEqualTo(treeLookup(tree, "zoho_record_id", "zohoRecordId", "zoho.record_id"));
+    }
+
+    @Test
+    void extractsNestedFields() throws IOException {
+        JiraWebhookDetails details = extract("""
+                {"webhookEvent":"jira:issue_updated","issue":{"key":"SUP-1","fields":{"status":{"name":"Done"}}},
+                 "zoho":{"record_id":"z-1"}}
+                """);
+
+        assertThat(details.getIssueKey()).isEqualTo("SUP-1");
+        assertThat(details.getStatus()).isEqualTo("Done");
+        assertThat(details.getWebhookEvent()).isEqualTo("jira:issue_updated");
+        assertThat(details.getZohoRecordId()).isEqualTo("z-1");
+    }
+
+    @Test
+    void stopsReadingOnceThePreferredCandidatesAreFound() throws IOException {
+        // Anything after the preferred candidates is never read, even if it is not JSON
+        JiraWebhookDetails details = extract("""
+                {"issue_key":"SUP-1","issue":{"fields":{"status":{"name":"Done"}}},"webhookEvent":"jira:issue_updated",
+                 "zoho_record_id":"z-1", this is not JSON
+                """);
+
+        assertThat(details.getIssueKey()).isEqualTo("SUP-1");
+        assertThat(details.getStatus()).isEqualTo("Done");
+        assertThat(details.getWebhookEvent()).isEqualTo("jira:issue_updated");
+        assertThat(details.getZohoRecordId()).isEqualTo("z-1");
+    }
+
+    @Test
+    void documentThatIsNotAnObjectHasNoFields() throws IOException {
+        JiraWebhookDetails details = extract("[{\"issue_key\":\"SUP-1\"}]");
+
+        assertThat(details.getIssueKey()).isNull();
+        assertThat(details.isValid()).isFalse();
+    }
+
+    @Test
+    void readsEachDocumentOfAStream() throws IOException {
+        // The first document has every preferred field before the rest of its content
+        String stream = """
+                {"issue_key":"SUP-1","issue":{"fields":{"status":{"name":"Done"}}},"webhookEvent":"jira:issue_updated","zoho_record_id":"z-1","changelog":{"items":[{"toString":"Done"}]},"key":"SUP-X"}
+                {"webhookEvent":"jira:issue_updated","issue":{"fields":{"comment":{"comments":[{"body":"}"}]},"status":{"name":"Open"}},"key":"SUP-2"}}
+                {"key":"SUP-3"}
+                """;
+
+        List<JiraWebhookDetails> documents = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(stream)) {
+            while (parser.nextToken() != null) {
+                assertThat(parser.currentToken()).isEqualTo(JsonToken.START_OBJECT);
+                documents.add(extractor.extract(parser));
+                assertThat(parser.currentToken()).isEqualTo(JsonToken.END_OBJECT);
+            }
+        }
+
+        assertThat(documents).extracting(JiraWebhookDetails::getIssueKey).containsExactly("SUP-1", "SUP-2", "SUP-3");
+        assertThat(documents).extracting(JiraWebhookDetails::getStatus).containsExactly("Done", "Open", null);
+        assertThat(documents).extracting(JiraWebhookDetails::getZohoRecordId).containsExactly("z-1", null, null);
+    }
+
+    @Test
+    void streamParserMustBeAtTheStartOfAnObject() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser("[]")) {
+            parser.nextToken();
+            assertThatThrownBy(() -> extractor.extract(parser)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private JiraWebhookDetails extract(String payload) throws IOException {
+        return extractor.extract(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The lookup previously in {@code JiraWebhookController}, over the whole parsed tree.
+     */
+    private static String treeLookup(JsonNode node, String... paths) {
+        for (String path : paths) {
+            JsonNode current = node;
+            for (String part : path.split("\\.")) {
+                current = current.path(part);
+            }
+            if (!current.isNull() && current.isTextual()) {
+                return current.asText();
+            }
+        }
+        return null;
+    }
+}